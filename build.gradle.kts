@@ -4,11 +4,17 @@ plugins {
 	id("io.spring.dependency-management") version "1.1.4"
 	id("io.freefair.lombok") version "8.4"
 	id("org.sonarqube") version "4.4.1.3373"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "eu.nerdfactor"
 version = "1.2.0"
 
+java {
+	sourceCompatibility = JavaVersion.VERSION_21
+	targetCompatibility = JavaVersion.VERSION_21
+}
+
 repositories {
 	mavenCentral()
 }
@@ -32,6 +38,14 @@ dependencies {
 	// dto mapping
 	implementation("org.modelmapper:modelmapper:3.2.0")
 
+	// lane controllers
+	implementation("org.springframework.boot:spring-boot-starter-websocket")
+
+	// caching and metrics
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
 
 	testImplementation(platform("org.junit:junit-bom:5.9.1"))
 	testImplementation("org.junit.jupiter:junit-jupiter")
@@ -39,6 +53,15 @@ dependencies {
 	implementation(kotlin("stdlib-jdk8"))
 }
 
+jmh {
+	// run with ./gradlew jmh, results are written to build/results/jmh.
+	// a single benchmark can be selected with -PjmhIncludes=<regex>.
+	// modes, iterations and forks are set on the benchmark classes.
+	includes = listOfNotNull(project.findProperty("jmhIncludes")?.toString())
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+}
+
 tasks.test {
 	useJUnitPlatform()
 }
@@ -0,0 +1,89 @@
+package eu.nerdfactor.bowling;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.service.BowlingGameCrudService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating {@link #AMOUNT_OF_GAMES} games with the
+ * {@link BowlingGameCrudService}, once with a transaction for every game and once
+ * with a transaction for every {@link #GAMES_PER_TRANSACTION} games, where the
+ * inserts can be batched. Compare the results with and without JDBC batching, or
+ * between commits, with ./gradlew jmh -PjmhIncludes=GameCreationBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class GameCreationBenchmark {
+
+	/**
+	 * The amount of games that are created in one invocation.
+	 */
+	private static final int AMOUNT_OF_GAMES = 100_000;
+
+	/**
+	 * The amount of games that are created in the same transaction.
+	 */
+	private static final int GAMES_PER_TRANSACTION = 1000;
+
+	/**
+	 * The amount of statements in a JDBC batch. A size of 1 disables batching.
+	 */
+	@Param({"1", "50"})
+	public int jdbcBatchSize;
+
+	private ConfigurableApplicationContext context;
+
+	private BowlingGameCrudService gameCrudService;
+
+	private TransactionTemplate transactionTemplate;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = SpringApplication.run(App.class,
+				"--spring.main.web-application-type=none",
+				"--spring.jpa.show-sql=false",
+				"--spring.jpa.properties.hibernate.jdbc.batch_size=" + this.jdbcBatchSize);
+		this.gameCrudService = this.context.getBean(BowlingGameCrudService.class);
+		this.transactionTemplate = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public int createGames() {
+		int lastId = 0;
+		for (int game = 0; game < AMOUNT_OF_GAMES; game++) {
+			lastId = this.gameCrudService.createGame(new BowlingGame()).getId();
+		}
+		return lastId;
+	}
+
+	@Benchmark
+	public int createGamesInTransactions() {
+		int lastId = 0;
+		for (int transaction = 0; transaction < AMOUNT_OF_GAMES / GAMES_PER_TRANSACTION; transaction++) {
+			Integer id = this.transactionTemplate.execute(status -> {
+				int createdId = 0;
+				for (int game = 0; game < GAMES_PER_TRANSACTION; game++) {
+					createdId = this.gameCrudService.createGame(new BowlingGame()).getId();
+				}
+				return createdId;
+			});
+			lastId = id != null ? id : lastId;
+		}
+		return lastId;
+	}
+}
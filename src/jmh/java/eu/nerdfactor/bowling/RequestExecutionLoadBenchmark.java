@@ -0,0 +1,245 @@
+package eu.nerdfactor.bowling;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of the running application with requests served on platform threads
+ * and on virtual threads. The amount of concurrently played games is doubled in
+ * steps until the p99 latency of their rolls exceeds a bound. Every game sends its
+ * next roll as soon as the previous roll was answered with the async
+ * {@link HttpClient}, so each game keeps one request in flight without a client
+ * thread per request. The highest amount of games that met the bound is reported
+ * as the maxConcurrentGames counter of each mode, together with its p99 latency.
+ * Answers other than 2xx fail the run. Run with
+ * ./gradlew jmh -PjmhIncludes=RequestExecutionLoadBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class RequestExecutionLoadBenchmark {
+
+	private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+	/**
+	 * The amount of rolls played in a game before the next game is started.
+	 */
+	private static final int ROLLS_PER_GAME = 20;
+
+	/**
+	 * The amount of concurrent games of the first step.
+	 */
+	private static final int FIRST_STEP = 100;
+
+	/**
+	 * The time each step plays its games.
+	 */
+	private static final Duration STEP_DURATION = Duration.ofSeconds(5);
+
+	/**
+	 * True if requests are served on virtual threads.
+	 */
+	@Param({"false", "true"})
+	public boolean virtualThreads;
+
+	/**
+	 * The p99 latency of the rolls in milliseconds that a step has to meet.
+	 */
+	@Param({"100"})
+	public long p99BoundMillis;
+
+	/**
+	 * The amount of concurrent games after which the ramp stops, below the
+	 * maximum amount of connections of the server.
+	 */
+	@Param({"6400"})
+	public int maxConcurrentGames;
+
+	private ConfigurableApplicationContext context;
+
+	private HttpClient client;
+
+	private String baseUri;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = SpringApplication.run(App.class,
+				"--server.port=0",
+				"--spring.jpa.show-sql=false",
+				"--server.tomcat.threads.max=200",
+				"--server.tomcat.max-connections=" + (this.maxConcurrentGames + 100),
+				"--spring.threads.virtual.enabled=" + this.virtualThreads);
+		int port = this.context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+		this.baseUri = "http://localhost:" + port + "/api/v1/bowling";
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	/**
+	 * Double the amount of concurrent games until the p99 latency of a step
+	 * exceeds the bound or the maximum amount of games is reached.
+	 *
+	 * @param result The {@link RampResult} of the iteration.
+	 */
+	@Benchmark
+	public void ramp(RampResult result) throws Exception {
+		for (int games = FIRST_STEP; games <= this.maxConcurrentGames; games *= 2) {
+			long p99Micros = this.playStep(games);
+			if (p99Micros > TimeUnit.MILLISECONDS.toMicros(this.p99BoundMillis)) {
+				return;
+			}
+			result.maxConcurrentGames = games;
+			result.p99AtMaxMicros = p99Micros;
+		}
+	}
+
+	/**
+	 * Play an amount of games concurrently for the duration of a step.
+	 *
+	 * @param amountOfGames The amount of concurrently played games.
+	 * @return The p99 latency of the rolls in microseconds.
+	 */
+	private long playStep(int amountOfGames) throws Exception {
+		long end = System.nanoTime() + STEP_DURATION.toNanos();
+		List<GamePlayer> players = new ArrayList<>(amountOfGames);
+		CompletableFuture<?>[] played = new CompletableFuture<?>[amountOfGames];
+		for (int game = 0; game < amountOfGames; game++) {
+			GamePlayer player = new GamePlayer(end);
+			players.add(player);
+			played[game] = player.play();
+		}
+		CompletableFuture.allOf(played).get();
+		long[] latencies = players.stream()
+				.flatMapToLong(player -> player.latencies.stream().mapToLong(Long::longValue))
+				.sorted()
+				.toArray();
+		if (latencies.length == 0) {
+			return Long.MAX_VALUE;
+		}
+		return TimeUnit.NANOSECONDS.toMicros(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]);
+	}
+
+	private CompletableFuture<HttpResponse<String>> post(String path) {
+		return this.client.sendAsync(HttpRequest.newBuilder(URI.create(this.baseUri + path))
+						.POST(HttpRequest.BodyPublishers.noBody())
+						.build(), HttpResponse.BodyHandlers.ofString())
+				.thenApply(response -> {
+					if (response.statusCode() / 100 != 2) {
+						throw new IllegalStateException("POST " + path + " was answered with " + response.statusCode());
+					}
+					return response;
+				});
+	}
+
+	/**
+	 * The highest amount of concurrent games of an iteration that met the bound.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RampResult {
+
+		/**
+		 * The highest amount of concurrent games whose p99 latency met the bound.
+		 */
+		public long maxConcurrentGames;
+
+		/**
+		 * The p99 latency of the rolls with the highest amount of games in microseconds.
+		 */
+		public long p99AtMaxMicros;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.maxConcurrentGames = 0;
+			this.p99AtMaxMicros = 0;
+		}
+	}
+
+	/**
+	 * Plays one game after another, sending each roll after the previous one was
+	 * answered. The callbacks of a player run one after another, so its state is
+	 * only changed by one thread at a time.
+	 */
+	private final class GamePlayer {
+
+		private final long end;
+
+		private final List<Long> latencies = new ArrayList<>();
+
+		private final CompletableFuture<Void> played = new CompletableFuture<>();
+
+		private int gameId;
+
+		private int rollsOfGame;
+
+		GamePlayer(long end) {
+			this.end = end;
+		}
+
+		CompletableFuture<Void> play() {
+			this.startGame();
+			return this.played;
+		}
+
+		private void startGame() {
+			RequestExecutionLoadBenchmark.this.post("/start").whenComplete((response, failure) -> {
+				if (failure != null) {
+					this.played.completeExceptionally(failure);
+					return;
+				}
+				Matcher matcher = ID.matcher(response.body());
+				if (!matcher.find()) {
+					this.played.completeExceptionally(new IllegalStateException("Game could not be started: " + response.body()));
+					return;
+				}
+				this.gameId = Integer.parseInt(matcher.group(1));
+				this.rollsOfGame = 0;
+				this.roll();
+			});
+		}
+
+		private void roll() {
+			if (System.nanoTime() >= this.end) {
+				this.played.complete(null);
+				return;
+			}
+			if (this.rollsOfGame == ROLLS_PER_GAME) {
+				this.startGame();
+				return;
+			}
+			long start = System.nanoTime();
+			RequestExecutionLoadBenchmark.this.post("/" + this.gameId + "/roll/1").whenComplete((response, failure) -> {
+				if (failure != null) {
+					this.played.completeExceptionally(failure);
+					return;
+				}
+				this.latencies.add(System.nanoTime() - start);
+				this.rollsOfGame++;
+				this.roll();
+			});
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package eu.nerdfactor.bowling;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.service.BowlingGameCrudService;
+import eu.nerdfactor.bowling.service.BowlingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a single roll with the {@link BowlingService}, once with
+ * the invariants of a game only checked while the roll is added and once with every
+ * update of the game additionally validated by Hibernate with Bean Validation. The
+ * games are stored directly, so that every roll is written with its own update.
+ * Run with ./gradlew jmh -PjmhIncludes=RollValidationBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RollValidationBenchmark {
+
+	/**
+	 * The amount of rolls played in a game before the next game is started.
+	 */
+	private static final int ROLLS_PER_GAME = 20;
+
+	/**
+	 * The configured validation mode.
+	 */
+	@Param({"domain", "bean-validation"})
+	public String validationMode;
+
+	private ConfigurableApplicationContext context;
+
+	private BowlingService bowlingService;
+
+	private BowlingGameCrudService gameCrudService;
+
+	private int gameId;
+
+	private int rollsOfGame;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = SpringApplication.run(App.class,
+				"--spring.main.web-application-type=none",
+				"--spring.jpa.show-sql=false",
+				"--bowling.storage.mode=direct",
+				"--bowling.validation.mode=" + this.validationMode);
+		this.bowlingService = this.context.getBean(BowlingService.class);
+		this.gameCrudService = this.context.getBean(BowlingGameCrudService.class);
+		this.gameId = this.gameCrudService.createGame(new BowlingGame()).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	/**
+	 * Roll a single pin in the current game. A new game is started after
+	 * {@value #ROLLS_PER_GAME} rolls, which is included in one of every
+	 * {@value #ROLLS_PER_GAME} samples.
+	 */
+	@Benchmark
+	public int roll() throws Exception {
+		if (this.rollsOfGame == ROLLS_PER_GAME) {
+			this.gameId = this.gameCrudService.createGame(new BowlingGame()).getId();
+			this.rollsOfGame = 0;
+		}
+		this.rollsOfGame++;
+		return this.bowlingService.addNextRoll(this.gameId, 1).getCurrentScore();
+	}
+}
@@ -0,0 +1,49 @@
+package eu.nerdfactor.bowling.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round-trip of the knocked over pins of a complete game through
+ * the json {@link KnockedOverPinsConvert} and the {@link KnockedOverPinsBinaryConvert}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class KnockedOverPinsConvertBenchmark {
+
+	private final KnockedOverPinsConvert jsonConvert = new KnockedOverPinsConvert(new ObjectMapper(), new SimpleMeterRegistry());
+
+	private final KnockedOverPinsBinaryConvert binaryConvert = new KnockedOverPinsBinaryConvert();
+
+	private List<Integer> knockedOverPinsPerRoll;
+
+	private int[] knockedOverPins;
+
+	@Setup
+	public void setUp() {
+		this.knockedOverPins = new int[]{3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 3, 2};
+		this.knockedOverPinsPerRoll = new ArrayList<>();
+		for (int pins : this.knockedOverPins) {
+			this.knockedOverPinsPerRoll.add(pins);
+		}
+	}
+
+	@Benchmark
+	public List<Integer> jsonRoundTrip() {
+		return this.jsonConvert.convertToEntityAttribute(this.jsonConvert.convertToDatabaseColumn(this.knockedOverPinsPerRoll));
+	}
+
+	@Benchmark
+	public int[] binaryRoundTrip() {
+		return this.binaryConvert.convertToEntityAttribute(this.binaryConvert.convertToDatabaseColumn(this.knockedOverPins));
+	}
+}
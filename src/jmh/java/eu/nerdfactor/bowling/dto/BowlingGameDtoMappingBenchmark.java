@@ -0,0 +1,45 @@
+package eu.nerdfactor.bowling.dto;
+
+import eu.nerdfactor.bowling.config.MappingConfig;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping a {@link BowlingGame} into a {@link BowlingGameDto} with the
+ * reflective {@link ModelMapper} and the {@link BowlingGameDtoMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BowlingGameDtoMappingBenchmark {
+
+	private ModelMapper modelMapper;
+
+	private BowlingGameDtoMapper dtoMapper;
+
+	private BowlingGame game;
+
+	@Setup
+	public void setUp() {
+		this.modelMapper = new MappingConfig().getModelMapper();
+		this.dtoMapper = new BowlingGameDtoMapper();
+		this.game = BowlingGame.createTestGame(1, 69, 21, List.of(3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 3, 2));
+	}
+
+	@Benchmark
+	public BowlingGameDto modelMapper() {
+		return this.modelMapper.map(this.game, BowlingGameDto.class);
+	}
+
+	@Benchmark
+	public BowlingGameDto dtoMapper() {
+		return this.dtoMapper.toDto(this.game);
+	}
+}
@@ -0,0 +1,60 @@
+package eu.nerdfactor.bowling.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.nerdfactor.bowling.api.BowlingGameLinkFactory;
+import eu.nerdfactor.bowling.config.JacksonHalConfiguration;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the HAL serialization of a single {@link BowlingGameDto} and a page
+ * of them with the {@link ObjectMapper} configured by {@link JacksonHalConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BowlingGameHalSerializationBenchmark {
+
+	private static final String GAMES_URI = "http://localhost:8080/api/v1/bowling";
+
+	private ObjectMapper jsonMapper;
+
+	private BowlingGameDto dto;
+
+	private CollectionModel<BowlingGameDto> page;
+
+	@Setup
+	public void setUp() {
+		this.jsonMapper = new ObjectMapper();
+		new JacksonHalConfiguration(this.jsonMapper);
+		BowlingGameDtoMapper dtoMapper = new BowlingGameDtoMapper();
+		BowlingGameLinkFactory linkFactory = new BowlingGameLinkFactory();
+		List<BowlingGameDto> dtos = new ArrayList<>();
+		for (int id = 1; id <= 100; id++) {
+			BowlingGameDto gameDto = dtoMapper.toDto(BowlingGame.createTestGame(id, 69, 21, List.of(3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 3, 2)));
+			gameDto.add(linkFactory.selfLink(GAMES_URI, id));
+			dtos.add(gameDto);
+		}
+		this.dto = dtos.get(0);
+		this.page = CollectionModel.of(dtos);
+	}
+
+	@Benchmark
+	public byte[] singleGame() throws JsonProcessingException {
+		return this.jsonMapper.writeValueAsBytes(this.dto);
+	}
+
+	@Benchmark
+	public byte[] pageOfGames() throws JsonProcessingException {
+		return this.jsonMapper.writeValueAsBytes(this.page);
+	}
+}
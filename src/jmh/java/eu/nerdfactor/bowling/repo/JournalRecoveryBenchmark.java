@@ -0,0 +1,150 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.config.BowlingStorageProperties;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.service.BowlingGameLocks;
+import eu.nerdfactor.bowling.service.BowlingRules;
+import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
+import eu.nerdfactor.bowling.service.ScoringStrategy;
+import eu.nerdfactor.bowling.service.TenPinBowlingRuleset;
+import eu.nerdfactor.bowling.service.TenPinBowlingScoring;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the recovery of a {@link JournalBowlingGameStore} with
+ * {@link #AMOUNT_OF_GAMES} active games, which are loaded from a snapshot,
+ * followed by a journal tail of a different amount of rolls. Every iteration
+ * recovers from a fresh copy of the same snapshot and journal. Run with
+ * ./gradlew jmh -PjmhIncludes=JournalRecoveryBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class JournalRecoveryBenchmark {
+
+	/**
+	 * The amount of active games in the snapshot.
+	 */
+	private static final int AMOUNT_OF_GAMES = 1_000_000;
+
+	/**
+	 * The amount of rolls of each game before the snapshot.
+	 */
+	private static final int ROLLS_BEFORE_SNAPSHOT = 10;
+
+	/**
+	 * The size of the journal segments, which are copied for every iteration.
+	 */
+	private static final DataSize SEGMENT_SIZE = DataSize.ofMegabytes(16);
+
+	/**
+	 * The amount of rolls that are journaled after the snapshot.
+	 */
+	@Param({"0", "100000", "1000000"})
+	public int journaledRolls;
+
+	private final BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	private final ScoringStrategy scoringStrategy = new TenPinBowlingScoring();
+
+	private final BowlingRulesetRegistry rulesetRegistry = new BowlingRulesetRegistry(
+			List.of(new BowlingRules(this.bowlingRuleset, this.scoringStrategy)), TenPinBowlingRuleset.ID);
+
+	/**
+	 * A repository that only confirms that the games of the snapshot are stored
+	 * while recovering, because all games are contained in the snapshot.
+	 */
+	private final BowlingGameRepository gameRepository = (BowlingGameRepository) Proxy.newProxyInstance(
+			BowlingGameRepository.class.getClassLoader(), new Class<?>[]{BowlingGameRepository.class},
+			(proxy, method, args) -> switch (method.getName()) {
+				case "findById" -> Optional.of(BowlingGame.createTestGame((Integer) args[0], 0));
+				case "findExistingIds" -> List.copyOf((Collection<?>) args[0]);
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				case "toString" -> "BowlingGameRepository";
+				default -> throw new UnsupportedOperationException(method.getName());
+			});
+
+	private Path preparedDirectory;
+
+	private Path journalDirectory;
+
+	private JournalBowlingGameStore gameStore;
+
+	/**
+	 * Write a snapshot of all games followed by the journaled rolls once. The
+	 * store writes the snapshot when it is closed, the following rolls are
+	 * appended to the journal directly.
+	 */
+	@Setup(Level.Trial)
+	public void prepareJournal() throws IOException {
+		this.preparedDirectory = Files.createTempDirectory("bowling-journal");
+		JournalBowlingGameStore preparingStore = this.createStore(this.preparedDirectory);
+		for (int id = 1; id <= AMOUNT_OF_GAMES; id++) {
+			BowlingGame game = preparingStore.findById(id).orElseThrow();
+			for (int roll = 0; roll < ROLLS_BEFORE_SNAPSHOT; roll++) {
+				int points = this.scoringStrategy.countNextRoll(game.getRunningScore(), 4, this.bowlingRuleset);
+				game.nextRoll(4, points, this.bowlingRuleset);
+				preparingStore.saveRoll(game);
+			}
+		}
+		preparingStore.destroy();
+		try (RollJournal journal = new RollJournal(this.preparedDirectory, (int) SEGMENT_SIZE.toBytes())) {
+			for (int roll = 0; roll < this.journaledRolls; roll++) {
+				journal.append(roll % AMOUNT_OF_GAMES + 1, ROLLS_BEFORE_SNAPSHOT + roll / AMOUNT_OF_GAMES, 3);
+			}
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void copyJournal() throws IOException {
+		this.journalDirectory = Files.createTempDirectory("bowling-journal");
+		FileSystemUtils.copyRecursively(this.preparedDirectory, this.journalDirectory);
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeStore() throws IOException {
+		this.gameStore.destroy();
+		this.gameStore = null;
+		FileSystemUtils.deleteRecursively(this.journalDirectory);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteJournal() throws IOException {
+		FileSystemUtils.deleteRecursively(this.preparedDirectory);
+	}
+
+	@Benchmark
+	public JournalBowlingGameStore recover() {
+		this.gameStore = this.createStore(this.journalDirectory);
+		this.gameStore.afterPropertiesSet();
+		return this.gameStore;
+	}
+
+	private JournalBowlingGameStore createStore(Path directory) {
+		BowlingStorageProperties properties = new BowlingStorageProperties();
+		properties.setMode(BowlingStorageProperties.Mode.JOURNAL);
+		properties.setDurability(BowlingStorageProperties.Durability.ROLLS);
+		properties.setFlushAfterRolls(Integer.MAX_VALUE);
+		properties.setJournalCheckpointInterval(Duration.ofHours(1));
+		properties.setJournalDirectory(directory.toString());
+		properties.setJournalSegmentSize(SEGMENT_SIZE);
+		return new JournalBowlingGameStore(this.gameRepository, this.rulesetRegistry, new BowlingGameLocks(1024), null, properties);
+	}
+}
@@ -0,0 +1,127 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures counting the running score of random games, whose rules are resolved
+ * from the {@link BowlingRulesetRegistry}, against counting ten pin games with the
+ * {@link TenPinBowlingScoring} directly like before rulesets could be chosen and
+ * against counting all games with the generic {@link FrameBowlingScoring}. The
+ * mixed games contain games of all registered rulesets, so that the scoring is
+ * called with every strategy and ruleset. Run with
+ * ./gradlew jmh -PjmhIncludes=BowlingRulesetScoringBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BowlingRulesetScoringBenchmark {
+
+	/**
+	 * The amount of prepared random games. A power of two, so that the next
+	 * game can be selected with a mask.
+	 */
+	private static final int AMOUNT_OF_RANDOM_GAMES = 1024;
+
+	/**
+	 * How the scoring strategy of a game is selected. Direct counts ten pin
+	 * games with the ten pin strategy and all other games like registry.
+	 */
+	@Param({"direct", "registry", "generic"})
+	private String dispatch;
+
+	private final BowlingRulesetRegistry rulesetRegistry = new BowlingRulesetRegistry(List.of(
+			new BowlingRules(new TenPinBowlingRuleset(), new TenPinBowlingScoring()),
+			new BowlingRules(new NinePinBowlingRuleset(), new NinePinBowlingScoring()),
+			new BowlingRules(new FivePinBowlingRuleset(), new FivePinBowlingScoring()),
+			new BowlingRules(new CandlepinBowlingRuleset(), new CandlepinBowlingScoring())
+	), TenPinBowlingRuleset.ID);
+
+	private final ScoringStrategy tenPinScoring = new TenPinBowlingScoring();
+
+	private final ScoringStrategy genericScoring = new FrameBowlingScoring();
+
+	private final BowlingRuleset tenPinRuleset = this.rulesetRegistry.rulesOf(TenPinBowlingRuleset.ID).getRuleset();
+
+	private int[][] tenPinGames;
+
+	private int[][] mixedGames;
+
+	private String[] mixedRulesetIds;
+
+	private int nextRandomGame;
+
+	@Setup
+	public void setUp() {
+		// a fixed seed keeps the games the same between runs.
+		Random random = new Random(42);
+		List<String> rulesetIds = List.copyOf(this.rulesetRegistry.rulesetIds());
+		this.tenPinGames = new int[AMOUNT_OF_RANDOM_GAMES][];
+		this.mixedGames = new int[AMOUNT_OF_RANDOM_GAMES][];
+		this.mixedRulesetIds = new String[AMOUNT_OF_RANDOM_GAMES];
+		for (int game = 0; game < AMOUNT_OF_RANDOM_GAMES; game++) {
+			this.tenPinGames[game] = this.randomGame(random, this.tenPinRuleset);
+			this.mixedRulesetIds[game] = rulesetIds.get(random.nextInt(rulesetIds.size()));
+			this.mixedGames[game] = this.randomGame(random, this.rulesetRegistry.rulesOf(this.mixedRulesetIds[game]).getRuleset());
+		}
+	}
+
+	@Benchmark
+	public int tenPinGame() {
+		int game = this.nextRandomGame++ & (AMOUNT_OF_RANDOM_GAMES - 1);
+		int[] knockedOverPinsPerRoll = this.tenPinGames[game];
+		return switch (this.dispatch) {
+			case "direct" -> this.tenPinScoring.countRolls(new RunningScore(), knockedOverPinsPerRoll, knockedOverPinsPerRoll.length, this.tenPinRuleset);
+			case "generic" -> this.genericScoring.countRolls(new RunningScore(), knockedOverPinsPerRoll, knockedOverPinsPerRoll.length, this.tenPinRuleset);
+			default -> this.countWithRegistry(TenPinBowlingRuleset.ID, knockedOverPinsPerRoll);
+		};
+	}
+
+	@Benchmark
+	public int mixedGame() {
+		int game = this.nextRandomGame++ & (AMOUNT_OF_RANDOM_GAMES - 1);
+		int[] knockedOverPinsPerRoll = this.mixedGames[game];
+		if (this.dispatch.equals("generic")) {
+			BowlingRuleset ruleset = this.rulesetRegistry.rulesOf(this.mixedRulesetIds[game]).getRuleset();
+			return this.genericScoring.countRolls(new RunningScore(), knockedOverPinsPerRoll, knockedOverPinsPerRoll.length, ruleset);
+		}
+		return this.countWithRegistry(this.mixedRulesetIds[game], knockedOverPinsPerRoll);
+	}
+
+	private int countWithRegistry(String rulesetId, int[] knockedOverPinsPerRoll) {
+		BowlingRules rules = this.rulesetRegistry.rulesOf(rulesetId);
+		return rules.getScoringStrategy().countRolls(new RunningScore(), knockedOverPinsPerRoll, knockedOverPinsPerRoll.length, rules.getRuleset());
+	}
+
+	/**
+	 * Create a complete random game that never knocks over more pins than are
+	 * left in a frame.
+	 *
+	 * @param random  The source of the knocked over pins.
+	 * @param ruleset The {@link BowlingRuleset} of the game.
+	 * @return The knocked over pins of each roll.
+	 */
+	private int[] randomGame(Random random, BowlingRuleset ruleset) {
+		RunningScore runningScore = new RunningScore();
+		int[] rolls = new int[ruleset.amountOfMaxRolls()];
+		int amountOfRolls = 0;
+		while (amountOfRolls < rolls.length && (runningScore.getFrame() < ruleset.amountOfFrames() || runningScore.getBonusOfNextRoll() > 0)) {
+			int leftPins = runningScore.getFrame() < ruleset.amountOfFrames() ? ruleset.amountOfPins() - runningScore.getPinsInFrame() : ruleset.amountOfPins();
+			int knockedOverPins = random.nextInt(leftPins + 1);
+			if (ruleset.wouldKnockOverWrongAmountOfPins(knockedOverPins)) {
+				knockedOverPins = 0;
+			}
+			rolls[amountOfRolls++] = knockedOverPins;
+			this.genericScoring.countNextRoll(runningScore, knockedOverPins, ruleset);
+		}
+		return Arrays.copyOf(rolls, amountOfRolls);
+	}
+}
@@ -0,0 +1,85 @@
+package eu.nerdfactor.bowling.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures counting the score of complete and partially played games
+ * with the {@link TenPinBowlingScoring} and the {@link TenPinBowlingLookupScoring}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TenPinBowlingScoringBenchmark {
+
+	/**
+	 * The amount of prepared random games. A power of two, so that the next
+	 * game can be selected with a mask.
+	 */
+	private static final int AMOUNT_OF_RANDOM_GAMES = 1024;
+
+	private final BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	/**
+	 * Count with the precomputed table of {@link TenPinBowlingLookupScoring}.
+	 */
+	@Param({"false", "true"})
+	private boolean lookupTable;
+
+	private ScoringStrategy scoringStrategy;
+
+	private int[] perfectGame;
+
+	private int[] gutterGame;
+
+	private int[][] randomGames;
+
+	private int[] randomAmountsOfRolls;
+
+	private int nextRandomGame;
+
+	@Setup
+	public void setUp() {
+		this.scoringStrategy = this.lookupTable ? new TenPinBowlingLookupScoring() : new TenPinBowlingScoring();
+		this.perfectGame = new int[]{10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+		this.gutterGame = new int[20];
+		// a fixed seed keeps the games the same between runs.
+		Random random = new Random(42);
+		this.randomGames = new int[AMOUNT_OF_RANDOM_GAMES][];
+		this.randomAmountsOfRolls = new int[AMOUNT_OF_RANDOM_GAMES];
+		for (int game = 0; game < AMOUNT_OF_RANDOM_GAMES; game++) {
+			int[] rolls = new int[this.bowlingRuleset.amountOfMaxRolls()];
+			int amountOfRolls = 0;
+			for (int frame = 0; frame < this.bowlingRuleset.amountOfFrames(); frame++) {
+				int first = random.nextInt(this.bowlingRuleset.amountOfPins() + 1);
+				rolls[amountOfRolls++] = first;
+				if (first < this.bowlingRuleset.amountOfPins()) {
+					rolls[amountOfRolls++] = random.nextInt(this.bowlingRuleset.amountOfPins() - first + 1);
+				}
+			}
+			this.randomGames[game] = rolls;
+			this.randomAmountsOfRolls[game] = random.nextInt(amountOfRolls + 1);
+		}
+	}
+
+	@Benchmark
+	public int perfectGame() {
+		return this.scoringStrategy.countScore(this.perfectGame, this.perfectGame.length, this.bowlingRuleset);
+	}
+
+	@Benchmark
+	public int gutterGame() {
+		return this.scoringStrategy.countScore(this.gutterGame, this.gutterGame.length, this.bowlingRuleset);
+	}
+
+	@Benchmark
+	public int randomPartialGame() {
+		int game = this.nextRandomGame++ & (AMOUNT_OF_RANDOM_GAMES - 1);
+		return this.scoringStrategy.countScore(this.randomGames[game], this.randomAmountsOfRolls[game], this.bowlingRuleset);
+	}
+}
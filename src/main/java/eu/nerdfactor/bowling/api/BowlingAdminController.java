@@ -0,0 +1,56 @@
+package eu.nerdfactor.bowling.api;
+
+import eu.nerdfactor.bowling.exceptions.RescoringAlreadyRunningException;
+import eu.nerdfactor.bowling.service.BowlingRescoringService;
+import eu.nerdfactor.bowling.service.RescoringProgress;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Bowling Game Administration Api")
+public class BowlingAdminController {
+
+	private final BowlingRescoringService rescoringService;
+
+	@PostMapping(value = "/rescoring", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(
+			summary = "Count the score of all Bowling Games again.",
+			description = "Starts counting the score of all stored Bowling Games following the provided id in the background. A stopped or failed run can be resumed by starting from its last processed id."
+	)
+	@ApiResponse(responseCode = "202", content = {@Content(schema = @Schema(implementation = RescoringProgress.class), mediaType = MediaType.APPLICATION_JSON_VALUE)})
+	@ApiResponse(responseCode = "409", content = {@Content()})
+	public ResponseEntity<RescoringProgress> startRescoring(@RequestParam(defaultValue = "0") int fromId) {
+		try {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(this.rescoringService.start(fromId));
+		} catch (RescoringAlreadyRunningException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(this.rescoringService.progress());
+		}
+	}
+
+	@GetMapping(value = "/rescoring", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(
+			summary = "Get the progress of counting the score of all Bowling Games again.",
+			description = "Get the progress of the current or last run, including the last processed id and the throughput."
+	)
+	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = RescoringProgress.class), mediaType = MediaType.APPLICATION_JSON_VALUE)})
+	@ApiResponse(responseCode = "404", content = {@Content()})
+	public ResponseEntity<RescoringProgress> readRescoringProgress() {
+		RescoringProgress progress = this.rescoringService.progress();
+		if (progress == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(progress);
+	}
+}
@@ -1,12 +1,24 @@
 package eu.nerdfactor.bowling.api;
 
 import eu.nerdfactor.bowling.dto.BowlingGameDto;
+import eu.nerdfactor.bowling.dto.BowlingGameDtoMapper;
+import eu.nerdfactor.bowling.dto.LeaderboardEntryDto;
+import eu.nerdfactor.bowling.dto.RollBatchEntryDto;
+import eu.nerdfactor.bowling.dto.RollBatchResultDto;
 import eu.nerdfactor.bowling.entity.BowlingGame;
 import eu.nerdfactor.bowling.exceptions.MaxAmountOfRollsExceededException;
 import eu.nerdfactor.bowling.exceptions.WrongAmountOfPinsException;
 import eu.nerdfactor.bowling.service.BowlingGameCrudService;
+import eu.nerdfactor.bowling.service.BowlingGameScore;
+import eu.nerdfactor.bowling.service.BowlingLeaderboard;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
 import eu.nerdfactor.bowling.service.BowlingService;
+import eu.nerdfactor.bowling.service.LeaderboardEntry;
+import eu.nerdfactor.bowling.service.LeaderboardWindow;
+import eu.nerdfactor.bowling.service.RollBatchEntry;
+import eu.nerdfactor.bowling.service.RollBatchResult;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,12 +26,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -28,21 +43,30 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Tag(name = "Bowling", description = "Bowling Game Api")
 public class BowlingController {
 
-	private final ModelMapper modelMapper;
+	private final BowlingGameDtoMapper dtoMapper;
+	private final BowlingGameLinkFactory linkFactory;
 	private final BowlingService bowlingService;
 	private final BowlingGameCrudService bowlingGameCrudService;
+	private final BowlingGameEventRegistry eventRegistry;
+	private final BowlingRulesetRegistry rulesetRegistry;
+	private final BowlingLeaderboard leaderboard;
 
 	@PostMapping(value = "/start", produces = "application/hal+json")
 	@Operation(
 			summary = "Start a new Bowling Game.",
-			description = "Start a new Bowling Game that can be used to execute rolls and calculate scores."
+			description = "Start a new Bowling Game that can be used to execute rolls and calculate scores. The game is played with the provided ruleset, which is one of ten-pin, nine-pin, five-pin or candlepin and ten-pin by default."
 	)
 	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = "application/hal+json")})
-	public ResponseEntity<BowlingGameDto> startGame() {
-		BowlingGame game = new BowlingGame();
+	@ApiResponse(responseCode = "400", content = {@Content()})
+	public ResponseEntity<BowlingGameDto> startGame(@RequestParam(required = false) String ruleset) {
+		String rulesetId = ruleset != null ? ruleset : this.rulesetRegistry.defaultRulesetId();
+		if (!this.rulesetRegistry.contains(rulesetId)) {
+			return ResponseEntity.badRequest().build();
+		}
+		BowlingGame game = new BowlingGame(rulesetId);
 		this.bowlingGameCrudService.createGame(game);
-		BowlingGameDto dto = this.modelMapper.map(game, BowlingGameDto.class);
-		dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
+		BowlingGameDto dto = this.dtoMapper.toDto(game);
+		dto.add(this.linkFactory.selfLink(dto.getId()));
 		return ResponseEntity.ok(dto);
 	}
 
@@ -56,22 +80,92 @@ public class BowlingController {
 	public ResponseEntity<BowlingGameDto> nextRoll(@PathVariable int id, @PathVariable(name = "pins") int knockedOverPins)
 			throws EntityNotFoundException, WrongAmountOfPinsException, MaxAmountOfRollsExceededException {
 		BowlingGame game = this.bowlingService.addNextRoll(id, knockedOverPins);
-		BowlingGameDto dto = this.modelMapper.map(game, BowlingGameDto.class);
-		dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
+		BowlingGameDto dto = this.dtoMapper.toDto(game);
+		dto.add(this.linkFactory.selfLink(dto.getId()));
 		return ResponseEntity.ok(dto);
 	}
 
+	@PostMapping(value = "/rolls", produces = "application/hal+json")
+	@Operation(
+			summary = "Execute a batch of rolls for multiple Bowling Games.",
+			description = "Multiple rolls of multiple Bowling Games can be executed at once by providing a list of game Ids with the pins that were knocked over in one or more rolls. The rolls of each entry are either all executed or rejected with the reason."
+	)
+	@ApiResponse(responseCode = "200", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = RollBatchResultDto.class)), mediaType = "application/hal+json")})
+	public ResponseEntity<List<RollBatchResultDto>> nextRolls(@RequestBody List<RollBatchEntryDto> entries) {
+		List<RollBatchResult> results = this.bowlingService.addRolls(entries.stream()
+				.map(entry -> new RollBatchEntry(entry.getGameId(), entry.getPins() != null ? entry.getPins() : new int[0]))
+				.toList());
+		return ResponseEntity.ok(results.stream()
+				.map(result -> {
+					RollBatchResultDto dto = this.dtoMapper.toRollBatchResultDto(result);
+					if (result.isGameFound()) {
+						dto.add(this.linkFactory.selfLink(dto.getGameId()));
+					}
+					return dto;
+				}).toList());
+	}
+
 	@GetMapping(value = "/{id}/score", produces = "application/hal+json")
 	@Operation(
 			summary = "Calculate the score of a Bowling Game.",
-			description = "The score of a Bowling Game can be calculated by providing the Id of the specific game. The score will be calculated for the current state of the game. It does not have to be finished to be scored."
+			description = "The score of a Bowling Game can be calculated by providing the Id of the specific game. The score will be calculated for the current state of the game. It does not have to be finished to be scored. The response contains an ETag of the current roll and score, a request with a matching If-None-Match header is answered with 304."
 	)
 	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = "application/hal+json")})
+	@ApiResponse(responseCode = "304", content = {@Content()})
 	@ApiResponse(responseCode = "404", content = {@Content()})
-	public ResponseEntity<BowlingGameDto> calculateScore(@PathVariable int id) throws EntityNotFoundException {
-		BowlingGame game = this.bowlingService.calculateCurrentScore(id);
-		BowlingGameDto dto = this.modelMapper.map(game, BowlingGameDto.class);
-		dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
-		return ResponseEntity.ok(dto);
+	public ResponseEntity<BowlingGameDto> calculateScore(@PathVariable int id, WebRequest request) throws EntityNotFoundException {
+		BowlingGameScore score = this.bowlingService.calculateCurrentScore(id);
+		String eTag = score.getCurrentRoll() + "-" + score.getCurrentScore();
+		if (request.checkNotModified(eTag)) {
+			return null;
+		}
+		BowlingGameDto dto = this.dtoMapper.toDto(score);
+		dto.add(this.linkFactory.selfLink(dto.getId()));
+		return ResponseEntity.ok()
+				.eTag(eTag)
+				.body(dto);
+	}
+
+	@GetMapping(value = "/leaderboard", produces = "application/hal+json")
+	@Operation(
+			summary = "List the highest scores of Bowling Games.",
+			description = "The Bowling Games of a ruleset with the highest scores, either of today or all-time. Games with the same score are ranked by the time they reached it. The leaderboard is filled with the stored games on startup and updated with every roll. The ruleset is ten-pin by default and the limit is capped at the capacity of the leaderboard."
+	)
+	@ApiResponse(responseCode = "200", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntryDto.class)), mediaType = "application/hal+json")})
+	@ApiResponse(responseCode = "400", content = {@Content()})
+	public ResponseEntity<List<LeaderboardEntryDto>> leaderboard(@RequestParam(defaultValue = "today") String window,
+	                                                             @RequestParam(required = false) String ruleset,
+	                                                             @RequestParam(defaultValue = "10") int limit) {
+		LeaderboardWindow leaderboardWindow = LeaderboardWindow.of(window);
+		String rulesetId = ruleset != null ? ruleset : this.rulesetRegistry.defaultRulesetId();
+		if (leaderboardWindow == null || !this.rulesetRegistry.contains(rulesetId) || limit < 1) {
+			return ResponseEntity.badRequest().build();
+		}
+		List<LeaderboardEntry> entries = this.leaderboard.top(leaderboardWindow, rulesetId, Math.min(limit, this.leaderboard.capacity()));
+		List<LeaderboardEntryDto> dtos = new ArrayList<>(entries.size());
+		for (LeaderboardEntry entry : entries) {
+			LeaderboardEntryDto dto = this.dtoMapper.toLeaderboardEntryDto(entry, dtos.size() + 1);
+			dto.add(this.linkFactory.selfLink(dto.getGameId()));
+			dtos.add(dto);
+		}
+		return ResponseEntity.ok(dtos);
+	}
+
+	@GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(
+			summary = "Subscribe to the rolls of a Bowling Game.",
+			description = "Server-sent events with the roll, frame, knocked over pins and score of the game are pushed for every added roll. Subscribe before reading the current score, so that no roll is missed. A subscriber that falls behind loses its oldest events."
+	)
+	@ApiResponse(responseCode = "200", content = {@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)})
+	@ApiResponse(responseCode = "404", content = {@Content()})
+	@ApiResponse(responseCode = "503", content = {@Content()})
+	public ResponseEntity<SseEmitter> subscribeToRolls(@PathVariable int id) throws EntityNotFoundException {
+		// fails if the game does not exist, served from the score cache for known games.
+		this.bowlingService.calculateCurrentScore(id);
+		SseEmitter emitter = this.eventRegistry.subscribe(id);
+		if (emitter == null) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+		return ResponseEntity.ok(emitter);
 	}
 }
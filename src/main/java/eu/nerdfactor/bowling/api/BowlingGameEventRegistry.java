@@ -0,0 +1,311 @@
+package eu.nerdfactor.bowling.api;
+
+import eu.nerdfactor.bowling.config.BowlingEventProperties;
+import eu.nerdfactor.bowling.service.RollAddedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the {@link RollAddedEvent events} of games to their subscribers as
+ * server-sent events. Idle subscribers don't hold a thread, the waiting events
+ * of a subscriber are sent by its own dispatch task on a virtual thread, so a
+ * subscriber that stalls while an event is sent only blocks its own task. Every
+ * subscriber has a bounded queue of waiting events, so a slow subscriber only
+ * loses its oldest events and never slows down the rolls or other subscribers.
+ * Subscribers that can't receive a single event within the send timeout are
+ * removed.
+ */
+@Slf4j
+@Component
+public class BowlingGameEventRegistry implements MeterBinder, DisposableBean {
+
+	/**
+	 * The name of the event that is sent for every added roll.
+	 */
+	static final String ROLL_EVENT_NAME = "roll";
+
+	/**
+	 * The subscribers by the id of their game.
+	 */
+	private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+	/**
+	 * The amount of subscribers of all games.
+	 */
+	private final AtomicInteger amountOfSubscribers = new AtomicInteger();
+
+	/**
+	 * The amount of events that were dropped for slow subscribers.
+	 */
+	private final AtomicLong amountOfDroppedEvents = new AtomicLong();
+
+	/**
+	 * The configuration of the events.
+	 */
+	private final BowlingEventProperties properties;
+
+	/**
+	 * The amount of subscribers that were removed, because sending an event
+	 * took longer than the send timeout.
+	 */
+	private final AtomicLong amountOfStalledSubscribers = new AtomicLong();
+
+	/**
+	 * Starts a virtual thread for each dispatch of waiting events.
+	 */
+	private final ExecutorService dispatcher;
+
+	/**
+	 * Removes subscribers whose event could not be sent within the send timeout.
+	 */
+	private final ScheduledExecutorService stallDetector;
+
+	/**
+	 * Create a registry of subscribers.
+	 *
+	 * @param properties The configuration of the events.
+	 */
+	public BowlingGameEventRegistry(BowlingEventProperties properties) {
+		this.properties = properties;
+		this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bowling-events-", 0).factory());
+		this.stallDetector = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("bowling-events-stall-detector").daemon().factory());
+		long interval = Math.max(1, properties.getSendTimeout().toMillis() / 2);
+		this.stallDetector.scheduleWithFixedDelay(this::removeStalledSubscribers, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Subscribe to the events of a game.
+	 *
+	 * @param gameId The id of the game.
+	 * @return The {@link SseEmitter} of the subscription or null if the maximum amount of subscribers is reached.
+	 */
+	public SseEmitter subscribe(int gameId) {
+		if (this.amountOfSubscribers.incrementAndGet() > this.properties.getMaxSubscribers()) {
+			this.amountOfSubscribers.decrementAndGet();
+			return null;
+		}
+		SseEmitter emitter = new SseEmitter(this.properties.getTimeout().toMillis());
+		Subscriber subscriber = new Subscriber(gameId, emitter, this.properties.getQueueCapacity());
+		this.subscribers.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+		emitter.onCompletion(() -> this.unsubscribe(subscriber));
+		emitter.onTimeout(() -> this.unsubscribe(subscriber));
+		emitter.onError(e -> this.unsubscribe(subscriber));
+		return emitter;
+	}
+
+	/**
+	 * Queue an added roll for all subscribers of its game. Only schedules the
+	 * sending, so the thread that added the roll is never blocked by a subscriber.
+	 * Rolls that are added while the registry is destroyed are not sent anymore,
+	 * because all subscriptions are ended.
+	 *
+	 * @param event The {@link RollAddedEvent} of the roll.
+	 */
+	@EventListener
+	public void onRollAdded(RollAddedEvent event) {
+		Set<Subscriber> gameSubscribers = this.subscribers.get(event.getGameId());
+		if (gameSubscribers == null || this.dispatcher.isShutdown()) {
+			return;
+		}
+		for (Subscriber subscriber : gameSubscribers) {
+			if (subscriber.offer(event)) {
+				try {
+					this.dispatcher.execute(() -> this.dispatch(subscriber));
+				} catch (RejectedExecutionException e) {
+					log.debug("Not sending roll of game {}, because the events are shut down.", event.getGameId());
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the amount of subscribers of all games.
+	 *
+	 * @return The amount of subscribers.
+	 */
+	public int amountOfSubscribers() {
+		return this.amountOfSubscribers.get();
+	}
+
+	/**
+	 * Send all waiting events to a subscriber. A subscriber that can't be
+	 * reached anymore is removed.
+	 *
+	 * @param subscriber The {@link Subscriber} with waiting events.
+	 */
+	private void dispatch(Subscriber subscriber) {
+		RollAddedEvent event;
+		while (!subscriber.removed && (event = subscriber.poll()) != null) {
+			subscriber.sendingSince = System.nanoTime();
+			try {
+				subscriber.emitter.send(SseEmitter.event()
+						.id(String.valueOf(event.getRoll()))
+						.name(ROLL_EVENT_NAME)
+						.data(event, MediaType.APPLICATION_JSON));
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Removing unreachable subscriber of game {}.", subscriber.gameId, e);
+				this.unsubscribe(subscriber);
+				subscriber.emitter.completeWithError(e);
+				return;
+			} finally {
+				subscriber.sendingSince = Subscriber.NOT_SENDING;
+			}
+		}
+	}
+
+	/**
+	 * Remove the subscribers whose current event could not be sent within the
+	 * send timeout. Their subscription is ended with an error, so that the client
+	 * can subscribe again.
+	 */
+	private void removeStalledSubscribers() {
+		long now = System.nanoTime();
+		long sendTimeout = this.properties.getSendTimeout().toNanos();
+		this.subscribers.values().forEach(gameSubscribers -> gameSubscribers.forEach(subscriber -> {
+			long sendingSince = subscriber.sendingSince;
+			if (sendingSince != Subscriber.NOT_SENDING && now - sendingSince > sendTimeout) {
+				log.debug("Removing stalled subscriber of game {}.", subscriber.gameId);
+				this.unsubscribe(subscriber);
+				this.amountOfStalledSubscribers.incrementAndGet();
+				subscriber.emitter.completeWithError(new TimeoutException("Sending an event took longer than " + this.properties.getSendTimeout()));
+			}
+		}));
+	}
+
+	/**
+	 * Remove a subscriber. Can be called more than once for the same subscriber.
+	 *
+	 * @param subscriber The {@link Subscriber} to remove.
+	 */
+	private void unsubscribe(Subscriber subscriber) {
+		Set<Subscriber> gameSubscribers = this.subscribers.get(subscriber.gameId);
+		subscriber.removed = true;
+		if (gameSubscribers != null && gameSubscribers.remove(subscriber)) {
+			this.amountOfSubscribers.decrementAndGet();
+			this.subscribers.computeIfPresent(subscriber.gameId, (id, remaining) -> remaining.isEmpty() ? null : remaining);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("bowling.events.subscribers", this.amountOfSubscribers, AtomicInteger::get)
+				.description("The amount of subscribers of game events")
+				.register(registry);
+		FunctionCounter.builder("bowling.events.dropped", this.amountOfDroppedEvents, AtomicLong::get)
+				.description("The amount of events dropped for slow subscribers")
+				.register(registry);
+		FunctionCounter.builder("bowling.events.stalled", this.amountOfStalledSubscribers, AtomicLong::get)
+				.description("The amount of subscribers removed, because an event could not be sent in time")
+				.register(registry);
+	}
+
+	/**
+	 * Stop sending events and end all subscriptions.
+	 */
+	@Override
+	public void destroy() {
+		this.stallDetector.shutdownNow();
+		this.dispatcher.shutdownNow();
+		this.subscribers.values().forEach(gameSubscribers -> gameSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+	}
+
+	/**
+	 * A subscriber of a game with its waiting events. Events are added by the
+	 * thread that added the roll and sent by at most one dispatch thread at once.
+	 */
+	private final class Subscriber {
+
+		/**
+		 * The value of {@link #sendingSince} while no event is sent.
+		 */
+		private static final long NOT_SENDING = Long.MIN_VALUE;
+
+		private final int gameId;
+
+		private final SseEmitter emitter;
+
+		private final BlockingQueue<RollAddedEvent> waitingEvents;
+
+		/**
+		 * True while a dispatch of the waiting events is scheduled or running.
+		 */
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		/**
+		 * The time the event that is currently sent was started to be sent.
+		 */
+		private volatile long sendingSince = NOT_SENDING;
+
+		/**
+		 * True once the subscriber was removed, so that no further events are sent.
+		 */
+		private volatile boolean removed;
+
+		Subscriber(int gameId, SseEmitter emitter, int queueCapacity) {
+			this.gameId = gameId;
+			this.emitter = emitter;
+			this.waitingEvents = new ArrayBlockingQueue<>(queueCapacity);
+		}
+
+		/**
+		 * Add an event to the waiting events. Drops the oldest waiting events
+		 * if the subscriber fell behind.
+		 *
+		 * @param event The {@link RollAddedEvent} to send.
+		 * @return True if a dispatch has to be scheduled.
+		 */
+		boolean offer(RollAddedEvent event) {
+			while (!this.waitingEvents.offer(event)) {
+				if (this.waitingEvents.poll() != null) {
+					BowlingGameEventRegistry.this.amountOfDroppedEvents.incrementAndGet();
+				}
+			}
+			return this.scheduled.compareAndSet(false, true);
+		}
+
+		/**
+		 * Take the next waiting event. Ends the dispatch if there is none, unless
+		 * an event was added in the meantime.
+		 *
+		 * @return The next {@link RollAddedEvent} or null if the dispatch ended.
+		 */
+		RollAddedEvent poll() {
+			while (true) {
+				RollAddedEvent event = this.waitingEvents.poll();
+				if (event != null) {
+					return event;
+				}
+				this.scheduled.set(false);
+				if (this.waitingEvents.isEmpty() || !this.scheduled.compareAndSet(false, true)) {
+					return null;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package eu.nerdfactor.bowling.api;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Creates the links to {@link eu.nerdfactor.bowling.entity.BowlingGame Games}.
+ * The uri of the games is resolved once for each request and only the id is
+ * added for each game. The links are the same as the ones to
+ * {@link BowlingRestController#readGame(int)}.
+ */
+@Component
+public class BowlingGameLinkFactory {
+
+	/**
+	 * Name of the request attribute that contains the resolved uri of the games.
+	 */
+	private static final String GAMES_URI_ATTRIBUTE = BowlingGameLinkFactory.class.getName() + ".gamesUri";
+
+	/**
+	 * Get the uri of the games for the current request. It is resolved with the
+	 * first call and kept in the request for all following calls.
+	 *
+	 * @return The uri of the games without trailing slash.
+	 */
+	public String gamesUri() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return linkTo(BowlingRestController.class).toUri().toString();
+		}
+		String gamesUri = (String) attributes.getAttribute(GAMES_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (gamesUri == null) {
+			gamesUri = linkTo(BowlingRestController.class).toUri().toString();
+			attributes.setAttribute(GAMES_URI_ATTRIBUTE, gamesUri, RequestAttributes.SCOPE_REQUEST);
+		}
+		return gamesUri;
+	}
+
+	/**
+	 * Create the self link of a game for the current request.
+	 *
+	 * @param id The id of the game.
+	 * @return The self {@link Link} of the game.
+	 */
+	public Link selfLink(int id) {
+		return this.selfLink(this.gamesUri(), id);
+	}
+
+	/**
+	 * Create the self link of a game with an already resolved uri of the games.
+	 * Can be used to create links outside the thread of the request.
+	 *
+	 * @param gamesUri The uri of the games resolved by {@link #gamesUri()}.
+	 * @param id       The id of the game.
+	 * @return The self {@link Link} of the game.
+	 */
+	public Link selfLink(String gamesUri, int id) {
+		return Link.of(gamesUri + "/" + id, IanaLinkRelations.SELF);
+	}
+}
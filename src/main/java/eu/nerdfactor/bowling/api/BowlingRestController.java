@@ -1,8 +1,12 @@
 package eu.nerdfactor.bowling.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.nerdfactor.bowling.dto.BowlingGameDto;
+import eu.nerdfactor.bowling.dto.BowlingGameDtoMapper;
 import eu.nerdfactor.bowling.entity.BowlingGame;
 import eu.nerdfactor.bowling.service.BowlingGameCrudService;
+import eu.nerdfactor.bowling.service.BowlingGamePage;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,12 +15,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -28,22 +36,72 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Tag(name = "Bowling", description = "Bowling Game Api")
 public class BowlingRestController {
 
-	private final ModelMapper modelMapper;
+	/**
+	 * The amount of games on a page if no size was requested.
+	 */
+	private static final int DEFAULT_PAGE_SIZE = 100;
+
+	/**
+	 * The maximum amount of games on a page.
+	 */
+	private static final int MAX_PAGE_SIZE = 1000;
+
+	private final BowlingGameDtoMapper dtoMapper;
+	private final BowlingGameLinkFactory linkFactory;
 	private final BowlingGameCrudService bowlingGameCrudService;
+	private final ObjectMapper jsonMapper;
+	private final BowlingRulesetRegistry rulesetRegistry;
 
 	@GetMapping(produces = "application/hal+json")
 	@Operation(
-			summary = "Get a list of Bowling Games.",
-			description = "Get a list of all Bowling Games."
+			summary = "Get a page of Bowling Games.",
+			description = "Get a page of Bowling Games ordered by their id. A page starts after or before the id of a game and contains links to the next and previous page."
 	)
 	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = "application/hal+json")})
-	public ResponseEntity<List<BowlingGameDto>> listGames() {
-		return ResponseEntity.ok(this.bowlingGameCrudService.listGames().stream()
+	public ResponseEntity<CollectionModel<BowlingGameDto>> listGames(@RequestParam(required = false) Integer after,
+	                                                                 @RequestParam(required = false) Integer before,
+	                                                                 @RequestParam(required = false) Integer size) {
+		int pageSize = size != null ? Math.max(1, Math.min(size, MAX_PAGE_SIZE)) : DEFAULT_PAGE_SIZE;
+		BowlingGamePage page = this.bowlingGameCrudService.listGames(after, before, pageSize);
+		CollectionModel<BowlingGameDto> model = CollectionModel.of(page.getGames().stream()
 				.map(bowlingGame -> {
-					BowlingGameDto dto = this.modelMapper.map(bowlingGame, BowlingGameDto.class);
-					dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
+					BowlingGameDto dto = this.dtoMapper.toDto(bowlingGame);
+					dto.add(this.linkFactory.selfLink(dto.getId()));
 					return dto;
 				}).toList());
+		model.add(linkTo(methodOn(BowlingRestController.class).listGames(after, before, size)).withSelfRel());
+		if (page.hasNext() && !page.getGames().isEmpty()) {
+			model.add(linkTo(methodOn(BowlingRestController.class).listGames(page.lastId(), null, size)).withRel(IanaLinkRelations.NEXT));
+		}
+		if (page.hasPrevious() && !page.getGames().isEmpty()) {
+			model.add(linkTo(methodOn(BowlingRestController.class).listGames(null, page.firstId(), size)).withRel(IanaLinkRelations.PREV));
+		}
+		model.add(linkTo(methodOn(BowlingRestController.class).streamGames()).withRel("stream"));
+		return ResponseEntity.ok(model);
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(
+			summary = "Stream all Bowling Games.",
+			description = "Stream all Bowling Games ordered by their id as newline delimited json. Each game is written as soon as it was read, so that any amount of games can be streamed."
+	)
+	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = MediaType.APPLICATION_NDJSON_VALUE)})
+	public ResponseEntity<StreamingResponseBody> streamGames() {
+		// the uri is resolved while the request is available, games are written in another thread.
+		String gamesUri = this.linkFactory.gamesUri();
+		StreamingResponseBody body = outputStream -> this.bowlingGameCrudService.streamGames(bowlingGame -> {
+			BowlingGameDto dto = this.dtoMapper.toDto(bowlingGame);
+			dto.add(this.linkFactory.selfLink(gamesUri, dto.getId()));
+			try {
+				outputStream.write(this.jsonMapper.writeValueAsBytes(dto));
+				outputStream.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(body);
 	}
 
 	@GetMapping(value = "/{id}", produces = "application/hal+json")
@@ -54,9 +112,9 @@ public class BowlingRestController {
 	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = "application/hal+json")})
 	public ResponseEntity<BowlingGameDto> readGame(@PathVariable int id) {
 		BowlingGameDto dto = this.bowlingGameCrudService.readGame(id)
-				.map(entity -> this.modelMapper.map(entity, BowlingGameDto.class))
+				.map(this.dtoMapper::toDto)
 				.orElseThrow();
-		dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
+		dto.add(this.linkFactory.selfLink(dto.getId()));
 		return ResponseEntity.ok(dto);
 	}
 
@@ -66,10 +124,14 @@ public class BowlingRestController {
 			description = "Create a new Bowling Game with the provided data about a Bowling Game."
 	)
 	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = "application/hal+json")})
+	@ApiResponse(responseCode = "400", content = {@Content()})
 	public ResponseEntity<BowlingGameDto> createGame(@RequestBody @Valid BowlingGame game) {
+		if (!this.hasKnownRuleset(game)) {
+			return ResponseEntity.badRequest().build();
+		}
 		BowlingGame created = this.bowlingGameCrudService.createGame(game);
-		BowlingGameDto dto = this.modelMapper.map(created, BowlingGameDto.class);
-		dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
+		BowlingGameDto dto = this.dtoMapper.toDto(created);
+		dto.add(this.linkFactory.selfLink(dto.getId()));
 		return ResponseEntity.ok(dto);
 	}
 
@@ -79,10 +141,14 @@ public class BowlingRestController {
 			description = "Update a Bowling game with the provided data and specified id."
 	)
 	@ApiResponse(responseCode = "200", content = {@Content(schema = @Schema(implementation = BowlingGameDto.class), mediaType = "application/hal+json")})
+	@ApiResponse(responseCode = "400", content = {@Content()})
 	public ResponseEntity<BowlingGameDto> updateGame(@PathVariable int id, @RequestBody @Valid BowlingGame game) {
+		if (!this.hasKnownRuleset(game)) {
+			return ResponseEntity.badRequest().build();
+		}
 		BowlingGame updated = this.bowlingGameCrudService.updateGame(game);
-		BowlingGameDto dto = this.modelMapper.map(updated, BowlingGameDto.class);
-		dto.add(linkTo(methodOn(BowlingRestController.class).readGame(dto.getId())).withSelfRel());
+		BowlingGameDto dto = this.dtoMapper.toDto(updated);
+		dto.add(this.linkFactory.selfLink(dto.getId()));
 		return ResponseEntity.ok(dto);
 	}
 
@@ -96,4 +162,15 @@ public class BowlingRestController {
 		this.bowlingGameCrudService.deleteGameById(id);
 		return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
 	}
+
+	/**
+	 * Check if a game is played with a registered ruleset. Games without a
+	 * ruleset id are played with the default ruleset.
+	 *
+	 * @param game The provided {@link BowlingGame}.
+	 * @return True if the ruleset of the game can be played.
+	 */
+	private boolean hasKnownRuleset(BowlingGame game) {
+		return game.getRulesetId() == null || this.rulesetRegistry.contains(game.getRulesetId());
+	}
 }
@@ -0,0 +1,103 @@
+package eu.nerdfactor.bowling.api;
+
+import eu.nerdfactor.bowling.service.RollBatchEntry;
+import eu.nerdfactor.bowling.service.RollBatchResult;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary message format of lane controllers. A message contains one or more
+ * rolls and is answered with one message that contains an ack for every roll in
+ * the same order. All numbers are big endian.
+ * <p>
+ * A roll has {@value #ROLL_SIZE} bytes: the id of the game as int and the knocked
+ * over pins as unsigned byte.
+ * <p>
+ * An ack has {@value #ACK_SIZE} bytes: the id of the game as int, the status as
+ * byte, the roll the game is on as unsigned byte and the score of the game as
+ * unsigned short. The status is {@value #STATUS_ACCEPTED} for accepted rolls or
+ * the ordinal of the {@link RollBatchResult.Error} plus one for rejected rolls.
+ */
+public final class LaneRollProtocol {
+
+	/**
+	 * The size of a roll in bytes.
+	 */
+	public static final int ROLL_SIZE = 5;
+
+	/**
+	 * The size of an ack in bytes.
+	 */
+	public static final int ACK_SIZE = 8;
+
+	/**
+	 * The maximum amount of rolls in a single message.
+	 */
+	public static final int MAX_ROLLS_PER_MESSAGE = 1000;
+
+	/**
+	 * The status of an accepted roll.
+	 */
+	public static final byte STATUS_ACCEPTED = 0;
+
+	private LaneRollProtocol() {
+	}
+
+	/**
+	 * Check if a message contains only complete rolls and not too many of them.
+	 *
+	 * @param message The received message.
+	 * @return True if the message can be read.
+	 */
+	public static boolean isValidRollMessage(ByteBuffer message) {
+		int length = message.remaining();
+		return length > 0
+				&& length % ROLL_SIZE == 0
+				&& length / ROLL_SIZE <= MAX_ROLLS_PER_MESSAGE;
+	}
+
+	/**
+	 * Read the rolls of a message.
+	 *
+	 * @param message A valid message with one or more rolls.
+	 * @return A {@link RollBatchEntry} for each roll in the order of the message.
+	 */
+	public static List<RollBatchEntry> readRolls(ByteBuffer message) {
+		List<RollBatchEntry> rolls = new ArrayList<>(message.remaining() / ROLL_SIZE);
+		while (message.remaining() >= ROLL_SIZE) {
+			int gameId = message.getInt();
+			int knockedOverPins = Byte.toUnsignedInt(message.get());
+			rolls.add(new RollBatchEntry(gameId, new int[]{knockedOverPins}));
+		}
+		return rolls;
+	}
+
+	/**
+	 * Write the acks for the results of the rolls.
+	 *
+	 * @param results The results of the rolls in the order of the message.
+	 * @return A message with an ack for each result.
+	 */
+	public static ByteBuffer writeAcks(List<RollBatchResult> results) {
+		ByteBuffer acks = ByteBuffer.allocate(results.size() * ACK_SIZE);
+		for (RollBatchResult result : results) {
+			acks.putInt(result.getGameId());
+			acks.put(statusOf(result));
+			acks.put((byte) result.getCurrentRoll());
+			acks.putShort((short) result.getCurrentScore());
+		}
+		return acks.flip();
+	}
+
+	/**
+	 * Get the status of a result in an ack.
+	 *
+	 * @param result The {@link RollBatchResult} of a roll.
+	 * @return The status byte.
+	 */
+	private static byte statusOf(RollBatchResult result) {
+		return result.isAccepted() ? STATUS_ACCEPTED : (byte) (result.getError().ordinal() + 1);
+	}
+}
@@ -0,0 +1,41 @@
+package eu.nerdfactor.bowling.api;
+
+import eu.nerdfactor.bowling.service.BowlingService;
+import eu.nerdfactor.bowling.service.RollBatchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Receives the rolls of lane controllers in the binary {@link LaneRollProtocol}.
+ * The rolls of a message are added as one batch with the same checks as all other
+ * rolls and answered with one message of acks. Messages of a connection are
+ * handled one after another, so a lane controller can send the next message
+ * before the acks of the previous one arrived and still match them by order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LaneRollWebSocketHandler extends BinaryWebSocketHandler {
+
+	private final BowlingService bowlingService;
+
+	@Override
+	protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+		ByteBuffer payload = message.getPayload();
+		if (!LaneRollProtocol.isValidRollMessage(payload)) {
+			log.debug("Closing lane connection {} after a malformed message of {} bytes.", session.getId(), payload.remaining());
+			session.close(CloseStatus.BAD_DATA);
+			return;
+		}
+		List<RollBatchResult> results = this.bowlingService.addRolls(LaneRollProtocol.readRolls(payload));
+		session.sendMessage(new BinaryMessage(LaneRollProtocol.writeAcks(results)));
+	}
+}
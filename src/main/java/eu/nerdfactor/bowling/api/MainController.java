@@ -65,8 +65,8 @@ public class MainController {
 		model.add(linkTo(methodOn(MainController.class).api()).withSelfRel());
 		model.add(linkTo(methodOn(MainController.class).api()).slash("docs").withRel("docs"));
 		model.add(linkTo(methodOn(MainController.class).api()).slash("swagger").withRel("swagger"));
-		model.add(linkTo(methodOn(BowlingController.class).startGame()).withRel("startBowlingGame"));
-		model.add(linkTo(methodOn(BowlingRestController.class).listGames()).withRel("listBowlingGames"));
+		model.add(linkTo(methodOn(BowlingController.class).startGame(null)).withRel("startBowlingGame"));
+		model.add(linkTo(methodOn(BowlingRestController.class).listGames(null, null, null)).withRel("listBowlingGames"));
 
 		return ResponseEntity.ok(model);
 	}
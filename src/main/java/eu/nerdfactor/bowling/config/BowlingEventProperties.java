@@ -0,0 +1,40 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the live events that are pushed to subscribers of
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.events")
+public class BowlingEventProperties {
+
+	/**
+	 * The maximum amount of subscribers of all games. Further subscriptions
+	 * are rejected until other subscribers are gone.
+	 */
+	private int maxSubscribers = 10_000;
+
+	/**
+	 * The maximum amount of events that wait to be sent to a single subscriber.
+	 * The oldest waiting event is dropped if a slow subscriber falls behind.
+	 */
+	private int queueCapacity = 16;
+
+	/**
+	 * The time after which a subscription ends.
+	 */
+	private Duration timeout = Duration.ofMinutes(30);
+
+	/**
+	 * The maximum time sending a single event to a subscriber may take. A
+	 * subscriber that stalls for longer is removed.
+	 */
+	private Duration sendTimeout = Duration.ofSeconds(10);
+}
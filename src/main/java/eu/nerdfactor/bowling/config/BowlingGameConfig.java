@@ -1,40 +1,235 @@
 package eu.nerdfactor.bowling.config;
 
 import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import eu.nerdfactor.bowling.repo.BowlingGameScoreJdbcRepository;
+import eu.nerdfactor.bowling.repo.BowlingGameStore;
+import eu.nerdfactor.bowling.repo.JournalBowlingGameStore;
+import eu.nerdfactor.bowling.repo.RepositoryBowlingGameStore;
+import eu.nerdfactor.bowling.repo.WriteBehindBowlingGameStore;
+import eu.nerdfactor.bowling.service.BowlingGameLocks;
+import eu.nerdfactor.bowling.service.BowlingLeaderboard;
+import eu.nerdfactor.bowling.service.BowlingLeaderboardLoader;
+import eu.nerdfactor.bowling.service.BowlingMetrics;
+import eu.nerdfactor.bowling.service.BowlingRescoringService;
+import eu.nerdfactor.bowling.service.BowlingRules;
 import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
+import eu.nerdfactor.bowling.service.BowlingScoreCache;
 import eu.nerdfactor.bowling.service.BowlingService;
+import eu.nerdfactor.bowling.service.CandlepinBowlingRuleset;
+import eu.nerdfactor.bowling.service.CandlepinBowlingScoring;
+import eu.nerdfactor.bowling.service.FivePinBowlingRuleset;
+import eu.nerdfactor.bowling.service.FivePinBowlingScoring;
+import eu.nerdfactor.bowling.service.NinePinBowlingRuleset;
+import eu.nerdfactor.bowling.service.NinePinBowlingScoring;
+import eu.nerdfactor.bowling.service.ScoringStrategy;
+import eu.nerdfactor.bowling.service.TenPinBowlingLookupScoring;
 import eu.nerdfactor.bowling.service.TenPinBowlingRuleset;
 import eu.nerdfactor.bowling.service.TenPinBowlingScoring;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.List;
 
 /**
  * Bowling game configurations.
  */
 @Configuration
+@EnableConfigurationProperties({BowlingStorageProperties.class, BowlingScoreCacheProperties.class, BowlingEventProperties.class,
+		BowlingScoringProperties.class, BowlingRescoringProperties.class, BowlingMetricsProperties.class,
+		BowlingValidationProperties.class, BowlingLeaderboardProperties.class})
 public class BowlingGameConfig {
 
 	/**
-	 * Create a ten pin bowling game service with corresponding ruleset
-	 * and scoring strategy.
+	 * Create a bowling game service that plays each game with the rules of
+	 * its ruleset.
 	 *
-	 * @param gameRepository An implementation of repository for data access.
-	 * @return A BowlingService for ten pin bowling.
+	 * @param rulesetRegistry    The registry of the rules of each ruleset.
+	 * @param gameStore          An implementation of store for data access.
+	 * @param gameLocks          The locks that serialize changes of the same game.
+	 * @param transactionManager The transaction manager used to change games.
+	 * @param scoreCache         The cache for the scores of games.
+	 * @param eventPublisher     The publisher of the events of added rolls.
+	 * @param metrics            The meters of rolls and scores.
+	 * @return A BowlingService for all rulesets.
 	 */
 	@Bean
 	@Primary
 	@Qualifier("TenPinBowling")
-	public BowlingService getTenPinBowlingGameService(@Autowired BowlingGameRepository gameRepository) {
+	public BowlingService getTenPinBowlingGameService(@Autowired BowlingRulesetRegistry rulesetRegistry, @Autowired BowlingGameStore gameStore,
+	                                                  @Autowired BowlingGameLocks gameLocks, @Autowired PlatformTransactionManager transactionManager,
+	                                                  @Autowired BowlingScoreCache scoreCache, @Autowired ApplicationEventPublisher eventPublisher,
+	                                                  @Autowired BowlingMetrics metrics) {
 		return new BowlingService(
-				new TenPinBowlingRuleset(),
-				new TenPinBowlingScoring(),
-				gameRepository
+				rulesetRegistry,
+				gameStore,
+				gameLocks,
+				new TransactionTemplate(transactionManager),
+				scoreCache,
+				eventPublisher,
+				metrics
+		);
+	}
+
+	/**
+	 * Create the service that counts the score of all stored games again with
+	 * the rules of their ruleset.
+	 *
+	 * @param rulesetRegistry     The registry of the rules of each ruleset.
+	 * @param scoreRepository     The repository that reads and writes the scores of games.
+	 * @param gameStore           An implementation of store for data access.
+	 * @param gameLocks           The locks that serialize changes of the same game.
+	 * @param scoreCache          The cache for the scores of games.
+	 * @param eventPublisher      The publisher of the new scores of written games.
+	 * @param transactionManager  The transaction manager used to write the scores.
+	 * @param rescoringProperties The configuration of the rescoring.
+	 * @return A BowlingRescoringService for all rulesets.
+	 */
+	@Bean
+	public BowlingRescoringService getBowlingRescoringService(@Autowired BowlingRulesetRegistry rulesetRegistry,
+	                                                          @Autowired BowlingGameScoreJdbcRepository scoreRepository, @Autowired BowlingGameStore gameStore,
+	                                                          @Autowired BowlingGameLocks gameLocks, @Autowired BowlingScoreCache scoreCache,
+	                                                          @Autowired ApplicationEventPublisher eventPublisher,
+	                                                          @Autowired PlatformTransactionManager transactionManager,
+	                                                          @Autowired BowlingRescoringProperties rescoringProperties) {
+		return new BowlingRescoringService(
+				rulesetRegistry,
+				scoreRepository,
+				gameStore,
+				gameLocks,
+				scoreCache,
+				eventPublisher,
+				new TransactionTemplate(transactionManager),
+				rescoringProperties.getChunkSize(),
+				rescoringProperties.getParallelism()
 		);
 	}
 
+	/**
+	 * Create the registry of all playable rulesets. Each ruleset is scored with a
+	 * strategy that is specialised for it, ten pin bowling with the configured
+	 * strategy. Games without a ruleset are played with ten pin bowling.
+	 *
+	 * @param scoringProperties The configuration of the scoring.
+	 * @return A BowlingRulesetRegistry of all rulesets.
+	 */
+	@Bean
+	public BowlingRulesetRegistry getBowlingRulesetRegistry(@Autowired BowlingScoringProperties scoringProperties) {
+		return new BowlingRulesetRegistry(List.of(
+				new BowlingRules(new TenPinBowlingRuleset(), this.createTenPinBowlingScoring(scoringProperties)),
+				new BowlingRules(new NinePinBowlingRuleset(), new NinePinBowlingScoring()),
+				new BowlingRules(new FivePinBowlingRuleset(), new FivePinBowlingScoring()),
+				new BowlingRules(new CandlepinBowlingRuleset(), new CandlepinBowlingScoring())
+		), TenPinBowlingRuleset.ID);
+	}
+
+	/**
+	 * Create the ten pin bowling scoring strategy that matches the configuration.
+	 *
+	 * @param properties The configuration of the scoring.
+	 * @return A ScoringStrategy for ten pin bowling.
+	 */
+	private ScoringStrategy createTenPinBowlingScoring(BowlingScoringProperties properties) {
+		if (properties.getStrategy() == BowlingScoringProperties.Strategy.LOOKUP_TABLE) {
+			return new TenPinBowlingLookupScoring();
+		}
+		return new TenPinBowlingScoring();
+	}
+
+	/**
+	 * Create the meters of rolls and scores.
+	 *
+	 * @param registry   The registry the meters are registered in.
+	 * @param properties The configuration of the metrics.
+	 * @return BowlingMetrics with all meters registered.
+	 */
+	@Bean
+	public BowlingMetrics getBowlingMetrics(@Autowired MeterRegistry registry, @Autowired BowlingMetricsProperties properties) {
+		return new BowlingMetrics(registry, properties.getInProgressWindow());
+	}
+
+	/**
+	 * Create the leaderboard that ranks the scores of games with every roll.
+	 *
+	 * @param properties The configuration of the leaderboard.
+	 * @return A BowlingLeaderboard with the configured capacity and day.
+	 */
+	@Bean
+	public BowlingLeaderboard getBowlingLeaderboard(@Autowired BowlingLeaderboardProperties properties) {
+		return new BowlingLeaderboard(properties.getCapacity(), Clock.system(properties.getZone()));
+	}
+
+	/**
+	 * Create the loader that fills the all time rankings with the stored scores on startup.
+	 *
+	 * @param leaderboard     The leaderboard the scores are ranked in.
+	 * @param scoreRepository The repository that reads the scores of games.
+	 * @param gameStore       The store whose recovered games are flushed before loading.
+	 * @param properties      The configuration of the leaderboard.
+	 * @return A BowlingLeaderboardLoader that reads the configured amount of scores at once.
+	 */
+	@Bean
+	public BowlingLeaderboardLoader getBowlingLeaderboardLoader(@Autowired BowlingLeaderboard leaderboard,
+	                                                            @Autowired BowlingGameScoreJdbcRepository scoreRepository,
+	                                                            @Autowired BowlingGameStore gameStore,
+	                                                            @Autowired BowlingLeaderboardProperties properties) {
+		return new BowlingLeaderboardLoader(leaderboard, scoreRepository, gameStore, properties.getLoadChunkSize());
+	}
+
+	/**
+	 * Create the cache for the scores of games.
+	 *
+	 * @param properties The configuration of the cache.
+	 * @return A BowlingScoreCache with the configured size and expiry.
+	 */
+	@Bean
+	public BowlingScoreCache getBowlingScoreCache(@Autowired BowlingScoreCacheProperties properties) {
+		return new BowlingScoreCache(properties.getMaximumSize(), properties.getExpireAfterWrite());
+	}
+
+	/**
+	 * Create the striped locks for games.
+	 *
+	 * @param properties The configuration of the storage.
+	 * @return BowlingGameLocks with the configured amount of stripes.
+	 */
+	@Bean
+	public BowlingGameLocks getBowlingGameLocks(@Autowired BowlingStorageProperties properties) {
+		return new BowlingGameLocks(properties.getLockStripes());
+	}
+
+	/**
+	 * Create a store for games that matches the configured storage mode.
+	 *
+	 * @param gameRepository     An implementation of repository for data access.
+	 * @param rulesetRegistry    The registry of the rulesets used to check if games are finished.
+	 * @param gameLocks          The locks that keep games from changing while they are written into a snapshot.
+	 * @param transactionManager The transaction manager used to write batches of games.
+	 * @param properties         The configuration of the storage.
+	 * @return A BowlingGameStore for the configured storage mode.
+	 */
+	@Bean
+	public BowlingGameStore getBowlingGameStore(@Autowired BowlingGameRepository gameRepository, @Autowired BowlingRulesetRegistry rulesetRegistry,
+	                                            @Autowired BowlingGameLocks gameLocks, @Autowired PlatformTransactionManager transactionManager,
+	                                            @Autowired BowlingStorageProperties properties) {
+		if (properties.getMode() == BowlingStorageProperties.Mode.WRITE_BEHIND) {
+			return new WriteBehindBowlingGameStore(gameRepository, rulesetRegistry, gameLocks, transactionManager, properties);
+		}
+		if (properties.getMode() == BowlingStorageProperties.Mode.JOURNAL) {
+			return new JournalBowlingGameStore(gameRepository, rulesetRegistry, gameLocks, transactionManager, properties);
+		}
+		return new RepositoryBowlingGameStore(gameRepository);
+	}
+
 	/**
 	 * Create a ten pin bowling ruleset.
 	 *
@@ -0,0 +1,34 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.ZoneId;
+
+/**
+ * Configuration of the leaderboard of
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.leaderboard")
+public class BowlingLeaderboardProperties {
+
+	/**
+	 * The maximum amount of games in each ranking, which is also the
+	 * maximum amount of games that can be listed at once.
+	 */
+	private int capacity = 1000;
+
+	/**
+	 * The time zone in which the day of the daily ranking starts.
+	 */
+	private ZoneId zone = ZoneId.systemDefault();
+
+	/**
+	 * The amount of stored scores that are read at once, when the all time
+	 * rankings are filled on startup.
+	 */
+	private int loadChunkSize = 1000;
+}
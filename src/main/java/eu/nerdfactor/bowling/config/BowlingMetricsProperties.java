@@ -0,0 +1,23 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the metrics of
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.metrics")
+public class BowlingMetricsProperties {
+
+	/**
+	 * The time after its last roll a game that is not finished is no longer
+	 * counted as in progress.
+	 */
+	private Duration inProgressWindow = Duration.ofMinutes(10);
+}
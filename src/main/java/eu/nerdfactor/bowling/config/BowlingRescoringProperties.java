@@ -0,0 +1,26 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of counting the score of all stored
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games} again.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.rescoring")
+public class BowlingRescoringProperties {
+
+	/**
+	 * The amount of games that are read, counted and written at once.
+	 */
+	private int chunkSize = 10_000;
+
+	/**
+	 * The amount of threads that count the games of a chunk in parallel.
+	 * Uses all available processors if not set.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,27 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the cache for the scores of
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.score-cache")
+public class BowlingScoreCacheProperties {
+
+	/**
+	 * The maximum amount of cached scores.
+	 */
+	private long maximumSize = 10_000;
+
+	/**
+	 * The time after which a cached score is removed.
+	 */
+	private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,38 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of how the score of
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games} is counted.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.scoring")
+public class BowlingScoringProperties {
+
+	/**
+	 * The strategy that counts the score of complete games.
+	 */
+	private Strategy strategy = Strategy.REFERENCE;
+
+	/**
+	 * The available scoring strategies.
+	 */
+	public enum Strategy {
+
+		/**
+		 * Count every frame with the rules of
+		 * {@link eu.nerdfactor.bowling.service.TenPinBowlingScoring}.
+		 */
+		REFERENCE,
+
+		/**
+		 * Look up the score of every frame in the precomputed table of
+		 * {@link eu.nerdfactor.bowling.service.TenPinBowlingLookupScoring}.
+		 */
+		LOOKUP_TABLE
+	}
+}
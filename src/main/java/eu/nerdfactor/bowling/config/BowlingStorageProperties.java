@@ -0,0 +1,107 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of how {@link eu.nerdfactor.bowling.entity.BowlingGame Games}
+ * are stored.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.storage")
+public class BowlingStorageProperties {
+
+	/**
+	 * The mode in which games are stored.
+	 */
+	private Mode mode = Mode.DIRECT;
+
+	/**
+	 * The maximum amount of games that are kept in memory in
+	 * {@link Mode#WRITE_BEHIND write-behind} mode.
+	 */
+	private int maxActiveGames = 10_000;
+
+	/**
+	 * The maximum amount of games that are written to the
+	 * database in one batch.
+	 */
+	private int flushBatchSize = 500;
+
+	/**
+	 * Decides when changed games are written to the database.
+	 */
+	private Durability durability = Durability.INTERVAL;
+
+	/**
+	 * The interval in which changed games are written in
+	 * {@link Durability#INTERVAL interval} durability.
+	 */
+	private Duration flushInterval = Duration.ofSeconds(1);
+
+	/**
+	 * The amount of rolls after which changed games are written in
+	 * {@link Durability#ROLLS rolls} durability.
+	 */
+	private int flushAfterRolls = 100;
+
+	/**
+	 * The amount of locks that changes of games are striped over. Changes of
+	 * games with different locks can run in parallel.
+	 */
+	private int lockStripes = 1024;
+
+	/**
+	 * The directory of the roll journal in {@link Mode#JOURNAL journal} mode.
+	 */
+	private String journalDirectory = "journal";
+
+	/**
+	 * The size of each segment file of the roll journal.
+	 */
+	private DataSize journalSegmentSize = DataSize.ofMegabytes(64);
+
+	/**
+	 * The interval in which finished games with journaled rolls are written to
+	 * the database and a snapshot of the other games is written, so that the
+	 * journal segments before can be deleted.
+	 */
+	private Duration journalCheckpointInterval = Duration.ofMinutes(1);
+
+	public enum Mode {
+		/**
+		 * Every change is written to the database immediately.
+		 */
+		DIRECT,
+		/**
+		 * Active games are kept in memory and changes are written
+		 * to the database in batches.
+		 */
+		WRITE_BEHIND,
+		/**
+		 * Rolls are appended to a journal instead of writing the game. The
+		 * games are written to the database in a larger interval and rebuilt
+		 * from the journal on startup.
+		 */
+		JOURNAL
+	}
+
+	public enum Durability {
+		/**
+		 * Changed games are written in a fixed interval. In
+		 * {@link Mode#JOURNAL journal} mode the journal is synced instead.
+		 */
+		INTERVAL,
+		/**
+		 * Changed games are written after a fixed amount of rolls. In
+		 * {@link Mode#JOURNAL journal} mode the journal is synced instead.
+		 */
+		ROLLS
+	}
+}
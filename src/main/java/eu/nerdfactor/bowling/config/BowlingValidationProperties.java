@@ -0,0 +1,40 @@
+package eu.nerdfactor.bowling.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of where the invariants of
+ * {@link eu.nerdfactor.bowling.entity.BowlingGame Games} are validated.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bowling.validation")
+public class BowlingValidationProperties {
+
+	/**
+	 * Where games are validated.
+	 */
+	private Mode mode = Mode.DOMAIN;
+
+	/**
+	 * The available validation modes.
+	 */
+	public enum Mode {
+
+		/**
+		 * Check the amount of rolls and the score of a game whenever a roll is
+		 * added or its score is counted again. Games are not validated again
+		 * when Hibernate writes them. Games that are sent to the api are still
+		 * validated with their constraints.
+		 */
+		DOMAIN,
+
+		/**
+		 * Additionally validate the constraints of every game with Bean
+		 * Validation whenever Hibernate persists or updates it.
+		 */
+		BEAN_VALIDATION
+	}
+}
@@ -0,0 +1,53 @@
+package eu.nerdfactor.bowling.config;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Custom converter for knockedOverPins int array into a compact binary column.
+ * Each roll is stored as a single byte, which is more than enough for the amount of
+ * pins in a roll. A complete game is stored in at most a few bytes, and converting
+ * it does not require any parsing.
+ */
+@Converter
+public class KnockedOverPinsBinaryConvert implements AttributeConverter<int[], byte[]> {
+
+	/**
+	 * Converts an array into one byte per roll.
+	 *
+	 * @param attribute the entity attribute value to be converted
+	 * @return The array as bytes.
+	 */
+	@Override
+	public byte[] convertToDatabaseColumn(int[] attribute) {
+		if (attribute == null) {
+			return new byte[0];
+		}
+		byte[] bytes = new byte[attribute.length];
+		for (int roll = 0; roll < bytes.length; roll++) {
+			bytes[roll] = (byte) attribute[roll];
+		}
+		return bytes;
+	}
+
+	/**
+	 * Converts the bytes to an array. Rows that were stored before the binary column
+	 * existed do not contain any bytes and are returned as null, so that they can
+	 * be migrated from their json column.
+	 *
+	 * @param bytes the data from the database column to be
+	 *              converted
+	 * @return The bytes as array.
+	 */
+	@Override
+	public int[] convertToEntityAttribute(byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		int[] knockedOverPins = new int[bytes.length];
+		for (int roll = 0; roll < bytes.length; roll++) {
+			knockedOverPins[roll] = bytes[roll];
+		}
+		return knockedOverPins;
+	}
+}
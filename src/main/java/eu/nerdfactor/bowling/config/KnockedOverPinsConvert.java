@@ -3,21 +3,25 @@ package eu.nerdfactor.bowling.config;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
-import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Custom converter for knockedOverPins Integer List into json string.
  * This may be necessary in order to store the list in the database but not have a super
  * complex new object that stores single integer values in a separate table and keeps the
  * order in which the pins are stored in the list.
+ * The json column was replaced by {@link KnockedOverPinsBinaryConvert} and is only read
+ * in order to migrate existing games. The time of every conversion of a list is
+ * recorded, because it is far slower than converting the binary column.
  */
 @Converter
-@RequiredArgsConstructor
 public class KnockedOverPinsConvert implements AttributeConverter<List<Integer>, String> {
 
 	/**
@@ -25,6 +29,34 @@ public class KnockedOverPinsConvert implements AttributeConverter<List<Integer>,
 	 */
 	private final ObjectMapper jsonMapper;
 
+	/**
+	 * The time it takes to convert a list into json.
+	 */
+	private final Timer writeTimer;
+
+	/**
+	 * The time it takes to convert json into a list.
+	 */
+	private final Timer readTimer;
+
+	/**
+	 * Create a converter that records its conversions.
+	 *
+	 * @param jsonMapper The {@link ObjectMapper} in order to map the json strings.
+	 * @param registry   The {@link MeterRegistry} the time of conversions is recorded in.
+	 */
+	public KnockedOverPinsConvert(ObjectMapper jsonMapper, MeterRegistry registry) {
+		this.jsonMapper = jsonMapper;
+		this.writeTimer = Timer.builder("bowling.converter")
+				.description("The time it takes to convert the knocked over pins of a game")
+				.tags("converter", "json", "operation", "write")
+				.register(registry);
+		this.readTimer = Timer.builder("bowling.converter")
+				.description("The time it takes to convert the knocked over pins of a game")
+				.tags("converter", "json", "operation", "read")
+				.register(registry);
+	}
+
 	/**
 	 * Converts a list into a json string.
 	 *
@@ -33,10 +65,16 @@ public class KnockedOverPinsConvert implements AttributeConverter<List<Integer>,
 	 */
 	@Override
 	public String convertToDatabaseColumn(List<Integer> attribute) {
+		if (attribute == null) {
+			return null;
+		}
+		long start = System.nanoTime();
 		try {
 			return this.jsonMapper.writeValueAsString(attribute);
 		} catch (JsonProcessingException e) {
 			return "[]";
+		} finally {
+			this.writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 		}
 	}
 
@@ -49,11 +87,17 @@ public class KnockedOverPinsConvert implements AttributeConverter<List<Integer>,
 	 */
 	@Override
 	public List<Integer> convertToEntityAttribute(String string) {
+		if (string == null) {
+			return null;
+		}
+		long start = System.nanoTime();
 		try {
-			return string != null && string.startsWith("[") ? this.jsonMapper.readValue(string, new TypeReference<>() {
+			return string.startsWith("[") ? this.jsonMapper.readValue(string, new TypeReference<>() {
 			}) : new ArrayList<>();
 		} catch (JsonProcessingException e) {
 			return new ArrayList<>();
+		} finally {
+			this.readTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 		}
 	}
 }
@@ -0,0 +1,31 @@
+package eu.nerdfactor.bowling.config;
+
+import eu.nerdfactor.bowling.api.LaneRollWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Configuration of the WebSocket endpoint for lane controllers. A message with the
+ * maximum amount of rolls fits into the default buffer of binary messages.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class LaneWebSocketConfig implements WebSocketConfigurer {
+
+	/**
+	 * The path lane controllers connect to. It is outside the path of the games,
+	 * which would take it for the id of a game.
+	 */
+	public static final String LANES_PATH = "/api/v1/lanes";
+
+	private final LaneRollWebSocketHandler laneRollHandler;
+
+	@Override
+	public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+		registry.addHandler(this.laneRollHandler, LANES_PATH);
+	}
+}
@@ -1,6 +1,6 @@
 package eu.nerdfactor.bowling.config;
 
-import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
 import jakarta.validation.Validator;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
@@ -17,14 +17,24 @@ public class ValidationConfig {
 	/**
 	 * Add Springs validation factory to Hibernate, so that it uses a factory
 	 * that Spring can inject bean into. This allows the custom validators to
-	 * get a {@link BowlingRuleset} bean.
+	 * get the {@link BowlingRulesetRegistry} bean. In the
+	 * {@link BowlingValidationProperties.Mode#DOMAIN domain} validation mode
+	 * Hibernate does not validate games at all, because their invariants are
+	 * already checked whenever a roll is added.
 	 *
-	 * @param validator Some {@link Validator} from Spring.
+	 * @param validator  Some {@link Validator} from Spring.
+	 * @param properties The configuration of the validation.
 	 * @return Customized Spring Properties.
 	 * @see <a href="https://stackoverflow.com/a/56557189"/>
 	 */
 	@Bean
-	public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(final Validator validator) {
-		return hibernateProperties -> hibernateProperties.put("javax.persistence.validation.factory", validator);
+	public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(final Validator validator, final BowlingValidationProperties properties) {
+		if (properties.getMode() == BowlingValidationProperties.Mode.DOMAIN) {
+			return hibernateProperties -> hibernateProperties.put("jakarta.persistence.validation.mode", "none");
+		}
+		return hibernateProperties -> {
+			hibernateProperties.put("jakarta.persistence.validation.mode", "callback");
+			hibernateProperties.put("javax.persistence.validation.factory", validator);
+		};
 	}
 }
@@ -1,24 +1,26 @@
 package eu.nerdfactor.bowling.dto;
 
-import eu.nerdfactor.bowling.config.KnockedOverPinsConvert;
 import eu.nerdfactor.bowling.entity.BowlingGame;
 import eu.nerdfactor.bowling.validation.MaxCurrentRolls;
 import eu.nerdfactor.bowling.validation.MaxPossibleScore;
-import jakarta.persistence.Convert;
 import jakarta.validation.constraints.Min;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.hateoas.RepresentationModel;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.springframework.hateoas.server.core.Relation;
 
 @Getter
 @Setter
+@Relation(itemRelation = "bowlingGame", collectionRelation = "bowlingGames")
 public class BowlingGameDto extends RepresentationModel<BowlingGameDto> {
 
 	private int id;
 
+	/**
+	 * The id of the ruleset this {@link BowlingGame} is played with.
+	 */
+	private String rulesetId;
+
 	/**
 	 * The roll this {@link BowlingGame} is on. Required to access the correct
 	 * array element in the knockedOverPins.
@@ -28,11 +30,10 @@ public class BowlingGameDto extends RepresentationModel<BowlingGameDto> {
 	private int currentRoll;
 
 	/**
-	 * The amount of knocked over pins for each roll. The array will
+	 * The amount of knocked over pins for each played roll. The array will
 	 * never exceed the maximum amount of rolls.
 	 */
-	@Convert(converter = KnockedOverPinsConvert.class)
-	private List<Integer> knockedOverPinsPerRoll = new ArrayList<>();
+	private int[] knockedOverPinsPerRoll = new int[0];
 
 	/**
 	 * The current score for this {@link BowlingGame}.
@@ -0,0 +1,85 @@
+package eu.nerdfactor.bowling.dto;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.service.BowlingGameScore;
+import eu.nerdfactor.bowling.service.LeaderboardEntry;
+import eu.nerdfactor.bowling.service.RollBatchResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Maps {@link BowlingGame Games} and related results into their DTOs. The
+ * properties are copied directly, instead of looking them up by reflection
+ * for every response.
+ */
+@Component
+public class BowlingGameDtoMapper {
+
+	/**
+	 * Map a {@link BowlingGame} into a {@link BowlingGameDto}. The knocked over
+	 * pins of the played rolls are copied as a primitive array.
+	 *
+	 * @param game The {@link BowlingGame} to map.
+	 * @return A new {@link BowlingGameDto} without links.
+	 */
+	public BowlingGameDto toDto(BowlingGame game) {
+		BowlingGameDto dto = new BowlingGameDto();
+		dto.setId(game.getId());
+		dto.setRulesetId(game.getRulesetId());
+		dto.setCurrentRoll(game.getCurrentRoll());
+		dto.setCurrentScore(game.getCurrentScore());
+		dto.setKnockedOverPinsPerRoll(Arrays.copyOf(game.getKnockedOverPins(), game.amountOfPlayedRolls()));
+		return dto;
+	}
+
+	/**
+	 * Map a {@link BowlingGameScore} into a {@link BowlingGameDto}.
+	 *
+	 * @param score The {@link BowlingGameScore} to map.
+	 * @return A new {@link BowlingGameDto} without links.
+	 */
+	public BowlingGameDto toDto(BowlingGameScore score) {
+		BowlingGameDto dto = new BowlingGameDto();
+		dto.setId(score.getId());
+		dto.setRulesetId(score.getRulesetId());
+		dto.setCurrentRoll(score.getCurrentRoll());
+		dto.setCurrentScore(score.getCurrentScore());
+		dto.setKnockedOverPinsPerRoll(score.getKnockedOverPinsPerRoll().clone());
+		return dto;
+	}
+
+	/**
+	 * Map a {@link RollBatchResult} into a {@link RollBatchResultDto}.
+	 *
+	 * @param result The {@link RollBatchResult} to map.
+	 * @return A new {@link RollBatchResultDto} without links.
+	 */
+	public RollBatchResultDto toRollBatchResultDto(RollBatchResult result) {
+		RollBatchResultDto dto = new RollBatchResultDto();
+		dto.setGameId(result.getGameId());
+		dto.setAccepted(result.isAccepted());
+		dto.setError(result.getError());
+		dto.setCurrentRoll(result.getCurrentRoll());
+		dto.setCurrentScore(result.getCurrentScore());
+		return dto;
+	}
+
+	/**
+	 * Map a {@link LeaderboardEntry} into a {@link LeaderboardEntryDto}.
+	 *
+	 * @param entry The {@link LeaderboardEntry} to map.
+	 * @param rank  The position of the entry on the leaderboard, starting with 1.
+	 * @return A new {@link LeaderboardEntryDto} without links.
+	 */
+	public LeaderboardEntryDto toLeaderboardEntryDto(LeaderboardEntry entry, int rank) {
+		LeaderboardEntryDto dto = new LeaderboardEntryDto();
+		dto.setRank(rank);
+		dto.setGameId(entry.getGameId());
+		dto.setRulesetId(entry.getRulesetId());
+		dto.setCurrentScore(entry.getScore());
+		dto.setCurrentRoll(entry.getCurrentRoll());
+		dto.setReachedAt(entry.getReachedAt());
+		return dto;
+	}
+}
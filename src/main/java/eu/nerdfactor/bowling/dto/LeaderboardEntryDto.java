@@ -0,0 +1,33 @@
+package eu.nerdfactor.bowling.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.time.Instant;
+
+/**
+ * A ranked game on the leaderboard.
+ */
+@Getter
+@Setter
+public class LeaderboardEntryDto extends RepresentationModel<LeaderboardEntryDto> {
+
+	/**
+	 * The position on the leaderboard, starting with 1.
+	 */
+	private int rank;
+
+	private int gameId;
+
+	private String rulesetId;
+
+	private int currentScore;
+
+	private int currentRoll;
+
+	/**
+	 * The time the game reached its score.
+	 */
+	private Instant reachedAt;
+}
@@ -0,0 +1,22 @@
+package eu.nerdfactor.bowling.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The rolls of one game in a batch of rolls. The knocked over pins can be
+ * provided as a single number or as a list of consecutive rolls.
+ */
+@Getter
+@Setter
+public class RollBatchEntryDto {
+
+	private int gameId;
+
+	/**
+	 * The amount of knocked over pins for each roll in the order they were rolled.
+	 */
+	@JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+	private int[] pins = new int[0];
+}
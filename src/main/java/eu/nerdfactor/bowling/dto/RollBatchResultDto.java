@@ -0,0 +1,36 @@
+package eu.nerdfactor.bowling.dto;
+
+import eu.nerdfactor.bowling.service.RollBatchResult;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * The result of one entry in a batch of rolls.
+ */
+@Getter
+@Setter
+public class RollBatchResultDto extends RepresentationModel<RollBatchResultDto> {
+
+	private int gameId;
+
+	/**
+	 * True if all rolls of the entry were added to the game.
+	 */
+	private boolean accepted;
+
+	/**
+	 * The reason the rolls were rejected or null if they were accepted.
+	 */
+	private RollBatchResult.Error error;
+
+	/**
+	 * The roll the game is on after the entry was processed.
+	 */
+	private int currentRoll;
+
+	/**
+	 * The score of the game after the entry was processed.
+	 */
+	private int currentScore;
+}
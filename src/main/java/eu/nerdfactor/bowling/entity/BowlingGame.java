@@ -1,7 +1,11 @@
 package eu.nerdfactor.bowling.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import eu.nerdfactor.bowling.config.KnockedOverPinsBinaryConvert;
 import eu.nerdfactor.bowling.config.KnockedOverPinsConvert;
 import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.TenPinBowlingRuleset;
 import eu.nerdfactor.bowling.validation.MaxCurrentRolls;
 import eu.nerdfactor.bowling.validation.MaxPossibleScore;
 import jakarta.persistence.*;
@@ -11,8 +15,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * A simple game of bowling.
@@ -24,12 +30,28 @@ import java.util.List;
 public class BowlingGame {
 
 	/**
-	 * Internal identifier for this specific {@link BowlingGame}.
+	 * The amount of ids that are allocated with one call of the sequence.
+	 */
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	/**
+	 * Internal identifier for this specific {@link BowlingGame}. Ids are taken from
+	 * a pooled sequence, so that new games can be inserted in batches and only one
+	 * in {@value #ID_ALLOCATION_SIZE} ids has to be fetched from the database.
 	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bowling_game_seq")
+	@SequenceGenerator(name = "bowling_game_seq", sequenceName = "bowling_game_seq", allocationSize = BowlingGame.ID_ALLOCATION_SIZE)
 	private int id;
 
+	/**
+	 * The id of the {@link BowlingRuleset} this {@link BowlingGame} is played with.
+	 * Games that were stored before rulesets could be chosen don't have an id and
+	 * are played with ten pin bowling.
+	 */
+	@Column(name = "ruleset_id", length = 32)
+	private String rulesetId = TenPinBowlingRuleset.ID;
+
 	/**
 	 * The roll this {@link BowlingGame} is on. Required to access the correct
 	 * array element in the knockedOverPins.
@@ -39,12 +61,24 @@ public class BowlingGame {
 	private int currentRoll;
 
 	/**
-	 * The amount of knocked over pins for each roll. The array will
-	 * never exceed the maximum amount of rolls.
+	 * The amount of knocked over pins for each roll. The array is sized
+	 * to the maximum amount of rolls with the first roll and only the
+	 * rolls before the current roll contain knocked over pins.
 	 */
+	@JsonIgnore
+	@Column(name = "knocked_pins_packed")
+	@Convert(converter = KnockedOverPinsBinaryConvert.class)
+	private int[] knockedOverPins = new int[0];
+
+	/**
+	 * The amount of knocked over pins for each roll in the json column that
+	 * was used before the binary column. It is only read in order to migrate
+	 * games and will be empty after the migration.
+	 */
+	@JsonIgnore
 	@Column(name = "knocked_pins")
 	@Convert(converter = KnockedOverPinsConvert.class)
-	private List<Integer> knockedOverPinsPerRoll = new ArrayList<>();
+	private List<Integer> legacyKnockedOverPinsPerRoll;
 
 	/**
 	 * The current score for this {@link BowlingGame}.
@@ -53,20 +87,133 @@ public class BowlingGame {
 	@MaxPossibleScore
 	private int currentScore;
 
-	public void dangerouslyOverrideCurrentScore(int score) {
-		this.currentScore = score;
+	/**
+	 * The running scoring state for this {@link BowlingGame}. It allows to
+	 * keep the current score up to date with every roll.
+	 */
+	@Embedded
+	@JsonIgnore
+	private RunningScore runningScore = new RunningScore();
+
+	/**
+	 * Create a new {@link BowlingGame} that is played with a specific ruleset.
+	 *
+	 * @param rulesetId The id of the {@link BowlingRuleset} of the game.
+	 */
+	public BowlingGame(String rulesetId) {
+		this.rulesetId = rulesetId;
+	}
+
+	/**
+	 * Migrates the knocked over pins of games that were stored in the json column
+	 * into the binary column. The changed game will be written on the next flush.
+	 */
+	@PostLoad
+	void migrateLegacyKnockedOverPins() {
+		if (this.knockedOverPins == null) {
+			this.knockedOverPins = this.legacyKnockedOverPinsPerRoll != null
+					? toArray(this.legacyKnockedOverPinsPerRoll)
+					: new int[0];
+			this.legacyKnockedOverPinsPerRoll = null;
+		}
+	}
+
+	/**
+	 * The amount of knocked over pins for each played roll. The list is a
+	 * read-only view of the rolls, that is used to serialize and map the
+	 * {@link BowlingGame}.
+	 *
+	 * @return A read-only {@link List} of the knocked over pins.
+	 */
+	public List<Integer> getKnockedOverPinsPerRoll() {
+		return new KnockedOverPinsPerRoll(this.knockedOverPins, this.amountOfPlayedRolls());
+	}
+
+	/**
+	 * The amount of rolls that contain knocked over pins.
+	 *
+	 * @return The amount of played rolls.
+	 */
+	public int amountOfPlayedRolls() {
+		return Math.min(this.currentRoll, this.knockedOverPins.length);
 	}
 
 	/**
 	 * Executes the next roll in the game. The result of the roll
 	 * are the knocked over pins, which will be recorded in order to
-	 * count the score.
+	 * count the score. The points of the roll are added to the current
+	 * score. The roll is checked against the limits of the ruleset, so
+	 * that a game never has to be validated again before it is written.
 	 *
 	 * @param knockedOverPins The amount of pins that where knocked over in the roll.
+	 * @param points          The points the roll adds to the current score.
+	 * @param ruleset         The {@link BowlingRuleset} that defines the maximum amount of rolls and score.
+	 * @throws IllegalStateException If the roll would exceed the maximum amount of rolls or score.
 	 */
-	public void nextRoll(int knockedOverPins) {
-		this.knockedOverPinsPerRoll.add(knockedOverPins);
-		this.currentRoll++;
+	public void nextRoll(int knockedOverPins, int points, BowlingRuleset ruleset) throws IllegalStateException {
+		if (ruleset.wouldExceedMaxRolls(this.currentRoll)) {
+			throw new IllegalStateException("The roll " + this.currentRoll + " exceeds the maximum amount of rolls of game " + this.id + ".");
+		}
+		checkScore(this.currentScore + points, ruleset);
+		this.recordRoll(knockedOverPins, ruleset);
+		this.currentScore += points;
+		this.runningScore.setScoredRolls(this.currentRoll);
+	}
+
+	/**
+	 * Records a roll that was already played, without counting its points. This
+	 * is used to rebuild a game from its rolls. The {@link RunningScore} is outdated
+	 * afterward and has to be counted again before the score can be used.
+	 *
+	 * @param knockedOverPins The amount of pins that where knocked over in the roll.
+	 * @param ruleset         The {@link BowlingRuleset} that defines the maximum amount of rolls.
+	 */
+	public void replayRoll(int knockedOverPins, BowlingRuleset ruleset) {
+		this.recordRoll(knockedOverPins, ruleset);
+	}
+
+	/**
+	 * Check if the {@link RunningScore} does not contain all rolls of the game.
+	 * This is the case for games that were created with existing rolls or
+	 * stored before the running score was introduced.
+	 *
+	 * @return True if the running score has to be counted again.
+	 */
+	public boolean hasOutdatedRunningScore() {
+		return this.runningScore == null || this.runningScore.getScoredRolls() != this.currentRoll;
+	}
+
+	/**
+	 * Check if the game is finished. A game is finished after the rolls of all
+	 * frames and their bonus rolls are played, or if the maximum amount of
+	 * rolls is reached.
+	 *
+	 * @param ruleset The {@link BowlingRuleset} to be checked against.
+	 * @return True if the game is finished.
+	 */
+	public boolean isFinished(BowlingRuleset ruleset) {
+		if (ruleset.wouldExceedMaxRolls(this.currentRoll)) {
+			return true;
+		}
+		return !this.hasOutdatedRunningScore()
+				&& this.runningScore.getFrame() >= ruleset.amountOfFrames()
+				&& this.runningScore.getBonusOfNextRoll() == 0
+				&& this.runningScore.getBonusOfSecondNextRoll() == 0;
+	}
+
+	/**
+	 * Replace the {@link RunningScore} with a newly counted one.
+	 *
+	 * @param runningScore The newly counted {@link RunningScore}.
+	 * @param score        The score that was counted with it.
+	 * @param ruleset      The {@link BowlingRuleset} that defines the maximum score.
+	 * @throws IllegalStateException If the score is not possible in the ruleset.
+	 */
+	public void resetRunningScore(RunningScore runningScore, int score, BowlingRuleset ruleset) throws IllegalStateException {
+		checkScore(score, ruleset);
+		runningScore.setScoredRolls(this.currentRoll);
+		this.runningScore = runningScore;
+		this.currentScore = score;
 	}
 
 	/**
@@ -77,7 +224,7 @@ public class BowlingGame {
 	 * @throws IndexOutOfBoundsException If the specified roll is not within the possible amount of rolls.
 	 */
 	public int getKnockedOverPinsOfRoll(int roll) throws IndexOutOfBoundsException {
-		return this.knockedOverPinsPerRoll.get(roll);
+		return this.knockedOverPins[roll];
 	}
 
 	/**
@@ -89,7 +236,7 @@ public class BowlingGame {
 	 * @return True if the knockedOverPins is a strike.
 	 */
 	public boolean isRollAStrike(int roll, BowlingRuleset ruleset) {
-		return this.knockedOverPinsPerRoll.get(roll) == ruleset.amountOfPins();
+		return this.knockedOverPins[roll] == ruleset.amountOfPins();
 	}
 
 	/**
@@ -101,7 +248,77 @@ public class BowlingGame {
 	 * @return True if the roll is a spare.
 	 */
 	public boolean isRollASpare(int roll, BowlingRuleset ruleset) {
-		return this.knockedOverPinsPerRoll.get(roll) + this.knockedOverPinsPerRoll.get(roll + 1) == ruleset.amountOfPins();
+		return this.knockedOverPins[roll] + this.knockedOverPins[roll + 1] == ruleset.amountOfPins();
+	}
+
+	/**
+	 * Check if a score is possible in a ruleset. This is the same check as the
+	 * {@link Min} and {@link MaxPossibleScore} constraints of the current score,
+	 * but with the limit of the ruleset of the game.
+	 *
+	 * @param score   The checked score.
+	 * @param ruleset The {@link BowlingRuleset} that defines the maximum score.
+	 * @throws IllegalStateException If the score is negative or higher than the maximum score.
+	 */
+	private void checkScore(int score, BowlingRuleset ruleset) throws IllegalStateException {
+		if (score < 0 || score > ruleset.amountOfMaxScore()) {
+			throw new IllegalStateException("The score " + score + " is not possible in game " + this.id + ".");
+		}
+	}
+
+	private void recordRoll(int knockedOverPins, BowlingRuleset ruleset) {
+		if (this.currentRoll >= this.knockedOverPins.length) {
+			this.knockedOverPins = Arrays.copyOf(this.knockedOverPins, Math.max(ruleset.amountOfMaxRolls(), this.currentRoll + 1));
+		}
+		this.knockedOverPins[this.currentRoll] = knockedOverPins;
+		this.currentRoll++;
+	}
+
+	/**
+	 * Set the knocked over pins of each roll while deserializing a {@link BowlingGame}.
+	 *
+	 * @param knockedOverPinsPerRoll The knocked over pins of each roll.
+	 */
+	@JsonProperty("knockedOverPinsPerRoll")
+	private void setKnockedOverPinsPerRoll(List<Integer> knockedOverPinsPerRoll) {
+		this.knockedOverPins = toArray(knockedOverPinsPerRoll);
+	}
+
+	/**
+	 * Restore a {@link BowlingGame} that was stored outside the database, for
+	 * example in a snapshot.
+	 *
+	 * @param id              The id of the game.
+	 * @param rulesetId       The id of the {@link BowlingRuleset} of the game.
+	 * @param knockedOverPins The knocked over pins of each played roll.
+	 * @param currentScore    The current score of the game.
+	 * @param runningScore    The running scoring state of the game.
+	 * @return The restored {@link BowlingGame}.
+	 */
+	public static BowlingGame restore(int id, String rulesetId, int[] knockedOverPins, int currentScore, RunningScore runningScore) {
+		BowlingGame game = new BowlingGame(rulesetId);
+		game.id = id;
+		game.currentRoll = knockedOverPins.length;
+		game.knockedOverPins = knockedOverPins;
+		game.currentScore = currentScore;
+		game.runningScore = runningScore;
+		return game;
+	}
+
+	/**
+	 * Create a copy of this game, that does not share any state with it. The
+	 * copy can be written while this game receives further rolls.
+	 *
+	 * @return A new {@link BowlingGame} with the same id, rolls and score.
+	 */
+	public BowlingGame copy() {
+		BowlingGame copy = new BowlingGame(this.rulesetId);
+		copy.id = this.id;
+		copy.currentRoll = this.currentRoll;
+		copy.knockedOverPins = this.knockedOverPins.clone();
+		copy.currentScore = this.currentScore;
+		copy.runningScore = this.runningScore != null ? this.runningScore.copy() : null;
+		return copy;
 	}
 
 	public static BowlingGame createTestGame(int id, int score) {
@@ -117,7 +334,7 @@ public class BowlingGame {
 		BowlingGame game = new BowlingGame();
 		game.id = id;
 		game.currentRoll = currentRoll;
-		game.knockedOverPinsPerRoll = knockedOverPinsPerRoll;
+		game.knockedOverPins = toArray(knockedOverPinsPerRoll);
 		return game;
 	}
 
@@ -127,7 +344,43 @@ public class BowlingGame {
 		game.id = id;
 		game.currentScore = score;
 		game.currentRoll = currentRoll;
-		game.knockedOverPinsPerRoll = knockedOverPinsPerRoll;
+		game.knockedOverPins = toArray(knockedOverPinsPerRoll);
 		return game;
 	}
+
+	private static int[] toArray(List<Integer> knockedOverPinsPerRoll) {
+		int[] knockedOverPins = new int[knockedOverPinsPerRoll.size()];
+		for (int roll = 0; roll < knockedOverPins.length; roll++) {
+			knockedOverPins[roll] = knockedOverPinsPerRoll.get(roll);
+		}
+		return knockedOverPins;
+	}
+
+	/**
+	 * Read-only {@link List} view on the knocked over pins of the played rolls.
+	 */
+	private static final class KnockedOverPinsPerRoll extends AbstractList<Integer> implements RandomAccess {
+
+		private final int[] knockedOverPins;
+
+		private final int size;
+
+		KnockedOverPinsPerRoll(int[] knockedOverPins, int size) {
+			this.knockedOverPins = knockedOverPins;
+			this.size = size;
+		}
+
+		@Override
+		public Integer get(int index) {
+			if (index >= this.size) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			return this.knockedOverPins[index];
+		}
+
+		@Override
+		public int size() {
+			return this.size;
+		}
+	}
 }
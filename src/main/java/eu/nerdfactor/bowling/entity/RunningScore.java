@@ -0,0 +1,79 @@
+package eu.nerdfactor.bowling.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The running scoring state of a {@link BowlingGame}. It is updated with every
+ * roll, so that the score of a game never has to be recalculated from its first
+ * roll. The bonus of strikes and spares is counted as soon as the bonus rolls
+ * are known.
+ */
+@Getter
+@Setter
+@Embeddable
+@NoArgsConstructor
+public class RunningScore {
+
+	/**
+	 * The amount of rolls that were counted into the running score. If it
+	 * differs from the current roll of the {@link BowlingGame}, the running
+	 * score is outdated and has to be counted again.
+	 */
+	private int scoredRolls;
+
+	/**
+	 * The frame the next roll belongs to. Frames at or after the amount
+	 * of frames in the ruleset only contain bonus rolls.
+	 */
+	private int frame;
+
+	/**
+	 * The roll within the current frame the next roll will be.
+	 */
+	private int rollInFrame;
+
+	/**
+	 * The amount of pins knocked over in the current frame so far.
+	 */
+	private int pinsInFrame;
+
+	/**
+	 * How many times the knocked over pins of the next roll are counted
+	 * as bonus for pending strikes and spares.
+	 */
+	private int bonusOfNextRoll;
+
+	/**
+	 * How many times the knocked over pins of the roll after the next roll
+	 * are counted as bonus for pending strikes.
+	 */
+	private int bonusOfSecondNextRoll;
+
+	/**
+	 * Move the running score to the first roll of the next frame.
+	 */
+	public void nextFrame() {
+		this.frame++;
+		this.rollInFrame = 0;
+		this.pinsInFrame = 0;
+	}
+
+	/**
+	 * Create a copy of the running score.
+	 *
+	 * @return A new {@link RunningScore} in the same state.
+	 */
+	public RunningScore copy() {
+		RunningScore copy = new RunningScore();
+		copy.scoredRolls = this.scoredRolls;
+		copy.frame = this.frame;
+		copy.rollInFrame = this.rollInFrame;
+		copy.pinsInFrame = this.pinsInFrame;
+		copy.bonusOfNextRoll = this.bonusOfNextRoll;
+		copy.bonusOfSecondNextRoll = this.bonusOfSecondNextRoll;
+		return copy;
+	}
+}
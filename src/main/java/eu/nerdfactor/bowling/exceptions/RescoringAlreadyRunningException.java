@@ -0,0 +1,4 @@
+package eu.nerdfactor.bowling.exceptions;
+
+public class RescoringAlreadyRunningException extends Exception {
+}
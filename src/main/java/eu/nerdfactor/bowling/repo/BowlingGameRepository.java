@@ -1,12 +1,65 @@
 package eu.nerdfactor.bowling.repo;
 
 import eu.nerdfactor.bowling.entity.BowlingGame;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repository for data access to a database.
  */
 @Repository
 public interface BowlingGameRepository extends JpaRepository<BowlingGame, Integer> {
+
+	/**
+	 * Find the {@link BowlingGame Games} following a specific id ordered by their id.
+	 *
+	 * @param id    The id the games have to follow.
+	 * @param limit The maximum amount of games.
+	 * @return A {@link List} of the following {@link BowlingGame Games}.
+	 */
+	List<BowlingGame> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+	/**
+	 * Find the {@link BowlingGame Games} preceding a specific id ordered by their id
+	 * in descending order, so that the closest games are found first.
+	 *
+	 * @param id    The id the games have to precede.
+	 * @param limit The maximum amount of games.
+	 * @return A {@link List} of the preceding {@link BowlingGame Games}.
+	 */
+	List<BowlingGame> findByIdLessThanOrderByIdDesc(int id, Limit limit);
+
+	/**
+	 * Find which of the given ids belong to stored {@link BowlingGame Games},
+	 * without loading the games.
+	 *
+	 * @param ids The ids of the games.
+	 * @return A {@link List} of the ids of the stored games.
+	 */
+	@Query("select game.id from BowlingGame game where game.id in :ids")
+	List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Stream all {@link BowlingGame Games} ordered by their id. The games are fetched
+	 * from the database in chunks while the stream is consumed, so it has to be
+	 * consumed and closed within a transaction.
+	 *
+	 * @return A {@link Stream} of all {@link BowlingGame Games}.
+	 */
+	@Query("select game from BowlingGame game order by game.id")
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<BowlingGame> streamAllOrderedById();
 }
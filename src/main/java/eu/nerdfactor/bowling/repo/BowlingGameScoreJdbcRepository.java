@@ -0,0 +1,112 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.config.KnockedOverPinsBinaryConvert;
+import eu.nerdfactor.bowling.entity.RunningScore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the scores of stored games with plain JDBC. Games are neither
+ * loaded as entities nor tracked by the persistence context, so that millions of
+ * games can be scored again in chunks.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BowlingGameScoreJdbcRepository {
+
+	/**
+	 * Select the columns of the games that follow an id. Games that were not migrated
+	 * to the binary column yet are skipped, they are counted again when they are loaded.
+	 */
+	private static final String SELECT_SCORES_AFTER = """
+			select "id", "ruleset_id", "current_roll", "current_score", "knocked_pins_packed", "scored_rolls", "frame",
+			       "roll_in_frame", "pins_in_frame", "bonus_of_next_roll", "bonus_of_second_next_roll"
+			from "bowling_game"
+			where "id" > ? and "knocked_pins_packed" is not null
+			order by "id"
+			limit ?
+			""";
+
+	/**
+	 * Update the score of a game, unless a roll was added since it was selected.
+	 */
+	private static final String UPDATE_SCORE = """
+			update "bowling_game"
+			set "current_score" = ?, "scored_rolls" = ?, "frame" = ?, "roll_in_frame" = ?, "pins_in_frame" = ?,
+			    "bonus_of_next_roll" = ?, "bonus_of_second_next_roll" = ?
+			where "id" = ? and "current_roll" = ?
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final KnockedOverPinsBinaryConvert knockedOverPinsConvert = new KnockedOverPinsBinaryConvert();
+
+	/**
+	 * Find the scores of the games following a specific id ordered by their id.
+	 *
+	 * @param id   The id the games have to follow.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the {@link BowlingGameScoreRow rows} of the following games.
+	 */
+	public List<BowlingGameScoreRow> findScoresAfter(int id, int size) {
+		return this.jdbcTemplate.query(SELECT_SCORES_AFTER, this::mapRow, id, size);
+	}
+
+	/**
+	 * Write the scores of games with one batch. A game is only written if it is
+	 * still on the same roll as the row.
+	 *
+	 * @param rows The {@link BowlingGameScoreRow rows} with the new scores.
+	 * @return The {@link BowlingGameScoreRow rows} of the written games.
+	 */
+	public List<BowlingGameScoreRow> updateScores(List<BowlingGameScoreRow> rows) {
+		int[][] counts = this.jdbcTemplate.batchUpdate(UPDATE_SCORE, rows, rows.size(), (statement, row) -> {
+			RunningScore runningScore = row.getRunningScore();
+			statement.setInt(1, row.getCurrentScore());
+			statement.setInt(2, runningScore.getScoredRolls());
+			statement.setInt(3, runningScore.getFrame());
+			statement.setInt(4, runningScore.getRollInFrame());
+			statement.setInt(5, runningScore.getPinsInFrame());
+			statement.setInt(6, runningScore.getBonusOfNextRoll());
+			statement.setInt(7, runningScore.getBonusOfSecondNextRoll());
+			statement.setInt(8, row.getId());
+			statement.setInt(9, row.getCurrentRoll());
+		});
+		List<BowlingGameScoreRow> written = new ArrayList<>(rows.size());
+		int row = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+					written.add(rows.get(row));
+				}
+				row++;
+			}
+		}
+		return written;
+	}
+
+	private BowlingGameScoreRow mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+		RunningScore runningScore = new RunningScore();
+		runningScore.setScoredRolls(resultSet.getInt("scored_rolls"));
+		runningScore.setFrame(resultSet.getInt("frame"));
+		runningScore.setRollInFrame(resultSet.getInt("roll_in_frame"));
+		runningScore.setPinsInFrame(resultSet.getInt("pins_in_frame"));
+		runningScore.setBonusOfNextRoll(resultSet.getInt("bonus_of_next_roll"));
+		runningScore.setBonusOfSecondNextRoll(resultSet.getInt("bonus_of_second_next_roll"));
+		return new BowlingGameScoreRow(
+				resultSet.getInt("id"),
+				resultSet.getString("ruleset_id"),
+				resultSet.getInt("current_roll"),
+				this.knockedOverPinsConvert.convertToEntityAttribute(resultSet.getBytes("knocked_pins_packed")),
+				resultSet.getInt("current_score"),
+				runningScore
+		);
+	}
+}
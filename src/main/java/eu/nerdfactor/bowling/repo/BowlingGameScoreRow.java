@@ -0,0 +1,53 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The columns of a stored {@link eu.nerdfactor.bowling.entity.BowlingGame} that
+ * are needed to count its score again, without loading the complete entity.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BowlingGameScoreRow {
+
+	/**
+	 * The id of the game.
+	 */
+	private final int id;
+
+	/**
+	 * The id of the ruleset of the game, or null for the default ruleset.
+	 */
+	private final String rulesetId;
+
+	/**
+	 * The roll the game is on.
+	 */
+	private final int currentRoll;
+
+	/**
+	 * The knocked over pins of each roll.
+	 */
+	private final int[] knockedOverPins;
+
+	/**
+	 * The score of the game.
+	 */
+	private final int currentScore;
+
+	/**
+	 * The running scoring state of the game.
+	 */
+	private final RunningScore runningScore;
+
+	/**
+	 * The amount of rolls that contain knocked over pins.
+	 *
+	 * @return The amount of played rolls.
+	 */
+	public int amountOfPlayedRolls() {
+		return Math.min(this.currentRoll, this.knockedOverPins.length);
+	}
+}
@@ -0,0 +1,53 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the sequence of the {@link BowlingGame} ids after the highest stored id on
+ * startup. Ids were generated by an identity column before they were taken from the
+ * pooled sequence, so the sequence that is created for a database that already
+ * contains games would start with ids that are taken. The schema is updated by the
+ * entity manager factory, so the sequence exists once it is created.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class BowlingGameSequenceMigration implements InitializingBean {
+
+	private static final String SELECT_HIGHEST_ID = "select max(\"id\") from \"bowling_game\"";
+
+	private static final String SELECT_NEXT_ID = "select next value for \"bowling_game_seq\"";
+
+	private static final String RESTART_SEQUENCE = "alter sequence \"bowling_game_seq\" restart with ";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Restart the sequence after the highest stored id if its next ids could be
+	 * taken already. Every value of the sequence is the highest id of a pool of
+	 * {@value BowlingGame#ID_ALLOCATION_SIZE} ids, so the ids that were allocated
+	 * but not used yet are kept, as long as the sequence is already after the
+	 * highest stored id.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		Integer highestId = this.jdbcTemplate.queryForObject(SELECT_HIGHEST_ID, Integer.class);
+		if (highestId == null) {
+			return;
+		}
+		Long nextId = this.jdbcTemplate.queryForObject(SELECT_NEXT_ID, Long.class);
+		if (nextId != null && nextId >= highestId) {
+			return;
+		}
+		long restartValue = (long) highestId + BowlingGame.ID_ALLOCATION_SIZE;
+		this.jdbcTemplate.execute(RESTART_SEQUENCE + restartValue);
+		log.info("Restarted the sequence of the game ids after the highest stored id {}.", highestId);
+	}
+}
@@ -0,0 +1,260 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary snapshots of {@link BowlingGame Games} in snapshot files. Each
+ * snapshot is named after the first {@link RollJournal} segment that is not
+ * contained in it, so that only the following segments have to be replayed
+ * after the snapshot was loaded.
+ * <p>
+ * A game is written with its id, ruleset id, score, running score and the knocked
+ * over pins of each played roll, which takes 19 bytes, the ruleset id and one byte
+ * per roll. Snapshots of the previous format without ruleset ids are still loaded,
+ * their games are played with the default ruleset. Snapshots are
+ * written to a temporary file that is synced and renamed afterward, so a snapshot
+ * that is loaded is always complete.
+ */
+@Slf4j
+public class BowlingGameSnapshots {
+
+	/**
+	 * Starts every snapshot file and its version.
+	 */
+	private static final int MAGIC = 0x42475332;
+
+	/**
+	 * Starts the snapshot files that were written without ruleset ids.
+	 */
+	private static final int MAGIC_WITHOUT_RULESETS = 0x42475331;
+
+	/**
+	 * Precedes every game in a snapshot, the end of a snapshot is marked with 0.
+	 */
+	private static final byte GAME_RECORD = 1;
+
+	private static final String SNAPSHOT_PREFIX = "games-";
+
+	private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+	/**
+	 * The size of the buffers that snapshots are written and read with.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The directory containing the snapshot files.
+	 */
+	private final Path directory;
+
+	/**
+	 * Use snapshot files in a directory.
+	 *
+	 * @param directory The directory containing the snapshot files. It is created if it does not exist.
+	 * @throws UncheckedIOException If the directory could not be created.
+	 */
+	public BowlingGameSnapshots(Path directory) throws UncheckedIOException {
+		this.directory = directory;
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Write a snapshot of games. The games are passed to the {@link SnapshotWriter}
+	 * by the caller, which allows to write each game while it can't be changed.
+	 *
+	 * @param segmentNumber The first journal segment that is not contained in the snapshot.
+	 * @param source        Passes the games to the {@link SnapshotWriter}.
+	 * @return The amount of written games.
+	 * @throws IOException If the snapshot could not be written.
+	 */
+	public int write(long segmentNumber, SnapshotSource source) throws IOException {
+		Path temporary = this.directory.resolve(this.snapshotName(segmentNumber) + ".tmp");
+		int amountOfGames;
+		try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+		     DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file, BUFFER_SIZE))) {
+			output.writeInt(MAGIC);
+			GameWriter gameWriter = new GameWriter(output);
+			source.writeTo(gameWriter);
+			output.writeByte(0);
+			output.flush();
+			file.getChannel().force(true);
+			amountOfGames = gameWriter.amountOfGames;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		Files.move(temporary, this.directory.resolve(this.snapshotName(segmentNumber)), StandardCopyOption.ATOMIC_MOVE);
+		return amountOfGames;
+	}
+
+	/**
+	 * Pass all games of the latest snapshot to a consumer.
+	 *
+	 * @param consumer The {@link Consumer} of each restored {@link BowlingGame}.
+	 * @return The first journal segment that is not contained in the snapshot, or 0 without any snapshot.
+	 * @throws UncheckedIOException If the snapshot could not be read.
+	 */
+	public long loadLatest(Consumer<BowlingGame> consumer) throws UncheckedIOException {
+		try {
+			List<Long> snapshots = this.snapshotNumbers();
+			if (snapshots.isEmpty()) {
+				return 0;
+			}
+			long segmentNumber = snapshots.get(snapshots.size() - 1);
+			try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+					Files.newInputStream(this.directory.resolve(this.snapshotName(segmentNumber))), BUFFER_SIZE))) {
+				int magic = input.readInt();
+				if (magic != MAGIC && magic != MAGIC_WITHOUT_RULESETS) {
+					throw new IOException("Snapshot " + segmentNumber + " has an unknown format.");
+				}
+				while (input.readByte() == GAME_RECORD) {
+					consumer.accept(readGame(input, magic == MAGIC));
+				}
+			}
+			return segmentNumber;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Delete all snapshots before a snapshot.
+	 *
+	 * @param segmentNumber The segment number of the first snapshot that is kept.
+	 */
+	public void deleteSnapshotsBefore(long segmentNumber) {
+		try {
+			for (long snapshot : this.snapshotNumbers()) {
+				if (snapshot < segmentNumber) {
+					Files.deleteIfExists(this.directory.resolve(this.snapshotName(snapshot)));
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Could not delete the snapshots before {}.", segmentNumber, e);
+		}
+	}
+
+	private static BowlingGame readGame(DataInputStream input, boolean withRuleset) throws IOException {
+		int id = input.readInt();
+		String rulesetId = withRuleset ? input.readUTF() : "";
+		int currentScore = input.readInt();
+		RunningScore runningScore = new RunningScore();
+		runningScore.setScoredRolls(input.readUnsignedShort());
+		runningScore.setFrame(input.readUnsignedByte());
+		runningScore.setRollInFrame(input.readUnsignedByte());
+		runningScore.setPinsInFrame(input.readUnsignedByte());
+		runningScore.setBonusOfNextRoll(input.readUnsignedByte());
+		runningScore.setBonusOfSecondNextRoll(input.readUnsignedByte());
+		int[] knockedOverPins = new int[input.readUnsignedShort()];
+		for (int roll = 0; roll < knockedOverPins.length; roll++) {
+			knockedOverPins[roll] = input.readUnsignedByte();
+		}
+		return BowlingGame.restore(id, rulesetId.isEmpty() ? null : rulesetId, knockedOverPins, currentScore, runningScore);
+	}
+
+	/**
+	 * Get the segment numbers of all snapshots in the directory.
+	 *
+	 * @return The ascending segment numbers of the snapshots.
+	 * @throws IOException If the directory could not be listed.
+	 */
+	private List<Long> snapshotNumbers() throws IOException {
+		List<Long> numbers = new ArrayList<>();
+		try (Stream<Path> files = Files.list(this.directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+					.forEach(name -> numbers.add(Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()))));
+		}
+		numbers.sort(null);
+		return numbers;
+	}
+
+	private String snapshotName(long segmentNumber) {
+		return String.format("%s%016d%s", SNAPSHOT_PREFIX, segmentNumber, SNAPSHOT_SUFFIX);
+	}
+
+	/**
+	 * Passes the games of a snapshot to a {@link SnapshotWriter}.
+	 */
+	@FunctionalInterface
+	public interface SnapshotSource {
+
+		/**
+		 * Pass all games of the snapshot to the writer.
+		 *
+		 * @param writer The {@link SnapshotWriter} of the snapshot.
+		 * @throws IOException If a game could not be written.
+		 */
+		void writeTo(SnapshotWriter writer) throws IOException;
+	}
+
+	/**
+	 * Writes games into a snapshot.
+	 */
+	public interface SnapshotWriter {
+
+		/**
+		 * Write a game into the snapshot.
+		 *
+		 * @param game The {@link BowlingGame} to write.
+		 * @throws IOException If the game could not be written.
+		 */
+		void write(BowlingGame game) throws IOException;
+	}
+
+	/**
+	 * Writes games in the binary format of a snapshot.
+	 */
+	private static final class GameWriter implements SnapshotWriter {
+
+		private final DataOutputStream output;
+
+		private int amountOfGames;
+
+		GameWriter(DataOutputStream output) {
+			this.output = output;
+		}
+
+		@Override
+		public void write(BowlingGame game) throws IOException {
+			RunningScore runningScore = game.getRunningScore() != null ? game.getRunningScore() : new RunningScore();
+			int amountOfRolls = game.amountOfPlayedRolls();
+			this.output.writeByte(GAME_RECORD);
+			this.output.writeInt(game.getId());
+			this.output.writeUTF(game.getRulesetId() != null ? game.getRulesetId() : "");
+			this.output.writeInt(game.getCurrentScore());
+			this.output.writeShort(runningScore.getScoredRolls());
+			this.output.writeByte(runningScore.getFrame());
+			this.output.writeByte(runningScore.getRollInFrame());
+			this.output.writeByte(runningScore.getPinsInFrame());
+			this.output.writeByte(runningScore.getBonusOfNextRoll());
+			this.output.writeByte(runningScore.getBonusOfSecondNextRoll());
+			this.output.writeShort(amountOfRolls);
+			for (int roll = 0; roll < amountOfRolls; roll++) {
+				this.output.writeByte(game.getKnockedOverPinsOfRoll(roll));
+			}
+			this.amountOfGames++;
+		}
+	}
+}
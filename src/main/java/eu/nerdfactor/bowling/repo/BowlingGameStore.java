@@ -0,0 +1,103 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage for {@link BowlingGame Games}. Decides when changes to games are
+ * written to the {@link BowlingGameRepository}.
+ */
+public interface BowlingGameStore {
+
+	/**
+	 * Find the {@link BowlingGame Games} following a specific id.
+	 *
+	 * @param id   The id the games have to follow.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the following {@link BowlingGame Games} ordered by their id.
+	 */
+	List<BowlingGame> findAfter(int id, int size);
+
+	/**
+	 * Find the {@link BowlingGame Games} directly preceding a specific id.
+	 *
+	 * @param id   The id the games have to precede.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the preceding {@link BowlingGame Games} ordered by their id.
+	 */
+	List<BowlingGame> findBefore(int id, int size);
+
+	/**
+	 * Stream all stored {@link BowlingGame Games} ordered by their id. The stream
+	 * has to be consumed and closed within a transaction.
+	 *
+	 * @return A {@link Stream} of all {@link BowlingGame Games}.
+	 */
+	Stream<BowlingGame> streamAll();
+
+	/**
+	 * Find a {@link BowlingGame} by its id.
+	 *
+	 * @param id The id of the {@link BowlingGame}.
+	 * @return An {@link Optional} containing the {@link BowlingGame} if it was found.
+	 */
+	Optional<BowlingGame> findById(int id);
+
+	/**
+	 * Find all {@link BowlingGame Games} with one of the ids at once. Ids of games
+	 * that do not exist are ignored.
+	 *
+	 * @param ids The ids of the {@link BowlingGame Games}.
+	 * @return A {@link List} containing the found {@link BowlingGame Games}.
+	 */
+	List<BowlingGame> findAllById(Collection<Integer> ids);
+
+	/**
+	 * Save a new or changed {@link BowlingGame}.
+	 *
+	 * @param game The {@link BowlingGame} to save.
+	 * @return The saved {@link BowlingGame}. New games contain an id.
+	 */
+	BowlingGame save(BowlingGame game);
+
+	/**
+	 * Save a {@link BowlingGame} after its next roll was executed.
+	 *
+	 * @param game The {@link BowlingGame} with a new roll.
+	 * @return The saved {@link BowlingGame}.
+	 */
+	BowlingGame saveRoll(BowlingGame game);
+
+	/**
+	 * Save multiple {@link BowlingGame Games} after new rolls were executed.
+	 *
+	 * @param games         The {@link BowlingGame Games} with new rolls.
+	 * @param amountOfRolls The amount of new rolls in all games.
+	 */
+	void saveRolls(Collection<BowlingGame> games, int amountOfRolls);
+
+	/**
+	 * Delete a {@link BowlingGame} by its id.
+	 *
+	 * @param id The id of the {@link BowlingGame}.
+	 */
+	void deleteById(int id);
+
+	/**
+	 * Write all pending changes to the {@link BowlingGameRepository}.
+	 */
+	void flush();
+
+	/**
+	 * Count the scores of games kept in memory again, after their scores were written
+	 * to the {@link BowlingGameRepository} directly. Has to be called while the locks
+	 * of the games are held.
+	 *
+	 * @param ids The ids of the {@link BowlingGame Games} with written scores.
+	 */
+	void recountScores(Collection<Integer> ids);
+}
@@ -0,0 +1,573 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.config.BowlingStorageProperties;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
+import eu.nerdfactor.bowling.service.BowlingGameLocks;
+import eu.nerdfactor.bowling.service.BowlingRules;
+import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link BowlingGameStore} that appends every roll to a {@link RollJournal}
+ * instead of writing the whole {@link BowlingGame}. The journal is the record of the
+ * rolls, so saving a roll costs the same small amount no matter how the game is
+ * stored. Games with journaled rolls are kept in memory.
+ * <p>
+ * In a large interval a checkpoint writes the finished games to the
+ * {@link BowlingGameRepository} and a {@link BowlingGameSnapshots snapshot} of the
+ * other games, after which older snapshots and journal segments are deleted. On
+ * startup the latest snapshot is loaded and only the journal segments after it are
+ * replayed, so the time of a restart depends on the amount of active games and the
+ * interval, but not on the amount of stored games.
+ * <p>
+ * The journal is synced either in a fixed interval or after a fixed amount of rolls.
+ * New games and other changes than rolls are written to the repository immediately.
+ */
+@Slf4j
+public class JournalBowlingGameStore implements BowlingGameStore, InitializingBean, DisposableBean {
+
+	/**
+	 * A specific implementation of a repository for data access.
+	 */
+	private final BowlingGameRepository gameRepository;
+
+	/**
+	 * Resolves the {@link BowlingRuleset} used to check if a game is finished.
+	 */
+	private final BowlingRulesetRegistry rulesetRegistry;
+
+	/**
+	 * The configuration of the storage.
+	 */
+	private final BowlingStorageProperties properties;
+
+	/**
+	 * Writes each batch of changed games in a single transaction.
+	 */
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * The locks that keep games from changing while they are written into a snapshot.
+	 */
+	private final BowlingGameLocks gameLocks;
+
+	/**
+	 * The journal the rolls are appended to.
+	 */
+	private final RollJournal journal;
+
+	/**
+	 * The snapshots of the games with journaled rolls.
+	 */
+	private final BowlingGameSnapshots snapshots;
+
+	/**
+	 * The games with journaled rolls that are not written to the repository yet.
+	 */
+	private final Map<Integer, BowlingGame> changedGames = new ConcurrentHashMap<>();
+
+	/**
+	 * The amount of rolls of each found game that are already journaled or written,
+	 * so that only the following rolls are appended. Finished games are removed.
+	 */
+	private final Map<Integer, Integer> journaledRolls = new ConcurrentHashMap<>();
+
+	/**
+	 * The amount of rolls since the last sync.
+	 */
+	private final AtomicInteger rollsSinceSync = new AtomicInteger();
+
+	/**
+	 * Ensures that only one checkpoint runs at a time.
+	 */
+	private final Lock checkpointLock = new ReentrantLock();
+
+	/**
+	 * Executes the sync and the checkpoint in a fixed interval.
+	 */
+	private final ScheduledExecutorService journalExecutor;
+
+	public JournalBowlingGameStore(BowlingGameRepository gameRepository, BowlingRulesetRegistry rulesetRegistry, BowlingGameLocks gameLocks,
+	                               PlatformTransactionManager transactionManager, BowlingStorageProperties properties) {
+		this.gameRepository = gameRepository;
+		this.rulesetRegistry = rulesetRegistry;
+		this.gameLocks = gameLocks;
+		this.properties = properties;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		Path directory = Path.of(properties.getJournalDirectory());
+		this.journal = new RollJournal(directory, (int) properties.getJournalSegmentSize().toBytes());
+		this.snapshots = new BowlingGameSnapshots(directory);
+		this.journalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "bowling-journal");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Rebuild the games from the latest snapshot and the journal before the store is
+	 * used. The sync and the checkpoint are only scheduled afterward, so that a long
+	 * recovery is not interrupted by a checkpoint that deletes the replayed segments.
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		this.recover();
+		if (this.properties.getDurability() == BowlingStorageProperties.Durability.INTERVAL) {
+			long interval = this.properties.getFlushInterval().toMillis();
+			this.journalExecutor.scheduleWithFixedDelay(this.journal::sync, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		long checkpointInterval = this.properties.getJournalCheckpointInterval().toMillis();
+		this.journalExecutor.scheduleWithFixedDelay(this::checkpoint, checkpointInterval, checkpointInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Load the games of the latest snapshot and replay the journaled rolls that
+	 * followed it. The older snapshots and journal segments, which were not deleted
+	 * after the snapshot was written, are deleted afterward.
+	 */
+	public void recover() {
+		long start = System.currentTimeMillis();
+		long snapshot = this.snapshots.loadLatest(game -> this.changedGames.put(game.getId(), game));
+		int amountOfDeletedGames = this.dropDeletedGames();
+		int amountOfSnapshotGames = this.changedGames.size();
+		long amountOfRolls = this.replay(snapshot);
+		this.deleteBefore(snapshot);
+		log.info("Recovered {} games of snapshot {}, dropped {} deleted games and replayed {} journaled rolls in {} ms.",
+				amountOfSnapshotGames, snapshot, amountOfDeletedGames, amountOfRolls, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Remove the loaded games that were deleted from the repository after the
+	 * snapshot was written. Deleting a game is not journaled, so a deleted game
+	 * would otherwise be recovered and kept in every following snapshot.
+	 *
+	 * @return The amount of removed games.
+	 */
+	private int dropDeletedGames() {
+		List<Integer> ids = new ArrayList<>(this.changedGames.keySet());
+		int batchSize = this.properties.getFlushBatchSize();
+		int amountOfDeletedGames = 0;
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<Integer> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+			Set<Integer> existingIds = new HashSet<>(this.gameRepository.findExistingIds(batch));
+			for (Integer id : batch) {
+				if (!existingIds.contains(id)) {
+					this.changedGames.remove(id);
+					amountOfDeletedGames++;
+				}
+			}
+		}
+		return amountOfDeletedGames;
+	}
+
+	/**
+	 * Replay the journaled rolls after a snapshot onto the loaded or stored games.
+	 * Rolls that are already contained in a game are skipped and rolls of deleted
+	 * games are ignored. The replayed games keep an outdated running score, which is
+	 * counted again before their next roll or score.
+	 *
+	 * @param snapshot The first journal segment that is not contained in the snapshot.
+	 * @return The amount of replayed rolls.
+	 */
+	private long replay(long snapshot) {
+		return this.journal.replay(snapshot, (gameId, roll, knockedOverPins, timestamp) -> {
+			BowlingGame game = this.changedGames.get(gameId);
+			if (game == null) {
+				game = this.gameRepository.findById(gameId).orElse(null);
+			}
+			if (game == null || roll != game.getCurrentRoll()) {
+				return;
+			}
+			BowlingRuleset ruleset = this.rulesetRegistry.rulesOf(game).getRuleset();
+			if (ruleset.wouldExceedMaxRolls(roll)) {
+				return;
+			}
+			game.replayRoll(knockedOverPins, ruleset);
+			this.changedGames.put(gameId, game);
+		});
+	}
+
+	/**
+	 * Find the following games in the repository, replaced by their version with
+	 * journaled rolls.
+	 *
+	 * @param id   The id the games have to follow.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the following {@link BowlingGame Games} ordered by their id.
+	 */
+	@Override
+	public List<BowlingGame> findAfter(int id, int size) {
+		List<BowlingGame> games = new ArrayList<>(this.gameRepository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(size)));
+		games.replaceAll(this::journaledVersionOf);
+		return games;
+	}
+
+	/**
+	 * Find the preceding games in the repository, replaced by their version with
+	 * journaled rolls.
+	 *
+	 * @param id   The id the games have to precede.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the preceding {@link BowlingGame Games} ordered by their id.
+	 */
+	@Override
+	public List<BowlingGame> findBefore(int id, int size) {
+		List<BowlingGame> games = new ArrayList<>(this.gameRepository.findByIdLessThanOrderByIdDesc(id, Limit.of(size)));
+		games.replaceAll(this::journaledVersionOf);
+		Collections.reverse(games);
+		return games;
+	}
+
+	/**
+	 * Stream all games in the repository, replaced by their version with
+	 * journaled rolls.
+	 *
+	 * @return A {@link Stream} of all {@link BowlingGame Games}.
+	 */
+	@Override
+	public Stream<BowlingGame> streamAll() {
+		return this.gameRepository.streamAllOrderedById().map(this::journaledVersionOf);
+	}
+
+	/**
+	 * Find a game with journaled rolls in memory or load it from the repository.
+	 *
+	 * @param id The id of the {@link BowlingGame}.
+	 * @return An {@link Optional} containing the {@link BowlingGame} if it was found.
+	 */
+	@Override
+	public Optional<BowlingGame> findById(int id) {
+		return Optional.ofNullable(this.changedGames.get(id))
+				.or(() -> this.gameRepository.findById(id))
+				.map(this::track);
+	}
+
+	/**
+	 * Find all games with journaled rolls in memory and load the missing games
+	 * from the repository at once.
+	 *
+	 * @param ids The ids of the {@link BowlingGame Games}.
+	 * @return A {@link List} containing the found {@link BowlingGame Games}.
+	 */
+	@Override
+	public List<BowlingGame> findAllById(Collection<Integer> ids) {
+		List<BowlingGame> games = new ArrayList<>(ids.size());
+		List<Integer> missingIds = new ArrayList<>();
+		for (Integer id : ids) {
+			BowlingGame game = this.changedGames.get(id);
+			if (game != null) {
+				games.add(this.track(game));
+			} else {
+				missingIds.add(id);
+			}
+		}
+		if (!missingIds.isEmpty()) {
+			this.gameRepository.findAllById(missingIds).forEach(game -> games.add(this.track(game)));
+		}
+		return games;
+	}
+
+	/**
+	 * Write a game to the repository immediately. The written game contains all
+	 * of its rolls, so it does not have to be written with the next checkpoint.
+	 *
+	 * @param game The {@link BowlingGame} to save.
+	 * @return The saved {@link BowlingGame}.
+	 */
+	@Override
+	public BowlingGame save(BowlingGame game) {
+		BowlingGame saved = this.gameRepository.save(game);
+		this.changedGames.remove(saved.getId());
+		this.journaledRolls.put(saved.getId(), saved.getCurrentRoll());
+		return saved;
+	}
+
+	/**
+	 * Append the new roll of a game to the journal.
+	 *
+	 * @param game The {@link BowlingGame} with a new roll.
+	 * @return The saved {@link BowlingGame}.
+	 */
+	@Override
+	public BowlingGame saveRoll(BowlingGame game) {
+		this.syncAfterRolls(this.append(game));
+		return game;
+	}
+
+	/**
+	 * Append the new rolls of games to the journal. The rolls are counted while
+	 * they are appended, so that rolls that were already journaled are not
+	 * counted again.
+	 *
+	 * @param games         The {@link BowlingGame Games} with new rolls.
+	 * @param amountOfRolls The amount of new rolls in all games.
+	 */
+	@Override
+	public void saveRolls(Collection<BowlingGame> games, int amountOfRolls) {
+		int appendedRolls = 0;
+		for (BowlingGame game : games) {
+			appendedRolls += this.append(game);
+		}
+		this.syncAfterRolls(appendedRolls);
+	}
+
+	@Override
+	public void deleteById(int id) {
+		this.changedGames.remove(id);
+		this.journaledRolls.remove(id);
+		this.gameRepository.deleteById(id);
+	}
+
+	/**
+	 * Write all games with journaled rolls to the repository in batches and delete
+	 * the snapshots and journal segments whose rolls are written. If a batch could
+	 * not be written, they are kept and recovered on the next startup.
+	 */
+	@Override
+	public void flush() {
+		this.checkpointLock.lock();
+		try {
+			long segment = this.journal.startNextSegment();
+			if (this.writeAll(this.changedGames.values())) {
+				this.deleteBefore(segment);
+			}
+		} catch (RuntimeException e) {
+			log.error("Could not write the games with journaled rolls.", e);
+		} finally {
+			this.checkpointLock.unlock();
+		}
+	}
+
+	/**
+	 * Count the running score of the games in memory again, so that they are neither
+	 * served with their previous score nor write it back to the repository. Games
+	 * that received rolls since they were rescored are counted with these rolls and
+	 * the running score is written with the next checkpoint.
+	 *
+	 * @param ids The ids of the {@link BowlingGame Games} with written scores.
+	 */
+	@Override
+	public void recountScores(Collection<Integer> ids) {
+		for (Integer id : ids) {
+			Optional.ofNullable(this.changedGames.get(id)).ifPresent(game -> {
+				BowlingRules rules = this.rulesetRegistry.rulesOf(game);
+				RunningScore runningScore = new RunningScore();
+				int score = rules.getScoringStrategy().countRolls(runningScore, game.getKnockedOverPins(), game.amountOfPlayedRolls(), rules.getRuleset());
+				game.resetRunningScore(runningScore, score, rules.getRuleset());
+			});
+		}
+	}
+
+	/**
+	 * Write the finished games with journaled rolls to the repository and a snapshot
+	 * of all other games with journaled rolls. Afterward the older snapshots and the
+	 * journal segments before the snapshot are deleted. Each game is written into the
+	 * snapshot while its lock is held, so that it is not changed in the meantime.
+	 */
+	public void checkpoint() {
+		this.checkpointLock.lock();
+		try {
+			long start = System.currentTimeMillis();
+			long segment = this.journal.startNextSegment();
+			List<BowlingGame> finishedGames = this.changedGames.values().stream()
+					.filter(game -> game.isFinished(this.rulesetRegistry.rulesOf(game).getRuleset()))
+					.toList();
+			if (!this.writeAll(finishedGames)) {
+				return;
+			}
+			int amountOfGames = this.snapshots.write(segment, writer -> {
+				for (BowlingGame game : this.changedGames.values()) {
+					Lock lock = this.gameLocks.lockFor(game.getId());
+					lock.lock();
+					try {
+						writer.write(game);
+					} finally {
+						lock.unlock();
+					}
+				}
+			});
+			this.deleteBefore(segment);
+			log.debug("Wrote {} finished games and a snapshot of {} games in {} ms.", finishedGames.size(), amountOfGames,
+					System.currentTimeMillis() - start);
+		} catch (IOException | RuntimeException e) {
+			log.error("Could not write a checkpoint of the journal.", e);
+		} finally {
+			this.checkpointLock.unlock();
+		}
+	}
+
+	/**
+	 * Stop syncing in an interval, write a checkpoint and close the journal.
+	 */
+	@Override
+	public void destroy() {
+		this.journalExecutor.shutdown();
+		this.checkpoint();
+		this.journal.close();
+	}
+
+	/**
+	 * Append the rolls of a game that are not journaled yet. The game is kept in
+	 * memory before its rolls are appended, so that a checkpoint that starts after
+	 * the rolls were appended also writes the game.
+	 *
+	 * @param game The {@link BowlingGame} with new rolls.
+	 * @return The amount of appended rolls.
+	 */
+	private int append(BowlingGame game) {
+		int id = game.getId();
+		Integer journaled = this.journaledRolls.get(id);
+		int from = journaled != null ? Math.min(journaled, game.getCurrentRoll()) : game.getCurrentRoll() - 1;
+		this.changedGames.put(id, game);
+		for (int roll = from; roll < game.getCurrentRoll(); roll++) {
+			this.journal.append(id, roll, game.getKnockedOverPinsOfRoll(roll));
+		}
+		if (game.isFinished(this.rulesetRegistry.rulesOf(game).getRuleset())) {
+			this.journaledRolls.remove(id);
+		} else {
+			this.journaledRolls.put(id, game.getCurrentRoll());
+		}
+		return game.getCurrentRoll() - from;
+	}
+
+	/**
+	 * Sync the journal if the amount of rolls since the last sync is reached.
+	 *
+	 * @param amountOfRolls The amount of appended rolls.
+	 */
+	private void syncAfterRolls(int amountOfRolls) {
+		if (this.properties.getDurability() == BowlingStorageProperties.Durability.ROLLS
+				&& this.rollsSinceSync.addAndGet(amountOfRolls) >= this.properties.getFlushAfterRolls()) {
+			this.rollsSinceSync.set(0);
+			this.journal.sync();
+		}
+	}
+
+	/**
+	 * Write copies of games to the repository in batches. Each game is copied while
+	 * its lock is held, so that a game that receives a roll in the meantime is never
+	 * written with a part of the roll.
+	 *
+	 * @param games The {@link BowlingGame Games} with journaled rolls.
+	 * @return True if all batches were written.
+	 */
+	private boolean writeAll(Collection<BowlingGame> games) {
+		boolean written = true;
+		List<BowlingGame> batch = new ArrayList<>(this.properties.getFlushBatchSize());
+		for (BowlingGame game : games) {
+			batch.add(this.copyOf(game));
+			if (batch.size() >= this.properties.getFlushBatchSize()) {
+				written &= this.writeBatch(batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			written &= this.writeBatch(batch);
+		}
+		return written;
+	}
+
+	/**
+	 * Copy a game while its lock is held. Threads that hold the lock of a game
+	 * never wait for a checkpoint, so the lock can be awaited.
+	 *
+	 * @param game The {@link BowlingGame} with journaled rolls.
+	 * @return A copy of the {@link BowlingGame}.
+	 */
+	private BowlingGame copyOf(BowlingGame game) {
+		Lock lock = this.gameLocks.lockFor(game.getId());
+		lock.lock();
+		try {
+			return game.copy();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Delete the snapshots and journal segments before a segment.
+	 *
+	 * @param segment The first segment that is kept.
+	 */
+	private void deleteBefore(long segment) {
+		this.snapshots.deleteSnapshotsBefore(segment);
+		this.journal.deleteSegmentsBefore(segment);
+	}
+
+	/**
+	 * Write a batch of games in a single transaction. Games that were deleted in
+	 * the meantime are not written again. Written games are only removed from
+	 * memory if they did not receive another roll since they were copied.
+	 *
+	 * @param batch The copies of the {@link BowlingGame Games} with journaled rolls.
+	 * @return True if the batch was written.
+	 */
+	private boolean writeBatch(List<BowlingGame> batch) {
+		Map<Integer, Integer> writtenRolls = new HashMap<>();
+		batch.forEach(game -> writtenRolls.put(game.getId(), game.getCurrentRoll()));
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> {
+				Set<Integer> existingIds = this.gameRepository.findAllById(writtenRolls.keySet()).stream()
+						.map(BowlingGame::getId)
+						.collect(Collectors.toSet());
+				this.gameRepository.saveAll(batch.stream().filter(game -> existingIds.contains(game.getId())).toList());
+			});
+		} catch (RuntimeException e) {
+			log.error("Could not write {} games with journaled rolls.", batch.size(), e);
+			return false;
+		}
+		writtenRolls.forEach((id, currentRoll) -> this.changedGames.computeIfPresent(id,
+				(key, game) -> game.getCurrentRoll() == currentRoll ? null : game));
+		return true;
+	}
+
+	/**
+	 * Get the version of a loaded game that contains its journaled rolls.
+	 *
+	 * @param game The {@link BowlingGame} loaded from the repository.
+	 * @return The {@link BowlingGame} in memory or the loaded game.
+	 */
+	private BowlingGame journaledVersionOf(BowlingGame game) {
+		return this.changedGames.getOrDefault(game.getId(), game);
+	}
+
+	/**
+	 * Remember the amount of rolls of a found game, so that only its following
+	 * rolls are appended to the journal.
+	 *
+	 * @param game The found {@link BowlingGame}.
+	 * @return The same {@link BowlingGame}.
+	 */
+	private BowlingGame track(BowlingGame game) {
+		this.journaledRolls.putIfAbsent(game.getId(), game.getCurrentRoll());
+		return game;
+	}
+}
@@ -0,0 +1,82 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link BowlingGameStore} that writes every change directly to the
+ * {@link BowlingGameRepository}.
+ */
+@RequiredArgsConstructor
+public class RepositoryBowlingGameStore implements BowlingGameStore {
+
+	/**
+	 * A specific implementation of a repository for data access.
+	 */
+	private final BowlingGameRepository gameRepository;
+
+	@Override
+	public List<BowlingGame> findAfter(int id, int size) {
+		return this.gameRepository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(size));
+	}
+
+	@Override
+	public List<BowlingGame> findBefore(int id, int size) {
+		List<BowlingGame> games = new ArrayList<>(this.gameRepository.findByIdLessThanOrderByIdDesc(id, Limit.of(size)));
+		Collections.reverse(games);
+		return games;
+	}
+
+	@Override
+	public Stream<BowlingGame> streamAll() {
+		return this.gameRepository.streamAllOrderedById();
+	}
+
+	@Override
+	public Optional<BowlingGame> findById(int id) {
+		return this.gameRepository.findById(id);
+	}
+
+	@Override
+	public List<BowlingGame> findAllById(Collection<Integer> ids) {
+		return this.gameRepository.findAllById(ids);
+	}
+
+	@Override
+	public BowlingGame save(BowlingGame game) {
+		return this.gameRepository.save(game);
+	}
+
+	@Override
+	public BowlingGame saveRoll(BowlingGame game) {
+		return this.gameRepository.save(game);
+	}
+
+	@Override
+	public void saveRolls(Collection<BowlingGame> games, int amountOfRolls) {
+		this.gameRepository.saveAll(games);
+	}
+
+	@Override
+	public void deleteById(int id) {
+		this.gameRepository.deleteById(id);
+	}
+
+	@Override
+	public void flush() {
+		// every change is already written.
+	}
+
+	@Override
+	public void recountScores(Collection<Integer> ids) {
+		// no games are kept in memory.
+	}
+}
@@ -0,0 +1,316 @@
+package eu.nerdfactor.bowling.repo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * An append-only journal of rolls in memory-mapped segment files. Every roll is a
+ * record of {@value #RECORD_SIZE} bytes containing the game id, the time of the roll,
+ * the index of the roll and the knocked over pins. Segments are created with their
+ * full size, so appending a roll only copies the record into the mapped memory and
+ * costs the same for every roll. Records are forced to disk with {@link #sync()},
+ * which allows to sync many rolls at once. When a segment is full, it is synced and
+ * the next segment is started.
+ * <p>
+ * The unused end of a segment is filled with zeros, so the last record of a segment
+ * is found by the marker that ends every record.
+ */
+@Slf4j
+public class RollJournal implements Closeable {
+
+	/**
+	 * The size of a record in bytes.
+	 */
+	public static final int RECORD_SIZE = 16;
+
+	/**
+	 * The marker that ends every written record.
+	 */
+	private static final byte ROLL_RECORD = 1;
+
+	private static final String SEGMENT_PREFIX = "rolls-";
+
+	private static final String SEGMENT_SUFFIX = ".journal";
+
+	/**
+	 * The directory containing the segment files.
+	 */
+	private final Path directory;
+
+	/**
+	 * The size of each segment in bytes. It is a multiple of the record size.
+	 */
+	private final int segmentSize;
+
+	/**
+	 * Serializes appending records and starting segments. A {@link ReentrantLock}
+	 * does not pin virtual threads.
+	 */
+	private final Lock appendLock = new ReentrantLock();
+
+	/**
+	 * The number of the segment records are appended to.
+	 */
+	private long segmentNumber;
+
+	/**
+	 * The mapped memory of the segment records are appended to.
+	 */
+	private MappedByteBuffer segment;
+
+	/**
+	 * The position in the current segment up to which records are synced.
+	 */
+	private int syncedPosition;
+
+	/**
+	 * Open the journal in a directory. Records are appended to a new segment
+	 * that follows all existing segments.
+	 *
+	 * @param directory   The directory containing the segment files. It is created if it does not exist.
+	 * @param segmentSize The size of each segment in bytes.
+	 * @throws UncheckedIOException If the directory or the segment could not be created.
+	 */
+	public RollJournal(Path directory, int segmentSize) throws UncheckedIOException {
+		if (segmentSize < RECORD_SIZE) {
+			throw new IllegalArgumentException("A segment has to contain at least one record.");
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+		try {
+			Files.createDirectories(directory);
+			List<Long> segments = this.segmentNumbers();
+			this.openSegment(segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Append a roll to the journal. The record is not synced to disk before
+	 * {@link #sync()} is called or the segment is full.
+	 *
+	 * @param gameId          The id of the game.
+	 * @param roll            The index of the roll in the game.
+	 * @param knockedOverPins The amount of knocked over pins.
+	 * @throws UncheckedIOException If the segment was full and the next segment could not be created.
+	 */
+	public void append(int gameId, int roll, int knockedOverPins) throws UncheckedIOException {
+		this.appendLock.lock();
+		try {
+			if (!this.segment.hasRemaining()) {
+				this.openSegment(this.segmentNumber + 1);
+			}
+			this.segment.putInt(gameId)
+					.putLong(System.currentTimeMillis())
+					.putShort((short) roll)
+					.put((byte) knockedOverPins)
+					.put(ROLL_RECORD);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			this.appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Force all appended records to disk. Only the records since the last sync
+	 * are forced and appending is not blocked while they are written.
+	 */
+	public void sync() {
+		MappedByteBuffer buffer;
+		int from;
+		int to;
+		this.appendLock.lock();
+		try {
+			if (this.segment == null) {
+				return;
+			}
+			buffer = this.segment;
+			from = this.syncedPosition;
+			to = this.segment.position();
+			this.syncedPosition = to;
+		} finally {
+			this.appendLock.unlock();
+		}
+		if (to > from) {
+			buffer.force(from, to - from);
+		}
+	}
+
+	/**
+	 * Sync the current segment and start the next one. All records that were
+	 * appended before are contained in the segments before the returned number.
+	 *
+	 * @return The number of the started segment.
+	 * @throws UncheckedIOException If the next segment could not be created.
+	 */
+	public long startNextSegment() throws UncheckedIOException {
+		this.appendLock.lock();
+		try {
+			this.openSegment(this.segmentNumber + 1);
+			return this.segmentNumber;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			this.appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Delete all segments before a segment, after the rolls in them were written
+	 * somewhere else. Segments that could not be deleted are replayed again.
+	 *
+	 * @param number The number of the first segment that is kept.
+	 */
+	public void deleteSegmentsBefore(long number) {
+		try {
+			for (long segmentNumber : this.segmentNumbers()) {
+				if (segmentNumber < number) {
+					Files.deleteIfExists(this.segmentPath(segmentNumber));
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Could not delete the journal segments before {}.", number, e);
+		}
+	}
+
+	/**
+	 * Pass all records of the segments from a segment up to the current segment to
+	 * a consumer, in the order they were appended. Older segments are skipped, because
+	 * their records are contained somewhere else, even if they could not be deleted.
+	 *
+	 * @param fromSegment The number of the first segment that is replayed.
+	 * @param consumer    The {@link RecordConsumer} of each record.
+	 * @return The amount of replayed records.
+	 * @throws UncheckedIOException If a segment could not be read.
+	 */
+	public long replay(long fromSegment, RecordConsumer consumer) throws UncheckedIOException {
+		long amountOfRecords = 0;
+		try {
+			for (long segmentNumber : this.segmentNumbers()) {
+				if (segmentNumber >= this.segmentNumber) {
+					break;
+				}
+				if (segmentNumber < fromSegment) {
+					continue;
+				}
+				amountOfRecords += this.replaySegment(this.segmentPath(segmentNumber), consumer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return amountOfRecords;
+	}
+
+	/**
+	 * Sync the current segment. No records can be appended afterward.
+	 */
+	@Override
+	public void close() {
+		this.appendLock.lock();
+		try {
+			if (this.segment != null) {
+				this.segment.force();
+				this.segment = null;
+			}
+		} finally {
+			this.appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Pass the records of a segment to a consumer until the first unwritten record.
+	 *
+	 * @param path     The path of the segment file.
+	 * @param consumer The {@link RecordConsumer} of each record.
+	 * @return The amount of replayed records.
+	 * @throws IOException If the segment could not be read.
+	 */
+	private int replaySegment(Path path, RecordConsumer consumer) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		int amountOfRecords = 0;
+		while (buffer.remaining() >= RECORD_SIZE && buffer.get(buffer.position() + RECORD_SIZE - 1) == ROLL_RECORD) {
+			int gameId = buffer.getInt();
+			long timestamp = buffer.getLong();
+			int roll = Short.toUnsignedInt(buffer.getShort());
+			int knockedOverPins = Byte.toUnsignedInt(buffer.get());
+			buffer.get();
+			consumer.accept(gameId, roll, knockedOverPins, timestamp);
+			amountOfRecords++;
+		}
+		return amountOfRecords;
+	}
+
+	/**
+	 * Sync the current segment and map a new segment with its full size.
+	 *
+	 * @param number The number of the new segment.
+	 * @throws IOException If the segment could not be created.
+	 */
+	private void openSegment(long number) throws IOException {
+		if (this.segment != null) {
+			this.segment.force();
+		}
+		try (FileChannel channel = FileChannel.open(this.segmentPath(number),
+				StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			this.segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+		}
+		this.segmentNumber = number;
+		this.syncedPosition = 0;
+	}
+
+	/**
+	 * Get the numbers of all segments in the directory.
+	 *
+	 * @return The ascending numbers of the segments.
+	 * @throws IOException If the directory could not be listed.
+	 */
+	private List<Long> segmentNumbers() throws IOException {
+		List<Long> numbers = new ArrayList<>();
+		try (Stream<Path> files = Files.list(this.directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.forEach(name -> numbers.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+		}
+		numbers.sort(null);
+		return numbers;
+	}
+
+	private Path segmentPath(long number) {
+		return this.directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * Consumes the records of a replayed journal.
+	 */
+	@FunctionalInterface
+	public interface RecordConsumer {
+
+		/**
+		 * Consume a record.
+		 *
+		 * @param gameId          The id of the game.
+		 * @param roll            The index of the roll in the game.
+		 * @param knockedOverPins The amount of knocked over pins.
+		 * @param timestamp       The time the roll was appended in milliseconds since the epoch.
+		 */
+		void accept(int gameId, int roll, int knockedOverPins, long timestamp);
+	}
+}
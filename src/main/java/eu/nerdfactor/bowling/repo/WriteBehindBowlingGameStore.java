@@ -0,0 +1,449 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.config.BowlingStorageProperties;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
+import eu.nerdfactor.bowling.service.BowlingGameLocks;
+import eu.nerdfactor.bowling.service.BowlingRules;
+import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link BowlingGameStore} that keeps active {@link BowlingGame Games} in memory.
+ * Rolls are only applied to the games in memory and changed games are written to
+ * the {@link BowlingGameRepository} in batches, either in a fixed interval or after
+ * a fixed amount of rolls. New games are written immediately in order to get their id.
+ * Games are copied while their lock is held and the copies are written, so that
+ * a game never changes while it is written.
+ */
+@Slf4j
+public class WriteBehindBowlingGameStore implements BowlingGameStore, DisposableBean {
+
+	/**
+	 * How often all changed games are flushed on shutdown, until no game was
+	 * changed during the flush.
+	 */
+	private static final int MAX_FLUSHES_ON_DESTROY = 3;
+
+	/**
+	 * A specific implementation of a repository for data access.
+	 */
+	private final BowlingGameRepository gameRepository;
+
+	/**
+	 * Resolves the {@link BowlingRuleset} used to check if a game is finished.
+	 */
+	private final BowlingRulesetRegistry rulesetRegistry;
+
+	/**
+	 * The locks that are held while a game is changed.
+	 */
+	private final BowlingGameLocks gameLocks;
+
+	/**
+	 * The configuration of the storage.
+	 */
+	private final BowlingStorageProperties properties;
+
+	/**
+	 * Writes each batch of changed games in a single new transaction. A flush may run
+	 * within the transaction of a caller, which must neither be rolled back by a
+	 * failed batch nor roll back the written games of other callers.
+	 */
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * The games that are kept in memory.
+	 */
+	private final Map<Integer, BowlingGame> activeGames = new ConcurrentHashMap<>();
+
+	/**
+	 * The games that were changed since the last flush. They are never evicted
+	 * before they are written.
+	 */
+	private final Map<Integer, BowlingGame> changedGames = new ConcurrentHashMap<>();
+
+	/**
+	 * The amount of rolls since the last flush.
+	 */
+	private final AtomicInteger rollsSinceFlush = new AtomicInteger();
+
+	/**
+	 * Ensures that only one flush or eviction runs at a time. A {@link ReentrantLock}
+	 * does not pin virtual threads while the database is written.
+	 */
+	private final Lock flushLock = new ReentrantLock();
+
+	/**
+	 * Executes the flush in a fixed interval.
+	 */
+	private final ScheduledExecutorService flushExecutor;
+
+	public WriteBehindBowlingGameStore(BowlingGameRepository gameRepository, BowlingRulesetRegistry rulesetRegistry, BowlingGameLocks gameLocks,
+	                                   PlatformTransactionManager transactionManager, BowlingStorageProperties properties) {
+		this.gameRepository = gameRepository;
+		this.rulesetRegistry = rulesetRegistry;
+		this.gameLocks = gameLocks;
+		this.properties = properties;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "bowling-write-behind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (properties.getDurability() == BowlingStorageProperties.Durability.INTERVAL) {
+			long interval = properties.getFlushInterval().toMillis();
+			this.flushExecutor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Find the following games in the repository, replaced by their version in memory.
+	 *
+	 * @param id   The id the games have to follow.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the following {@link BowlingGame Games} ordered by their id.
+	 */
+	@Override
+	public List<BowlingGame> findAfter(int id, int size) {
+		List<BowlingGame> games = new ArrayList<>(this.gameRepository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(size)));
+		games.replaceAll(this::inMemoryVersionOf);
+		return games;
+	}
+
+	/**
+	 * Find the preceding games in the repository, replaced by their version in memory.
+	 *
+	 * @param id   The id the games have to precede.
+	 * @param size The maximum amount of games.
+	 * @return A {@link List} of the preceding {@link BowlingGame Games} ordered by their id.
+	 */
+	@Override
+	public List<BowlingGame> findBefore(int id, int size) {
+		List<BowlingGame> games = new ArrayList<>(this.gameRepository.findByIdLessThanOrderByIdDesc(id, Limit.of(size)));
+		games.replaceAll(this::inMemoryVersionOf);
+		Collections.reverse(games);
+		return games;
+	}
+
+	/**
+	 * Stream all games in the repository, replaced by their version in memory.
+	 *
+	 * @return A {@link Stream} of all {@link BowlingGame Games}.
+	 */
+	@Override
+	public Stream<BowlingGame> streamAll() {
+		return this.gameRepository.streamAllOrderedById().map(this::inMemoryVersionOf);
+	}
+
+	/**
+	 * Find a game in memory or load it from the repository and keep it in memory.
+	 *
+	 * @param id The id of the {@link BowlingGame}.
+	 * @return An {@link Optional} containing the {@link BowlingGame} if it was found.
+	 */
+	@Override
+	public Optional<BowlingGame> findById(int id) {
+		BowlingGame game = this.activeGames.get(id);
+		if (game == null) {
+			game = this.changedGames.get(id);
+		}
+		if (game != null) {
+			return Optional.of(game);
+		}
+		return this.gameRepository.findById(id).map(this::activate);
+	}
+
+	/**
+	 * Find all games in memory and load the missing games from the
+	 * repository at once.
+	 *
+	 * @param ids The ids of the {@link BowlingGame Games}.
+	 * @return A {@link List} containing the found {@link BowlingGame Games}.
+	 */
+	@Override
+	public List<BowlingGame> findAllById(Collection<Integer> ids) {
+		List<BowlingGame> games = new ArrayList<>(ids.size());
+		List<Integer> missingIds = new ArrayList<>();
+		for (Integer id : ids) {
+			Optional<BowlingGame> game = Optional.ofNullable(this.activeGames.get(id))
+					.or(() -> Optional.ofNullable(this.changedGames.get(id)));
+			game.ifPresentOrElse(games::add, () -> missingIds.add(id));
+		}
+		if (!missingIds.isEmpty()) {
+			this.gameRepository.findAllById(missingIds).forEach(game -> games.add(this.activate(game)));
+		}
+		return games;
+	}
+
+	/**
+	 * Save a game in memory and mark it as changed. New games are written
+	 * to the repository immediately.
+	 *
+	 * @param game The {@link BowlingGame} to save.
+	 * @return The saved {@link BowlingGame}.
+	 */
+	@Override
+	public BowlingGame save(BowlingGame game) {
+		if (game.getId() == 0) {
+			return this.activate(this.gameRepository.save(game));
+		}
+		if (!this.activeGames.containsKey(game.getId())) {
+			this.evictIfFull();
+		}
+		this.activeGames.put(game.getId(), game);
+		this.changedGames.put(game.getId(), game);
+		return game;
+	}
+
+	/**
+	 * Save a game with a new roll in memory. Flushes all changed games if the
+	 * amount of rolls since the last flush is reached.
+	 *
+	 * @param game The {@link BowlingGame} with a new roll.
+	 * @return The saved {@link BowlingGame}.
+	 */
+	@Override
+	public BowlingGame saveRoll(BowlingGame game) {
+		this.save(game);
+		if (this.properties.getDurability() == BowlingStorageProperties.Durability.ROLLS
+				&& this.rollsSinceFlush.incrementAndGet() >= this.properties.getFlushAfterRolls()) {
+			this.flush();
+		}
+		return game;
+	}
+
+	/**
+	 * Save games with new rolls in memory. Flushes all changed games if the
+	 * amount of rolls since the last flush is reached.
+	 *
+	 * @param games         The {@link BowlingGame Games} with new rolls.
+	 * @param amountOfRolls The amount of new rolls in all games.
+	 */
+	@Override
+	public void saveRolls(Collection<BowlingGame> games, int amountOfRolls) {
+		games.forEach(this::save);
+		if (this.properties.getDurability() == BowlingStorageProperties.Durability.ROLLS
+				&& this.rollsSinceFlush.addAndGet(amountOfRolls) >= this.properties.getFlushAfterRolls()) {
+			this.flush();
+		}
+	}
+
+	@Override
+	public void deleteById(int id) {
+		this.activeGames.remove(id);
+		this.changedGames.remove(id);
+		this.gameRepository.deleteById(id);
+	}
+
+	/**
+	 * Write all changed games to the repository in batches and evict
+	 * finished games from memory afterward. Games that are changed by another
+	 * thread at the same time are written with the next flush.
+	 */
+	@Override
+	public void flush() {
+		this.flushLock.lock();
+		try {
+			this.rollsSinceFlush.set(0);
+			List<BowlingGame> batch = new ArrayList<>(this.properties.getFlushBatchSize());
+			for (Integer id : this.changedGames.keySet()) {
+				BowlingGame game = this.takeChangedGame(id);
+				if (game == null) {
+					continue;
+				}
+				batch.add(game);
+				if (batch.size() >= this.properties.getFlushBatchSize()) {
+					this.writeBatch(batch);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				this.writeBatch(batch);
+			}
+			this.evict(game -> game.isFinished(this.rulesetRegistry.rulesOf(game).getRuleset()), 0);
+		} finally {
+			this.flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Count the running score of the games in memory again, so that they are neither
+	 * served with their previous score nor write it back to the repository. Games
+	 * that received rolls since they were rescored are counted with these rolls and
+	 * the running score of changed games is written with the next flush.
+	 *
+	 * @param ids The ids of the {@link BowlingGame Games} with written scores.
+	 */
+	@Override
+	public void recountScores(Collection<Integer> ids) {
+		for (Integer id : ids) {
+			Optional.ofNullable(this.activeGames.get(id)).or(() -> Optional.ofNullable(this.changedGames.get(id))).ifPresent(game -> {
+				BowlingRules rules = this.rulesetRegistry.rulesOf(game);
+				RunningScore runningScore = new RunningScore();
+				int score = rules.getScoringStrategy().countRolls(runningScore, game.getKnockedOverPins(), game.amountOfPlayedRolls(), rules.getRuleset());
+				game.resetRunningScore(runningScore, score, rules.getRuleset());
+			});
+		}
+	}
+
+	/**
+	 * Stop flushing in an interval and write all remaining changes. Games that
+	 * were changed during a flush are written by one of the following flushes.
+	 */
+	@Override
+	public void destroy() {
+		this.flushExecutor.shutdown();
+		for (int attempt = 0; attempt < MAX_FLUSHES_ON_DESTROY; attempt++) {
+			this.flush();
+			if (this.changedGames.isEmpty()) {
+				return;
+			}
+		}
+		log.warn("Could not write {} changed games on shutdown.", this.changedGames.size());
+	}
+
+	/**
+	 * Take a changed game for the next flush. The game is copied and unmarked as
+	 * changed while its lock is held, so that the copy contains a consistent state
+	 * and every later change marks the game as changed again. Games whose lock is
+	 * held by another thread are currently changed and stay marked as changed.
+	 * The lock is not awaited, because threads that hold the lock of a game may
+	 * wait for the flush themselves.
+	 *
+	 * @param id The id of the changed {@link BowlingGame}.
+	 * @return A copy of the {@link BowlingGame} or null if it is not taken.
+	 */
+	private BowlingGame takeChangedGame(int id) {
+		Lock lock = this.gameLocks.lockFor(id);
+		if (!lock.tryLock()) {
+			return null;
+		}
+		try {
+			BowlingGame game = this.changedGames.remove(id);
+			return game != null ? game.copy() : null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Write a batch of games in a single transaction. Games that were deleted in
+	 * the meantime are not written again. If the batch could not be written, the
+	 * games are marked as changed again, so that they are written with the next
+	 * flush.
+	 *
+	 * @param batch The copies of the changed {@link BowlingGame Games}.
+	 */
+	private void writeBatch(List<BowlingGame> batch) {
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> {
+				Set<Integer> existingIds = this.gameRepository.findAllById(batch.stream().map(BowlingGame::getId).toList())
+						.stream()
+						.map(BowlingGame::getId)
+						.collect(Collectors.toSet());
+				this.gameRepository.saveAll(batch.stream().filter(game -> existingIds.contains(game.getId())).toList());
+			});
+		} catch (RuntimeException e) {
+			log.error("Could not write {} changed games.", batch.size(), e);
+			batch.forEach(copy -> {
+				BowlingGame game = this.activeGames.get(copy.getId());
+				if (game != null) {
+					this.changedGames.putIfAbsent(game.getId(), game);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Get the version of a loaded game that is kept in memory. Changes of games
+	 * in memory are newer than the version in the repository.
+	 *
+	 * @param game The {@link BowlingGame} loaded from the repository.
+	 * @return The {@link BowlingGame} in memory or the loaded game.
+	 */
+	private BowlingGame inMemoryVersionOf(BowlingGame game) {
+		return this.changedGames.getOrDefault(game.getId(), this.activeGames.getOrDefault(game.getId(), game));
+	}
+
+	/**
+	 * Keep a game that was loaded from the repository in memory. If the game was
+	 * loaded concurrently, the game that is already in memory is used.
+	 *
+	 * @param game The loaded {@link BowlingGame}.
+	 * @return The {@link BowlingGame} in memory.
+	 */
+	private BowlingGame activate(BowlingGame game) {
+		this.evictIfFull();
+		BowlingGame active = this.activeGames.putIfAbsent(game.getId(), game);
+		return active != null ? active : game;
+	}
+
+	/**
+	 * Make room for another game if the maximum amount of games in memory is
+	 * reached. Finished games are evicted first, followed by other unchanged games
+	 * until a tenth of the games is evicted. If all games were changed, they are
+	 * flushed first.
+	 */
+	private void evictIfFull() {
+		int maxActiveGames = this.properties.getMaxActiveGames();
+		if (this.activeGames.size() < maxActiveGames) {
+			return;
+		}
+		this.flushLock.lock();
+		try {
+			int targetSize = maxActiveGames - Math.max(1, maxActiveGames / 10);
+			this.evict(game -> game.isFinished(this.rulesetRegistry.rulesOf(game).getRuleset()), targetSize);
+			this.evict(game -> true, targetSize);
+			if (this.activeGames.size() >= maxActiveGames) {
+				this.flush();
+				this.evict(game -> true, targetSize);
+			}
+		} finally {
+			this.flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Evict unchanged games from memory until the amount of games in memory
+	 * is reduced to the target size.
+	 *
+	 * @param predicate  The games that should be evicted.
+	 * @param targetSize The amount of games that may stay in memory.
+	 */
+	private void evict(Predicate<BowlingGame> predicate, int targetSize) {
+		Iterator<BowlingGame> games = this.activeGames.values().iterator();
+		while (games.hasNext() && this.activeGames.size() > targetSize) {
+			BowlingGame game = games.next();
+			if (!this.changedGames.containsKey(game.getId()) && predicate.test(game)) {
+				games.remove();
+			}
+		}
+	}
+}
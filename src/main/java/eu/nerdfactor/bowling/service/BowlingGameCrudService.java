@@ -1,13 +1,20 @@
 package eu.nerdfactor.bowling.service;
 
 import eu.nerdfactor.bowling.entity.BowlingGame;
-import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import eu.nerdfactor.bowling.repo.BowlingGameStore;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for basic CRUD operations on {@link BowlingGame Games}.
@@ -18,17 +25,86 @@ import java.util.Optional;
 public class BowlingGameCrudService {
 
 	/**
-	 * Inject a specific implementation of a repository for data access.
+	 * Inject a specific implementation of a store for data access.
 	 */
-	private final BowlingGameRepository gameRepository;
+	private final BowlingGameStore gameStore;
 
 	/**
-	 * List all {@link BowlingGame Games}.
+	 * The {@link EntityManager} to detach streamed games.
+	 */
+	private final EntityManager entityManager;
+
+	/**
+	 * The locks that serialize changes of the same game.
+	 */
+	private final BowlingGameLocks gameLocks;
+
+	/**
+	 * The cached scores that have to be removed when a game is changed.
+	 */
+	private final BowlingScoreCache scoreCache;
+
+	/**
+	 * The leaderboard that games are removed from when they are deleted.
+	 */
+	private final BowlingLeaderboard leaderboard;
+
+	/**
+	 * Publishes the new score of updated games.
+	 */
+	private final ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * List a page of {@link BowlingGame Games}. The page starts directly after or
+	 * before the id of a game, so that no games have to be skipped in the database.
+	 * Without any id the first page is listed. One more game than the page holds is
+	 * read in the direction of the page and a single game on the other side of the
+	 * page, to check if there are following and preceding games.
+	 *
+	 * @param after  The id the games on the page have to follow or null.
+	 * @param before The id the games on the page have to precede or null.
+	 * @param size   The maximum amount of games on the page.
+	 * @return A {@link BowlingGamePage} containing the listed {@link BowlingGame Games}.
+	 */
+	public BowlingGamePage listGames(Integer after, Integer before, int size) {
+		if (before != null) {
+			List<BowlingGame> games = new ArrayList<>(this.gameStore.findBefore(before, size + 1));
+			boolean previous = games.size() > size;
+			if (previous) {
+				games.remove(0);
+			}
+			int lastId = games.isEmpty() ? before - 1 : games.get(games.size() - 1).getId();
+			return new BowlingGamePage(games, previous, !this.gameStore.findAfter(lastId, 1).isEmpty());
+		}
+		List<BowlingGame> games = new ArrayList<>(this.gameStore.findAfter(after != null ? after : 0, size + 1));
+		boolean next = games.size() > size;
+		if (next) {
+			games.remove(games.size() - 1);
+		}
+		if (after == null) {
+			return new BowlingGamePage(games, false, next);
+		}
+		int firstId = games.isEmpty() ? after + 1 : games.get(0).getId();
+		return new BowlingGamePage(games, !this.gameStore.findBefore(firstId, 1).isEmpty(), next);
+	}
+
+	/**
+	 * Pass all {@link BowlingGame Games} one by one to a consumer. The games are
+	 * streamed from the store and detached after they were consumed, so that the
+	 * memory does not grow with the amount of games.
 	 *
-	 * @return A {@link List} containing all {@link BowlingGame Games}.
+	 * @param consumer The {@link Consumer} of each {@link BowlingGame}.
 	 */
-	public List<BowlingGame> listGames() {
-		return this.gameRepository.findAll();
+	@Transactional(readOnly = true)
+	public void streamGames(Consumer<BowlingGame> consumer) {
+		try (Stream<BowlingGame> games = this.gameStore.streamAll()) {
+			games.forEach(game -> {
+				consumer.accept(game);
+				if (this.entityManager.contains(game)) {
+					this.entityManager.detach(game);
+				}
+			});
+		}
 	}
 
 	/**
@@ -38,27 +114,41 @@ public class BowlingGameCrudService {
 	 * @return The created {@link BowlingGame} with an id from the database.
 	 */
 	public BowlingGame createGame(BowlingGame game) {
-		return this.gameRepository.save(game);
+		return this.gameStore.save(game);
 	}
 
 	/**
-	 * Read a {@link BowlingGame} by its id.
+	 * Read a {@link BowlingGame} by its id. Reading is done within a transaction,
+	 * so that games which are migrated while loading are written back.
 	 *
 	 * @param id The id of the specified {@link BowlingGame}.
 	 * @return An {@link Optional} of the {@link BowlingGame}. It contains the {@link BowlingGame} if it was found. It is null if the game was not found.
 	 */
+	@Transactional
 	public Optional<BowlingGame> readGame(int id) {
-		return this.gameRepository.findById(id);
+		return this.gameStore.findById(id);
 	}
 
 	/**
-	 * Update a {@link BowlingGame}.
+	 * Update a {@link BowlingGame}. The cached score of the game is removed and a
+	 * {@link GameScoreChangedEvent} is published after the update was written, while
+	 * the lock of the game is held.
 	 *
 	 * @param game The updated data of the {@link BowlingGame}.
 	 * @return The updated {@link BowlingGame}.
 	 */
 	public BowlingGame updateGame(BowlingGame game) {
-		return this.gameRepository.save(game);
+		Lock lock = this.gameLocks.lockFor(game.getId());
+		lock.lock();
+		try {
+			BowlingGame updated = this.gameStore.save(game);
+			this.scoreCache.invalidate(game.getId());
+			this.eventPublisher.publishEvent(new GameScoreChangedEvent(updated.getId(), updated.getRulesetId(),
+					updated.getCurrentRoll(), updated.getCurrentScore()));
+			return updated;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -67,15 +157,25 @@ public class BowlingGameCrudService {
 	 * @param game The {@link BowlingGame} to be deleted.
 	 */
 	public void deleteGame(BowlingGame game) {
-		this.gameRepository.delete(game);
+		this.deleteGameById(game.getId());
 	}
 
 	/**
-	 * Delete a {@link BowlingGame} specifying its id.
+	 * Delete a {@link BowlingGame} specifying its id. The cached score and the
+	 * leaderboard entries of the game are removed after the game was deleted, while
+	 * the lock of the game is held.
 	 *
 	 * @param id The id of the to be deleted {@link BowlingGame}.
 	 */
 	public void deleteGameById(int id) {
-		this.gameRepository.deleteById(id);
+		Lock lock = this.gameLocks.lockFor(id);
+		lock.lock();
+		try {
+			this.gameStore.deleteById(id);
+			this.scoreCache.invalidate(id);
+			this.leaderboard.remove(id);
+		} finally {
+			lock.unlock();
+		}
 	}
 }
@@ -0,0 +1,102 @@
+package eu.nerdfactor.bowling.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks for {@link eu.nerdfactor.bowling.entity.BowlingGame Games}. Each
+ * game id is mapped onto one of a fixed amount of locks, so that changes of the
+ * same game are serialized while changes of different games can run in parallel.
+ */
+public class BowlingGameLocks {
+
+	/**
+	 * The maximum amount of locks.
+	 */
+	private static final int MAX_STRIPES = 1 << 16;
+
+	/**
+	 * The locks. Their amount is a power of two, so that the lock of a game can
+	 * be selected with a mask.
+	 */
+	private final Lock[] stripes;
+
+	/**
+	 * Create striped locks.
+	 *
+	 * @param amountOfStripes The minimum amount of locks. Will be rounded up to a power of two.
+	 */
+	public BowlingGameLocks(int amountOfStripes) {
+		int size = 1;
+		while (size < amountOfStripes && size < MAX_STRIPES) {
+			size <<= 1;
+		}
+		this.stripes = new Lock[size];
+		for (int stripe = 0; stripe < this.stripes.length; stripe++) {
+			this.stripes[stripe] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Get the lock of a game.
+	 *
+	 * @param id The id of the game.
+	 * @return The {@link Lock} that is used for the game.
+	 */
+	public Lock lockFor(int id) {
+		return this.stripes[this.stripeOf(id)];
+	}
+
+	/**
+	 * Acquire the locks of multiple games. The locks are always acquired in the
+	 * same order, so that concurrent calls for overlapping games can't deadlock.
+	 *
+	 * @param ids The ids of the games.
+	 * @return The acquired {@link Lock Locks}, that have to be released with {@link #unlockAll(List)}.
+	 */
+	public List<Lock> lockAll(Collection<Integer> ids) {
+		boolean[] selected = new boolean[this.stripes.length];
+		for (int id : ids) {
+			selected[this.stripeOf(id)] = true;
+		}
+		List<Lock> locks = new ArrayList<>();
+		try {
+			for (int stripe = 0; stripe < selected.length; stripe++) {
+				if (selected[stripe]) {
+					this.stripes[stripe].lock();
+					locks.add(this.stripes[stripe]);
+				}
+			}
+		} catch (RuntimeException e) {
+			this.unlockAll(locks);
+			throw e;
+		}
+		return locks;
+	}
+
+	/**
+	 * Release locks that were acquired with {@link #lockAll(Collection)}.
+	 *
+	 * @param locks The acquired {@link Lock Locks}.
+	 */
+	public void unlockAll(List<Lock> locks) {
+		for (int lock = locks.size() - 1; lock >= 0; lock--) {
+			locks.get(lock).unlock();
+		}
+	}
+
+	/**
+	 * Select the stripe of a game. The bits of the id are spread, so that
+	 * consecutive ids don't only use the lower stripes.
+	 *
+	 * @param id The id of the game.
+	 * @return The index of the stripe.
+	 */
+	private int stripeOf(int id) {
+		int hash = id * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & (this.stripes.length - 1);
+	}
+}
@@ -0,0 +1,67 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of {@link BowlingGame Games} ordered by their id. Pages are not
+ * counted by an offset, but start directly after or before the id of a game.
+ */
+@RequiredArgsConstructor
+public class BowlingGamePage {
+
+	/**
+	 * The {@link BowlingGame Games} on this page ordered by their id.
+	 */
+	@Getter
+	private final List<BowlingGame> games;
+
+	/**
+	 * True if there are games preceding the first game of this page.
+	 */
+	private final boolean previous;
+
+	/**
+	 * True if there are games following the last game of this page.
+	 */
+	private final boolean next;
+
+	/**
+	 * Check if there is a page preceding this page.
+	 *
+	 * @return True if there are preceding games.
+	 */
+	public boolean hasPrevious() {
+		return this.previous;
+	}
+
+	/**
+	 * Check if there is a page following this page.
+	 *
+	 * @return True if there are following games.
+	 */
+	public boolean hasNext() {
+		return this.next;
+	}
+
+	/**
+	 * The id of the first game on this page.
+	 *
+	 * @return The id of the first game or 0 if the page is empty.
+	 */
+	public int firstId() {
+		return this.games.isEmpty() ? 0 : this.games.get(0).getId();
+	}
+
+	/**
+	 * The id of the last game on this page.
+	 *
+	 * @return The id of the last game or 0 if the page is empty.
+	 */
+	public int lastId() {
+		return this.games.isEmpty() ? 0 : this.games.get(this.games.size() - 1).getId();
+	}
+}
@@ -0,0 +1,58 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the score of a {@link BowlingGame}. It can be shared
+ * between requests while the game itself keeps changing.
+ */
+@Getter
+public class BowlingGameScore {
+
+	/**
+	 * The id of the {@link BowlingGame}.
+	 */
+	private final int id;
+
+	/**
+	 * The id of the ruleset of the {@link BowlingGame}.
+	 */
+	private final String rulesetId;
+
+	/**
+	 * The roll the {@link BowlingGame} was on.
+	 */
+	private final int currentRoll;
+
+	/**
+	 * The score of the {@link BowlingGame}.
+	 */
+	private final int currentScore;
+
+	/**
+	 * The knocked over pins of the played rolls. Never changed after the snapshot was taken.
+	 */
+	private final int[] knockedOverPinsPerRoll;
+
+	private BowlingGameScore(int id, String rulesetId, int currentRoll, int currentScore, int[] knockedOverPinsPerRoll) {
+		this.id = id;
+		this.rulesetId = rulesetId;
+		this.currentRoll = currentRoll;
+		this.currentScore = currentScore;
+		this.knockedOverPinsPerRoll = knockedOverPinsPerRoll;
+	}
+
+	/**
+	 * Take a snapshot of the current score of a game.
+	 *
+	 * @param game The {@link BowlingGame} with an up to date score.
+	 * @return A new {@link BowlingGameScore}.
+	 */
+	public static BowlingGameScore of(BowlingGame game) {
+		return new BowlingGameScore(game.getId(), game.getRulesetId(), game.getCurrentRoll(), game.getCurrentScore(),
+				Arrays.copyOf(game.getKnockedOverPins(), game.amountOfPlayedRolls()));
+	}
+}
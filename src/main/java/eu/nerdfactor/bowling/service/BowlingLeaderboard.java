@@ -0,0 +1,345 @@
+package eu.nerdfactor.bowling.service;
+
+import org.springframework.context.event.EventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ranks the scores of games of each ruleset for the current day and for all time.
+ * Every ranking is an ordered skip list, that is updated with each
+ * {@link RollAddedEvent}. Reading the top games only walks the first entries of a
+ * ranking, instead of loading and sorting all games. A ranking keeps a limited
+ * amount of entries and drops the lowest ones. The score of a game only grows while
+ * it is played, so a dropped game returns with its next higher score.
+ * <p>
+ * Scores that change without a roll, because a game was recounted, rescored or
+ * updated, are applied with a {@link GameScoreChangedEvent} and may also lower the
+ * score of a game. Such a change only adds a game to the rankings of the current
+ * day if it was already ranked today.
+ * <p>
+ * The events of a game are published while its lock is held, so the entries of
+ * the same game are never updated concurrently. The rankings are kept in memory.
+ * The all time rankings are filled once with the stored scores on startup by the
+ * {@link BowlingLeaderboardLoader}, the rankings of the current day only contain
+ * the games that were played or changed since.
+ */
+public class BowlingLeaderboard {
+
+	/**
+	 * The maximum amount of entries in each ranking.
+	 */
+	private final int capacity;
+
+	/**
+	 * The clock that decides the current day and the time a score was reached.
+	 */
+	private final Clock clock;
+
+	/**
+	 * The all time rankings by the id of their ruleset.
+	 */
+	private final Map<String, Ranking> allTimeRankings = new ConcurrentHashMap<>();
+
+	/**
+	 * The rankings of the current day. They are replaced by empty rankings with
+	 * the first roll or read on the next day.
+	 */
+	private final AtomicReference<DailyRankings> dailyRankings;
+
+	/**
+	 * Create an empty leaderboard.
+	 *
+	 * @param capacity The maximum amount of entries in each ranking.
+	 * @param clock    The clock that decides the current day in its zone.
+	 */
+	public BowlingLeaderboard(int capacity, Clock clock) {
+		this.capacity = capacity;
+		this.clock = clock;
+		this.dailyRankings = new AtomicReference<>(new DailyRankings(LocalDate.now(clock)));
+	}
+
+	/**
+	 * Rank the score of a game after a roll was added to it.
+	 *
+	 * @param event The {@link RollAddedEvent} of the roll.
+	 */
+	@EventListener
+	public void onRollAdded(RollAddedEvent event) {
+		LeaderboardEntry entry = new LeaderboardEntry(event.getGameId(), event.getRulesetId(),
+				event.getCurrentScore(), event.getRoll(), this.clock.instant());
+		this.rankingOf(this.allTimeRankings, event.getRulesetId()).update(entry);
+		this.rankingOf(this.currentDay().rankings, event.getRulesetId()).update(entry);
+	}
+
+	/**
+	 * Rank the new score of a game after it changed without a roll. The entry of
+	 * the game is replaced, even if the score is lower, and removed from the
+	 * rankings of other rulesets, in case the ruleset of the game changed.
+	 *
+	 * @param event The {@link GameScoreChangedEvent} of the game.
+	 */
+	@EventListener
+	public void onScoreChanged(GameScoreChangedEvent event) {
+		LeaderboardEntry entry = new LeaderboardEntry(event.getGameId(), event.getRulesetId(),
+				event.getCurrentScore(), event.getCurrentRoll(), this.clock.instant());
+		this.replace(this.allTimeRankings, entry, true);
+		this.replace(this.currentDay().rankings, entry, false);
+	}
+
+	/**
+	 * Rank the stored score of a game in the all time rankings, unless the game is
+	 * already ranked. Stored games are ranked as if they reached their score when
+	 * they were loaded, because the time they reached it is not stored.
+	 *
+	 * @param gameId      The id of the game.
+	 * @param rulesetId   The id of the {@link BowlingRuleset} of the game.
+	 * @param score       The stored score of the game.
+	 * @param currentRoll The roll the game is on.
+	 */
+	public void load(int gameId, String rulesetId, int score, int currentRoll) {
+		Ranking ranking = this.rankingOf(this.allTimeRankings, rulesetId);
+		if (!ranking.contains(gameId)) {
+			ranking.update(new LeaderboardEntry(gameId, rulesetId, score, currentRoll, this.clock.instant()));
+		}
+	}
+
+	/**
+	 * Get the games with the highest scores of a ruleset. Games with the same
+	 * score are ranked by the time they reached it.
+	 *
+	 * @param window    The {@link LeaderboardWindow} the games were played in.
+	 * @param rulesetId The id of the {@link BowlingRuleset} of the games.
+	 * @param limit     The maximum amount of games.
+	 * @return The {@link LeaderboardEntry entries} of the games, the highest score first.
+	 */
+	public List<LeaderboardEntry> top(LeaderboardWindow window, String rulesetId, int limit) {
+		Map<String, Ranking> rankings = window == LeaderboardWindow.TODAY ? this.currentDay().rankings : this.allTimeRankings;
+		Ranking ranking = rankings.get(rulesetId);
+		return ranking != null ? ranking.top(limit) : List.of();
+	}
+
+	/**
+	 * Remove a game from all rankings, because it was deleted.
+	 *
+	 * @param gameId The id of the game.
+	 */
+	public void remove(int gameId) {
+		this.allTimeRankings.values().forEach(ranking -> ranking.remove(gameId));
+		this.dailyRankings.get().rankings.values().forEach(ranking -> ranking.remove(gameId));
+	}
+
+	/**
+	 * The maximum amount of entries that can be read from a ranking.
+	 *
+	 * @return The maximum amount of entries in each ranking.
+	 */
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Replace the entry of a game in one set of rankings. The game is removed from
+	 * the rankings of all other rulesets.
+	 *
+	 * @param rankings    The rankings by the id of their ruleset.
+	 * @param entry       The new {@link LeaderboardEntry} of the game.
+	 * @param addUnranked True if the game is added even if it was not ranked before.
+	 */
+	private void replace(Map<String, Ranking> rankings, LeaderboardEntry entry, boolean addUnranked) {
+		boolean ranked = false;
+		for (Map.Entry<String, Ranking> ranking : rankings.entrySet()) {
+			if (!ranking.getValue().contains(entry.getGameId())) {
+				continue;
+			}
+			ranked = true;
+			if (!ranking.getKey().equals(entry.getRulesetId())) {
+				ranking.getValue().remove(entry.getGameId());
+			}
+		}
+		if (ranked || addUnranked) {
+			this.rankingOf(rankings, entry.getRulesetId()).update(entry);
+		}
+	}
+
+	private Ranking rankingOf(Map<String, Ranking> rankings, String rulesetId) {
+		return rankings.computeIfAbsent(rulesetId, id -> new Ranking(this.capacity));
+	}
+
+	/**
+	 * Get the rankings of the current day. The rankings of a previous day are
+	 * replaced once, even if the day changes while many games are played.
+	 *
+	 * @return The {@link DailyRankings} of the current day.
+	 */
+	private DailyRankings currentDay() {
+		LocalDate day = LocalDate.now(this.clock);
+		DailyRankings current = this.dailyRankings.get();
+		while (day.isAfter(current.day)) {
+			DailyRankings next = new DailyRankings(day);
+			if (this.dailyRankings.compareAndSet(current, next)) {
+				return next;
+			}
+			current = this.dailyRankings.get();
+		}
+		return current;
+	}
+
+	/**
+	 * The rankings of all rulesets of a single day.
+	 */
+	private static final class DailyRankings {
+
+		private final LocalDate day;
+
+		private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
+
+		DailyRankings(LocalDate day) {
+			this.day = day;
+		}
+	}
+
+	/**
+	 * The entries of the highest scores, ordered by score and the time it was reached.
+	 * While the entry of a game is replaced, readers may see its old entry, which is
+	 * skipped because it is not the current entry of the game anymore.
+	 */
+	private static final class Ranking {
+
+		private final int capacity;
+
+		/**
+		 * The ranked entries, the highest score first.
+		 */
+		private final ConcurrentSkipListSet<LeaderboardEntry> entries = new ConcurrentSkipListSet<>(Ranking::compare);
+
+		/**
+		 * The current entry of each ranked game.
+		 */
+		private final Map<Integer, LeaderboardEntry> entriesByGame = new ConcurrentHashMap<>();
+
+		/**
+		 * The amount of ranked entries, because the size of the skip list is
+		 * counted by walking all of its entries.
+		 */
+		private final AtomicInteger size = new AtomicInteger();
+
+		Ranking(int capacity) {
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Replace the entry of a game with a higher or lower score. Entries with the
+		 * same score as the current entry are ignored, so that the game keeps the
+		 * time it reached the score. Entries of unranked games that would be dropped
+		 * right away are not added at all.
+		 *
+		 * @param entry The new {@link LeaderboardEntry} of the game.
+		 */
+		void update(LeaderboardEntry entry) {
+			LeaderboardEntry previous = this.entriesByGame.get(entry.getGameId());
+			if (previous != null && previous.getScore() == entry.getScore()) {
+				return;
+			}
+			if (previous == null && this.size.get() >= this.capacity && compare(entry, this.lowest()) > 0) {
+				return;
+			}
+			this.entriesByGame.put(entry.getGameId(), entry);
+			this.entries.add(entry);
+			if (previous == null || !this.entries.remove(previous)) {
+				this.size.incrementAndGet();
+			}
+			this.dropLowest();
+		}
+
+		/**
+		 * Check if a game is ranked.
+		 *
+		 * @param gameId The id of the game.
+		 * @return True if the ranking contains an entry of the game.
+		 */
+		boolean contains(int gameId) {
+			return this.entriesByGame.containsKey(gameId);
+		}
+
+		/**
+		 * Remove the entry of a game.
+		 *
+		 * @param gameId The id of the game.
+		 */
+		void remove(int gameId) {
+			LeaderboardEntry previous = this.entriesByGame.remove(gameId);
+			if (previous != null && this.entries.remove(previous)) {
+				this.size.decrementAndGet();
+			}
+		}
+
+		/**
+		 * Get the first current entries.
+		 *
+		 * @param limit The maximum amount of entries.
+		 * @return The entries, the highest score first.
+		 */
+		List<LeaderboardEntry> top(int limit) {
+			List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, this.capacity));
+			Iterator<LeaderboardEntry> iterator = this.entries.iterator();
+			while (top.size() < limit && iterator.hasNext()) {
+				LeaderboardEntry entry = iterator.next();
+				if (this.entriesByGame.get(entry.getGameId()) == entry) {
+					top.add(entry);
+				}
+			}
+			return top;
+		}
+
+		/**
+		 * Drop the lowest entries until the ranking is within its capacity. Each
+		 * dropped entry is claimed from the size first, so that concurrent updates
+		 * don't drop more entries than necessary.
+		 */
+		private void dropLowest() {
+			int current;
+			while ((current = this.size.get()) > this.capacity) {
+				if (!this.size.compareAndSet(current, current - 1)) {
+					continue;
+				}
+				LeaderboardEntry lowest = this.entries.pollLast();
+				if (lowest == null) {
+					this.size.incrementAndGet();
+					return;
+				}
+				this.entriesByGame.remove(lowest.getGameId(), lowest);
+			}
+		}
+
+		private LeaderboardEntry lowest() {
+			Iterator<LeaderboardEntry> iterator = this.entries.descendingIterator();
+			return iterator.hasNext() ? iterator.next() : null;
+		}
+
+		/**
+		 * Order entries by their score, the highest first, and the time they
+		 * reached it, the earliest first. The id of the game keeps entries of
+		 * different games with the same score and time apart.
+		 */
+		private static int compare(LeaderboardEntry first, LeaderboardEntry second) {
+			if (second == null) {
+				return -1;
+			}
+			int byScore = Integer.compare(second.getScore(), first.getScore());
+			if (byScore != 0) {
+				return byScore;
+			}
+			int byTime = first.getReachedAt().compareTo(second.getReachedAt());
+			return byTime != 0 ? byTime : Integer.compare(first.getGameId(), second.getGameId());
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.repo.BowlingGameScoreJdbcRepository;
+import eu.nerdfactor.bowling.repo.BowlingGameScoreRow;
+import eu.nerdfactor.bowling.repo.BowlingGameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.List;
+
+/**
+ * Fills the all time rankings of the {@link BowlingLeaderboard} with the stored
+ * scores on startup, so that the games played before the last restart are still
+ * ranked. The scores are read in chunks ordered by the ids of the games, after all
+ * singletons were created and before the web server accepts the first roll.
+ */
+@Slf4j
+public class BowlingLeaderboardLoader implements SmartInitializingSingleton {
+
+	private final BowlingLeaderboard leaderboard;
+
+	private final BowlingGameScoreJdbcRepository scoreRepository;
+
+	private final BowlingGameStore gameStore;
+
+	private final int chunkSize;
+
+	/**
+	 * Create a loader of the stored scores.
+	 *
+	 * @param leaderboard     The leaderboard the scores are ranked in.
+	 * @param scoreRepository The repository that reads the scores of games.
+	 * @param gameStore       The store whose recovered games are flushed before the scores are read.
+	 * @param chunkSize       The amount of scores that are read at once.
+	 */
+	public BowlingLeaderboardLoader(BowlingLeaderboard leaderboard, BowlingGameScoreJdbcRepository scoreRepository,
+	                                BowlingGameStore gameStore, int chunkSize) {
+		this.leaderboard = leaderboard;
+		this.scoreRepository = scoreRepository;
+		this.gameStore = gameStore;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Rank the stored score of every game, one chunk after another.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		long start = System.nanoTime();
+		this.gameStore.flush();
+		int lastId = 0;
+		int loaded = 0;
+		List<BowlingGameScoreRow> rows = this.scoreRepository.findScoresAfter(lastId, this.chunkSize);
+		while (!rows.isEmpty()) {
+			for (BowlingGameScoreRow row : rows) {
+				this.leaderboard.load(row.getId(), row.getRulesetId(), row.getCurrentScore(), row.getCurrentRoll());
+			}
+			loaded += rows.size();
+			lastId = rows.get(rows.size() - 1).getId();
+			rows = this.scoreRepository.findScoresAfter(lastId, this.chunkSize);
+		}
+		log.info("Loaded the scores of {} games into the leaderboard in {} ms.", loaded, (System.nanoTime() - start) / 1_000_000);
+	}
+}
@@ -0,0 +1,183 @@
+package eu.nerdfactor.bowling.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The meters of the roll and score paths. All meters are registered once, so that
+ * recording only takes a clock read and an update of the meter, without looking
+ * up meters by name and tags.
+ */
+public class BowlingMetrics {
+
+	/**
+	 * The time it takes to add a single roll, including rejected rolls.
+	 */
+	private final Timer rollTimer;
+
+	/**
+	 * The time it takes to add a batch of rolls.
+	 */
+	private final Timer rollBatchTimer;
+
+	/**
+	 * The time it takes to get the current score of a game.
+	 */
+	private final Timer scoreTimer;
+
+	/**
+	 * The time it takes to count the running score of a game again.
+	 */
+	private final Timer recountTimer;
+
+	/**
+	 * The amount of added rolls, single and in batches.
+	 */
+	private final Counter addedRolls;
+
+	/**
+	 * The amount of rejected rolls by the reason they were rejected.
+	 */
+	private final Map<RollBatchResult.Error, Counter> rejectedRolls = new EnumMap<>(RollBatchResult.Error.class);
+
+	/**
+	 * The games that received a roll within the window and are not finished.
+	 */
+	private final Cache<Integer, Boolean> gamesInProgress;
+
+	/**
+	 * Register the meters.
+	 *
+	 * @param registry         The {@link MeterRegistry} the meters are registered in.
+	 * @param inProgressWindow The time after its last roll a game that is not finished counts as in progress.
+	 */
+	public BowlingMetrics(MeterRegistry registry, Duration inProgressWindow) {
+		this.rollTimer = Timer.builder("bowling.rolls")
+				.description("The time it takes to add a single roll")
+				.publishPercentileHistogram()
+				.register(registry);
+		this.rollBatchTimer = Timer.builder("bowling.roll.batches")
+				.description("The time it takes to add a batch of rolls")
+				.publishPercentileHistogram()
+				.register(registry);
+		this.scoreTimer = Timer.builder("bowling.scores")
+				.description("The time it takes to get the current score of a game")
+				.publishPercentileHistogram()
+				.register(registry);
+		this.recountTimer = Timer.builder("bowling.scoring.recounts")
+				.description("The time it takes to count the running score of a game again")
+				.register(registry);
+		this.addedRolls = Counter.builder("bowling.rolls.added")
+				.description("The amount of added rolls")
+				.register(registry);
+		for (RollBatchResult.Error error : RollBatchResult.Error.values()) {
+			this.rejectedRolls.put(error, Counter.builder("bowling.rolls.rejected")
+					.description("The amount of rejected rolls")
+					.tag("exception", exceptionOf(error))
+					.register(registry));
+		}
+		this.gamesInProgress = Caffeine.newBuilder()
+				.expireAfterWrite(inProgressWindow)
+				.build();
+		// expired games are only removed while the cache is used, so they are removed
+		// before the games are counted, in case no rolls were added since.
+		Gauge.builder("bowling.games.in.progress", this.gamesInProgress, games -> {
+					games.cleanUp();
+					return games.estimatedSize();
+				})
+				.description("The amount of games that are not finished and received a roll recently")
+				.register(registry);
+	}
+
+	/**
+	 * Record the time since a single roll was started.
+	 *
+	 * @param startNanos The {@link System#nanoTime()} the roll was started.
+	 */
+	public void recordRoll(long startNanos) {
+		this.rollTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Record the time since a batch of rolls was started.
+	 *
+	 * @param startNanos The {@link System#nanoTime()} the batch was started.
+	 */
+	public void recordRollBatch(long startNanos) {
+		this.rollBatchTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Record the time since getting a score was started.
+	 *
+	 * @param startNanos The {@link System#nanoTime()} getting the score was started.
+	 */
+	public void recordScore(long startNanos) {
+		this.scoreTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Record the time since counting a running score again was started.
+	 *
+	 * @param startNanos The {@link System#nanoTime()} counting was started.
+	 */
+	public void recordRecount(long startNanos) {
+		this.recountTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Count added rolls.
+	 *
+	 * @param amountOfRolls The amount of added rolls.
+	 */
+	public void rollsAdded(int amountOfRolls) {
+		this.addedRolls.increment(amountOfRolls);
+	}
+
+	/**
+	 * Track if a game that received rolls is still in progress.
+	 *
+	 * @param game    The {@link BowlingGame} after the rolls were added.
+	 * @param ruleset The {@link BowlingRuleset} to check if the game is finished.
+	 */
+	public void gamePlayed(BowlingGame game, BowlingRuleset ruleset) {
+		if (game.isFinished(ruleset)) {
+			this.gamesInProgress.invalidate(game.getId());
+		} else {
+			this.gamesInProgress.put(game.getId(), Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Count a rejected roll.
+	 *
+	 * @param reason The reason the roll was rejected.
+	 */
+	public void rollRejected(RollBatchResult.Error reason) {
+		this.rejectedRolls.get(reason).increment();
+	}
+
+	/**
+	 * Get the name of the exception a single roll is rejected with.
+	 *
+	 * @param error The reason the roll was rejected.
+	 * @return The simple name of the exception.
+	 */
+	private static String exceptionOf(RollBatchResult.Error error) {
+		return switch (error) {
+			case GAME_NOT_FOUND -> "EntityNotFoundException";
+			case WRONG_AMOUNT_OF_PINS -> "WrongAmountOfPinsException";
+			case MAX_AMOUNT_OF_ROLLS_EXCEEDED -> "MaxAmountOfRollsExceededException";
+		};
+	}
+}
@@ -0,0 +1,298 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+import eu.nerdfactor.bowling.exceptions.RescoringAlreadyRunningException;
+import eu.nerdfactor.bowling.repo.BowlingGameScoreJdbcRepository;
+import eu.nerdfactor.bowling.repo.BowlingGameScoreRow;
+import eu.nerdfactor.bowling.repo.BowlingGameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Counts the score of all stored games again, for example after a scoring bug was
+ * fixed. Games are read in chunks ordered by their id, counted in parallel on a
+ * {@link ForkJoinPool} with the stateless {@link ScoringStrategy} of their ruleset and only games
+ * with a changed score are written back with a JDBC batch. Only one run can be
+ * active at once, its {@link RescoringProgress} is updated after every chunk.
+ * <p>
+ * Changed games are written while their locks are held and only if no roll was
+ * added since they were read, so that concurrent rolls are never overwritten.
+ * A {@link GameScoreChangedEvent} is published for every written game. Games
+ * that the {@link BowlingGameStore} keeps in memory are flushed before the run and
+ * counted again by the store once their scores are written.
+ */
+@Slf4j
+public class BowlingRescoringService implements DisposableBean {
+
+	/**
+	 * The amount of games below which a part of a chunk is counted without
+	 * splitting it any further.
+	 */
+	private static final int SPLIT_THRESHOLD = 1024;
+
+	/**
+	 * Resolves the {@link BowlingRules} used for scoring each game.
+	 */
+	private final BowlingRulesetRegistry rulesetRegistry;
+
+	/**
+	 * The repository that reads and writes the scores of games with JDBC.
+	 */
+	private final BowlingGameScoreJdbcRepository scoreRepository;
+
+	/**
+	 * The store whose games in memory are flushed before a run and counted again
+	 * after their scores were written.
+	 */
+	private final BowlingGameStore gameStore;
+
+	/**
+	 * The locks that serialize changes of the same game.
+	 */
+	private final BowlingGameLocks gameLocks;
+
+	/**
+	 * The cached scores that are removed for written games.
+	 */
+	private final BowlingScoreCache scoreCache;
+
+	/**
+	 * Publishes the new scores of the written games.
+	 */
+	private final ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Writes the changed games of a chunk in one transaction.
+	 */
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * The amount of games that are read at once.
+	 */
+	private final int chunkSize;
+
+	/**
+	 * The pool that counts the games of a chunk in parallel.
+	 */
+	private final ForkJoinPool scoringPool;
+
+	/**
+	 * The thread that reads and writes the chunks of a run.
+	 */
+	private final ExecutorService runner = Executors.newSingleThreadExecutor(
+			Thread.ofPlatform().name("bowling-rescoring").daemon().factory());
+
+	/**
+	 * The progress of the current or last run, or null if there was no run yet.
+	 */
+	private final AtomicReference<RescoringProgress> progress = new AtomicReference<>();
+
+	/**
+	 * Create a rescoring service.
+	 *
+	 * @param rulesetRegistry     The registry of the rules used for scoring.
+	 * @param scoreRepository     The repository that reads and writes the scores of games.
+	 * @param gameStore           The store whose active games are flushed before a run.
+	 * @param gameLocks           The locks that serialize changes of the same game.
+	 * @param scoreCache          The cache for the scores of games.
+	 * @param eventPublisher      The publisher of the new scores of written games.
+	 * @param transactionTemplate Writes the changed games of a chunk in one transaction.
+	 * @param chunkSize           The amount of games that are read at once.
+	 * @param parallelism         The amount of threads that count games in parallel.
+	 */
+	public BowlingRescoringService(BowlingRulesetRegistry rulesetRegistry, BowlingGameScoreJdbcRepository scoreRepository,
+	                               BowlingGameStore gameStore, BowlingGameLocks gameLocks, BowlingScoreCache scoreCache,
+	                               ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+	                               int chunkSize, int parallelism) {
+		this.rulesetRegistry = rulesetRegistry;
+		this.scoreRepository = scoreRepository;
+		this.gameStore = gameStore;
+		this.gameLocks = gameLocks;
+		this.scoreCache = scoreCache;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = transactionTemplate;
+		this.chunkSize = chunkSize;
+		this.scoringPool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Start a run that counts the score of all games following an id. A run that
+	 * was stopped or failed is resumed by starting from its last processed id.
+	 *
+	 * @param fromId The id the games have to follow, 0 for all games.
+	 * @return The {@link RescoringProgress} of the started run.
+	 * @throws RescoringAlreadyRunningException If another run is still active.
+	 */
+	public RescoringProgress start(int fromId) throws RescoringAlreadyRunningException {
+		RescoringProgress current = this.progress.get();
+		RescoringProgress started = RescoringProgress.started(fromId);
+		if ((current != null && current.isRunning()) || !this.progress.compareAndSet(current, started)) {
+			throw new RescoringAlreadyRunningException();
+		}
+		this.runner.execute(() -> this.run(fromId));
+		return started;
+	}
+
+	/**
+	 * Get the progress of the current or last run.
+	 *
+	 * @return The {@link RescoringProgress} or null if there was no run yet.
+	 */
+	public RescoringProgress progress() {
+		return this.progress.get();
+	}
+
+	/**
+	 * Read, count and write all chunks of games following an id.
+	 *
+	 * @param fromId The id the games have to follow.
+	 */
+	private void run(int fromId) {
+		try {
+			this.gameStore.flush();
+			int lastId = fromId;
+			while (!Thread.currentThread().isInterrupted()) {
+				List<BowlingGameScoreRow> rows = this.scoreRepository.findScoresAfter(lastId, this.chunkSize);
+				if (rows.isEmpty()) {
+					this.progress.updateAndGet(progress -> progress.endedWith(RescoringProgress.Status.COMPLETED));
+					log.info("Rescoring after id {} completed.", fromId);
+					return;
+				}
+				List<BowlingGameScoreRow> changed = this.rescore(rows);
+				int written = changed.isEmpty() ? 0 : this.write(changed);
+				lastId = rows.get(rows.size() - 1).getId();
+				int lastProcessedId = lastId;
+				this.progress.updateAndGet(progress -> progress.withChunk(lastProcessedId, rows.size(), written, changed.size() - written));
+			}
+			this.progress.updateAndGet(progress -> progress.endedWith(RescoringProgress.Status.STOPPED));
+		} catch (RuntimeException e) {
+			log.error("Rescoring after id {} failed.", fromId, e);
+			this.progress.updateAndGet(progress -> progress.endedWith(RescoringProgress.Status.FAILED));
+		}
+	}
+
+	/**
+	 * Count the score of a chunk of games in parallel.
+	 *
+	 * @param rows The stored {@link BowlingGameScoreRow rows} of the games.
+	 * @return The rows of the games whose score changed, with their new score.
+	 */
+	private List<BowlingGameScoreRow> rescore(List<BowlingGameScoreRow> rows) {
+		BowlingGameScoreRow[] rescored = new BowlingGameScoreRow[rows.size()];
+		this.scoringPool.invoke(new RescoreAction(rows, rescored, 0, rows.size()));
+		List<BowlingGameScoreRow> changed = new ArrayList<>();
+		for (BowlingGameScoreRow row : rescored) {
+			if (row != null) {
+				changed.add(row);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Count the score of a single game from its first roll with the rules of its ruleset.
+	 *
+	 * @param row The stored {@link BowlingGameScoreRow row} of the game.
+	 * @return The row with the new score or null if the score did not change.
+	 */
+	private BowlingGameScoreRow rescore(BowlingGameScoreRow row) {
+		BowlingRules rules = this.rulesetRegistry.rulesOf(row.getRulesetId());
+		RunningScore runningScore = new RunningScore();
+		int score = rules.getScoringStrategy().countRolls(runningScore, row.getKnockedOverPins(), row.amountOfPlayedRolls(), rules.getRuleset());
+		runningScore.setScoredRolls(row.getCurrentRoll());
+		if (score == row.getCurrentScore() && isSameRunningScore(runningScore, row.getRunningScore())) {
+			return null;
+		}
+		return new BowlingGameScoreRow(row.getId(), row.getRulesetId(), row.getCurrentRoll(), row.getKnockedOverPins(), score, runningScore);
+	}
+
+	/**
+	 * Write the changed games of a chunk while their locks are held. Their versions
+	 * in memory are counted again, their cached scores are removed and their new
+	 * scores are published before the locks are released.
+	 *
+	 * @param changed The {@link BowlingGameScoreRow rows} with the new scores.
+	 * @return The amount of written games.
+	 */
+	private int write(List<BowlingGameScoreRow> changed) {
+		List<Integer> ids = changed.stream().map(BowlingGameScoreRow::getId).toList();
+		List<Lock> locks = this.gameLocks.lockAll(ids);
+		try {
+			List<BowlingGameScoreRow> written = this.transactionTemplate.execute(status -> this.scoreRepository.updateScores(changed));
+			if (written == null) {
+				ids.forEach(this.scoreCache::invalidate);
+				return 0;
+			}
+			this.gameStore.recountScores(written.stream().map(BowlingGameScoreRow::getId).toList());
+			ids.forEach(this.scoreCache::invalidate);
+			written.forEach(row -> this.eventPublisher.publishEvent(
+					new GameScoreChangedEvent(row.getId(), row.getRulesetId(), row.getCurrentRoll(), row.getCurrentScore())));
+			return written.size();
+		} finally {
+			this.gameLocks.unlockAll(locks);
+		}
+	}
+
+	private static boolean isSameRunningScore(RunningScore counted, RunningScore stored) {
+		return counted.getScoredRolls() == stored.getScoredRolls()
+				&& counted.getFrame() == stored.getFrame()
+				&& counted.getRollInFrame() == stored.getRollInFrame()
+				&& counted.getPinsInFrame() == stored.getPinsInFrame()
+				&& counted.getBonusOfNextRoll() == stored.getBonusOfNextRoll()
+				&& counted.getBonusOfSecondNextRoll() == stored.getBonusOfSecondNextRoll();
+	}
+
+	/**
+	 * Stop the current run and the threads of the service.
+	 */
+	@Override
+	public void destroy() {
+		this.runner.shutdownNow();
+		this.scoringPool.shutdownNow();
+	}
+
+	/**
+	 * Counts a part of a chunk, split in halves until the parts are small enough.
+	 */
+	private final class RescoreAction extends RecursiveAction {
+
+		private final List<BowlingGameScoreRow> rows;
+
+		private final BowlingGameScoreRow[] rescored;
+
+		private final int from;
+
+		private final int to;
+
+		RescoreAction(List<BowlingGameScoreRow> rows, BowlingGameScoreRow[] rescored, int from, int to) {
+			this.rows = rows;
+			this.rescored = rescored;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= SPLIT_THRESHOLD) {
+				for (int row = this.from; row < this.to; row++) {
+					this.rescored[row] = BowlingRescoringService.this.rescore(this.rows.get(row));
+				}
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new RescoreAction(this.rows, this.rescored, this.from, middle),
+					new RescoreAction(this.rows, this.rescored, middle, this.to));
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link BowlingRuleset} together with the {@link ScoringStrategy} that is
+ * specialised for it. The rules of a game are resolved once from the
+ * {@link BowlingRulesetRegistry} and used for all of its rolls.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class BowlingRules {
+
+	/**
+	 * The ruleset used for checks.
+	 */
+	private final BowlingRuleset ruleset;
+
+	/**
+	 * The strategy used for scoring games of the ruleset.
+	 */
+	private final ScoringStrategy scoringStrategy;
+}
@@ -5,6 +5,11 @@ package eu.nerdfactor.bowling.service;
  */
 public interface BowlingRuleset {
 
+	/**
+	 * The id the ruleset is referenced with by the games that are played with it.
+	 */
+	String id();
+
 	/**
 	 * The amount of maximum rolls in a bowling game.
 	 */
@@ -20,6 +25,11 @@ public interface BowlingRuleset {
 	 */
 	int amountOfFrames();
 
+	/**
+	 * The amount of rolls in a frame, unless all pins are knocked over before.
+	 */
+	int amountOfRollsPerFrame();
+
 	/**
 	 * The amount of pins a bowling game has.
 	 */
@@ -0,0 +1,139 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the {@link BowlingRules} of a game by the id of its {@link BowlingRuleset}.
+ * Each ruleset is registered with a {@link ScoringStrategy} that is specialised for it,
+ * so that the scoring of a game never has to ask its ruleset for the rules. Games
+ * without a ruleset id were stored before rulesets could be chosen and are played
+ * with the default rules.
+ */
+public class BowlingRulesetRegistry {
+
+	/**
+	 * The registered rules by the id of their ruleset.
+	 */
+	private final Map<String, BowlingRules> rules = new LinkedHashMap<>();
+
+	/**
+	 * The rules of games without a ruleset id.
+	 */
+	private final BowlingRules defaultRules;
+
+	/**
+	 * The maximum amount of rolls of all rulesets.
+	 */
+	private final int amountOfMaxRolls;
+
+	/**
+	 * The maximum score of all rulesets.
+	 */
+	private final int amountOfMaxScore;
+
+	/**
+	 * Create a registry of rules.
+	 *
+	 * @param rules            The {@link BowlingRules} of each ruleset.
+	 * @param defaultRulesetId The id of the ruleset of games without a ruleset id.
+	 * @throws IllegalArgumentException If a ruleset id is registered twice or the default ruleset is not registered.
+	 */
+	public BowlingRulesetRegistry(Collection<BowlingRules> rules, String defaultRulesetId) throws IllegalArgumentException {
+		int maxRolls = 0;
+		int maxScore = 0;
+		for (BowlingRules entry : rules) {
+			if (this.rules.putIfAbsent(entry.getRuleset().id(), entry) != null) {
+				throw new IllegalArgumentException("The ruleset " + entry.getRuleset().id() + " is registered twice.");
+			}
+			maxRolls = Math.max(maxRolls, entry.getRuleset().amountOfMaxRolls());
+			maxScore = Math.max(maxScore, entry.getRuleset().amountOfMaxScore());
+		}
+		this.defaultRules = this.rules.get(defaultRulesetId);
+		if (this.defaultRules == null) {
+			throw new IllegalArgumentException("The default ruleset " + defaultRulesetId + " is not registered.");
+		}
+		this.amountOfMaxRolls = maxRolls;
+		this.amountOfMaxScore = maxScore;
+	}
+
+	/**
+	 * Get the rules a game is played with.
+	 *
+	 * @param game The {@link BowlingGame}.
+	 * @return The {@link BowlingRules} of the ruleset of the game.
+	 * @throws IllegalArgumentException If the ruleset of the game is not registered.
+	 */
+	public BowlingRules rulesOf(BowlingGame game) throws IllegalArgumentException {
+		return this.rulesOf(game.getRulesetId());
+	}
+
+	/**
+	 * Get the rules of a ruleset.
+	 *
+	 * @param rulesetId The id of the ruleset or null for the default ruleset.
+	 * @return The {@link BowlingRules} of the ruleset.
+	 * @throws IllegalArgumentException If the ruleset is not registered.
+	 */
+	public BowlingRules rulesOf(String rulesetId) throws IllegalArgumentException {
+		if (rulesetId == null) {
+			return this.defaultRules;
+		}
+		BowlingRules found = this.rules.get(rulesetId);
+		if (found == null) {
+			throw new IllegalArgumentException("The ruleset " + rulesetId + " is not registered.");
+		}
+		return found;
+	}
+
+	/**
+	 * Check if a ruleset is registered.
+	 *
+	 * @param rulesetId The id of the ruleset.
+	 * @return True if games can be played with the ruleset.
+	 */
+	public boolean contains(String rulesetId) {
+		return rulesetId != null && this.rules.containsKey(rulesetId);
+	}
+
+	/**
+	 * The ids of all registered rulesets in the order they were registered.
+	 *
+	 * @return A read-only {@link Set} of the ids.
+	 */
+	public Set<String> rulesetIds() {
+		return Collections.unmodifiableSet(this.rules.keySet());
+	}
+
+	/**
+	 * The id of the ruleset of games without a ruleset id.
+	 *
+	 * @return The id of the default ruleset.
+	 */
+	public String defaultRulesetId() {
+		return this.defaultRules.getRuleset().id();
+	}
+
+	/**
+	 * The maximum amount of rolls a game of any ruleset can have.
+	 *
+	 * @return The maximum amount of rolls of all rulesets.
+	 */
+	public int amountOfMaxRolls() {
+		return this.amountOfMaxRolls;
+	}
+
+	/**
+	 * The maximum score a game of any ruleset can achieve.
+	 *
+	 * @return The maximum score of all rulesets.
+	 */
+	public int amountOfMaxScore() {
+		return this.amountOfMaxScore;
+	}
+}
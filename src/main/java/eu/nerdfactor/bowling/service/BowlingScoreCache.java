@@ -0,0 +1,85 @@
+package eu.nerdfactor.bowling.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of the {@link BowlingGameScore scores} of games. Entries are
+ * replaced with every roll and removed when a game is changed otherwise, while
+ * the lock of the game is held. Hits and misses are published as cache metrics.
+ */
+public class BowlingScoreCache implements MeterBinder {
+
+	/**
+	 * The name of the cache in the published metrics.
+	 */
+	private static final String CACHE_NAME = "bowling.scores";
+
+	/**
+	 * The cached scores by the id of their game.
+	 */
+	private final Cache<Integer, BowlingGameScore> scores;
+
+	/**
+	 * Create a cache of scores.
+	 *
+	 * @param maximumSize      The maximum amount of cached scores.
+	 * @param expireAfterWrite The time after which a score is removed.
+	 */
+	public BowlingScoreCache(long maximumSize, Duration expireAfterWrite) {
+		this.scores = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Get the cached score of a game.
+	 *
+	 * @param id The id of the game.
+	 * @return The cached {@link BowlingGameScore} or null if it is not cached.
+	 */
+	public BowlingGameScore get(int id) {
+		return this.scores.getIfPresent(id);
+	}
+
+	/**
+	 * Cache the score of a game. Has to be called while the lock of the game is
+	 * held, so that an older score can't replace a newer one.
+	 *
+	 * @param score The {@link BowlingGameScore} to cache.
+	 */
+	public void put(BowlingGameScore score) {
+		this.scores.put(score.getId(), score);
+	}
+
+	/**
+	 * Remove the cached score of a game.
+	 *
+	 * @param id The id of the game.
+	 */
+	public void invalidate(int id) {
+		this.scores.invalidate(id);
+	}
+
+	/**
+	 * Get the statistics of the cache, like the amount of hits and misses.
+	 *
+	 * @return The current {@link CacheStats}.
+	 */
+	public CacheStats stats() {
+		return this.scores.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.scores, CACHE_NAME);
+	}
+}
@@ -1,13 +1,24 @@
 package eu.nerdfactor.bowling.service;
 
 import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
 import eu.nerdfactor.bowling.exceptions.MaxAmountOfRollsExceededException;
 import eu.nerdfactor.bowling.exceptions.WrongAmountOfPinsException;
-import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import eu.nerdfactor.bowling.repo.BowlingGameStore;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Service for main bowling functionality.
@@ -18,23 +29,48 @@ import org.springframework.stereotype.Service;
 public class BowlingService {
 
 	/**
-	 * The used {@link BowlingRuleset} for scoring and checks.
+	 * Resolves the {@link BowlingRules} used for scoring and checks of each game.
+	 */
+	private final BowlingRulesetRegistry rulesetRegistry;
+
+	/**
+	 * Inject a specific implementation of a store for data access.
 	 */
-	private final BowlingRuleset bowlingRuleset;
+	private final BowlingGameStore gameStore;
 
 	/**
-	 * The used {@link ScoringStrategy} for scoring.
+	 * The locks that serialize changes of the same game.
 	 */
-	private final ScoringStrategy scoringStrategy;
+	private final BowlingGameLocks gameLocks;
 
 	/**
-	 * Inject a specific implementation of a repository for data access.
+	 * Runs changes of games in transactions that end while their locks are held.
 	 */
-	private final BowlingGameRepository gameRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * The cached scores that are updated with every roll.
+	 */
+	private final BowlingScoreCache scoreCache;
+
+	/**
+	 * Publishes a {@link RollAddedEvent} for every added roll.
+	 */
+	private final ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * The meters of rolls and scores.
+	 */
+	private final BowlingMetrics metrics;
 
 	/**
 	 * Adds the next roll to a game by executing its next roll with the provided amount
-	 * of knocked over pins.
+	 * of knocked over pins. The roll is checked and scored with the {@link BowlingRules}
+	 * of the game. The score of the game is updated with the roll, so it is
+	 * always up to date with the rolls of the game. The game is loaded and saved while
+	 * its lock is held, so that concurrent rolls of the same game are not lost. A
+	 * {@link RollAddedEvent} is published after the roll was saved. The time of every
+	 * roll and the reason of rejected rolls are recorded in the {@link BowlingMetrics}.
 	 *
 	 * @param id              The id of the game.
 	 * @param knockedOverPins The amount of knocked over pins.
@@ -45,34 +81,207 @@ public class BowlingService {
 	 */
 	public BowlingGame addNextRoll(int id, int knockedOverPins)
 			throws WrongAmountOfPinsException, MaxAmountOfRollsExceededException, EntityNotFoundException {
-		BowlingGame game = this.gameRepository.findById(id)
-				.orElseThrow(EntityNotFoundException::new);
-		if (bowlingRuleset.wouldKnockOverWrongAmountOfPins(knockedOverPins)) {
-			throw new WrongAmountOfPinsException();
+		long start = System.nanoTime();
+		try {
+			Lock lock = this.gameLocks.lockFor(id);
+			lock.lock();
+			try {
+				BowlingGame game = this.gameStore.findById(id).orElse(null);
+				if (game == null) {
+					this.metrics.rollRejected(RollBatchResult.Error.GAME_NOT_FOUND);
+					throw new EntityNotFoundException();
+				}
+				BowlingRules rules = this.rulesetRegistry.rulesOf(game);
+				if (rules.getRuleset().wouldKnockOverWrongAmountOfPins(knockedOverPins)) {
+					this.metrics.rollRejected(RollBatchResult.Error.WRONG_AMOUNT_OF_PINS);
+					throw new WrongAmountOfPinsException();
+				}
+				if (rules.getRuleset().wouldExceedMaxRolls(game.getCurrentRoll())) {
+					this.metrics.rollRejected(RollBatchResult.Error.MAX_AMOUNT_OF_ROLLS_EXCEEDED);
+					throw new MaxAmountOfRollsExceededException();
+				}
+				int frame = this.executeRoll(game, rules, knockedOverPins);
+				this.gameStore.saveRoll(game);
+				this.scoreCache.put(BowlingGameScore.of(game));
+				this.eventPublisher.publishEvent(new RollAddedEvent(id, rules.getRuleset().id(), game.getCurrentRoll(), frame, knockedOverPins, game.getCurrentScore()));
+				this.metrics.rollsAdded(1);
+				this.metrics.gamePlayed(game, rules.getRuleset());
+				return game;
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			this.metrics.recordRoll(start);
 		}
-		if (bowlingRuleset.wouldExceedMaxRolls(game.getCurrentRoll())) {
-			throw new MaxAmountOfRollsExceededException();
+	}
+
+	/**
+	 * Adds a batch of rolls to multiple games. All games of the batch are loaded and
+	 * saved at once within a single transaction, while the locks of all games are held.
+	 * The rolls of each entry are checked
+	 * against the {@link BowlingRuleset} of its game before any of them is executed, so an entry is
+	 * either added completely or rejected. Entries for the same game are processed in
+	 * the order of the batch. A {@link RollAddedEvent} is published for each added
+	 * roll after the transaction was committed.
+	 *
+	 * @param entries The entries of the batch.
+	 * @return A {@link RollBatchResult} for each entry in the order of the batch.
+	 */
+	public List<RollBatchResult> addRolls(List<RollBatchEntry> entries) {
+		long start = System.nanoTime();
+		Set<Integer> ids = new HashSet<>();
+		entries.forEach(entry -> ids.add(entry.getGameId()));
+		List<Lock> locks = this.gameLocks.lockAll(ids);
+		try {
+			Map<Integer, BowlingGame> changedGames = new HashMap<>();
+			List<RollAddedEvent> events = new ArrayList<>();
+			List<RollBatchResult> results = this.transactionTemplate.execute(status -> {
+				Map<Integer, BowlingGame> games = new HashMap<>();
+				this.gameStore.findAllById(ids).forEach(game -> games.put(game.getId(), game));
+
+				List<RollBatchResult> entryResults = new ArrayList<>(entries.size());
+				for (RollBatchEntry entry : entries) {
+					BowlingGame game = games.get(entry.getGameId());
+					BowlingRules rules = game != null ? this.rulesetRegistry.rulesOf(game) : null;
+					RollBatchResult.Error error = this.checkRolls(game, rules, entry.getKnockedOverPins());
+					if (error == null) {
+						for (int knockedOverPins : entry.getKnockedOverPins()) {
+							int frame = this.executeRoll(game, rules, knockedOverPins);
+							events.add(new RollAddedEvent(game.getId(), rules.getRuleset().id(), game.getCurrentRoll(), frame, knockedOverPins, game.getCurrentScore()));
+						}
+						changedGames.put(game.getId(), game);
+					}
+					entryResults.add(game != null
+							? new RollBatchResult(entry.getGameId(), game.getCurrentRoll(), game.getCurrentScore(), error)
+							: new RollBatchResult(entry.getGameId(), 0, 0, error));
+				}
+				if (!changedGames.isEmpty()) {
+					this.gameStore.saveRolls(changedGames.values(), events.size());
+				}
+				return entryResults;
+			});
+			changedGames.values().forEach(game -> this.scoreCache.put(BowlingGameScore.of(game)));
+			events.forEach(this.eventPublisher::publishEvent);
+			this.metrics.rollsAdded(events.size());
+			changedGames.values().forEach(game -> this.metrics.gamePlayed(game, this.rulesetRegistry.rulesOf(game).getRuleset()));
+			results.stream()
+					.filter(result -> !result.isAccepted())
+					.forEach(result -> this.metrics.rollRejected(result.getError()));
+			return results;
+		} finally {
+			this.gameLocks.unlockAll(locks);
+			this.metrics.recordRollBatch(start);
 		}
-		game.nextRoll(knockedOverPins);
-		this.gameRepository.save(game);
-		return game;
 	}
 
 	/**
 	 * Calculates the score for a game with the currently used scoring strategy.
+	 * The score is kept up to date with every roll, so it only has to be counted
+	 * if the game was stored without its running score. Reading the score does not
+	 * write the game, unless its running score had to be counted or it was migrated
+	 * while loading. Those changes are written back at the end of the transaction.
+	 * A {@link GameScoreChangedEvent} is published if the counted score differs from
+	 * the stored score. The transaction ends before the lock of the game is released, so that a
+	 * concurrent roll can't be overwritten. Scores are served from the
+	 * {@link BowlingScoreCache} which is updated with every roll before the roll
+	 * is acknowledged.
 	 *
 	 * @param id The id of the game.
-	 * @return The updated game.
+	 * @return The current {@link BowlingGameScore} of the game.
 	 * @throws EntityNotFoundException If the game could not be found.
 	 */
-	public BowlingGame calculateCurrentScore(int id) throws EntityNotFoundException {
-		BowlingGame game = this.gameRepository.findById(id)
-				.orElseThrow(EntityNotFoundException::new);
-
-		int totalScore = this.scoringStrategy.countScore(game, this.bowlingRuleset);
-		game.dangerouslyOverrideCurrentScore(totalScore);
-		this.gameRepository.save(game);
-		return game;
+	public BowlingGameScore calculateCurrentScore(int id) throws EntityNotFoundException {
+		long start = System.nanoTime();
+		BowlingGameScore cached = this.scoreCache.get(id);
+		if (cached != null) {
+			this.metrics.recordScore(start);
+			return cached;
+		}
+		Lock lock = this.gameLocks.lockFor(id);
+		lock.lock();
+		try {
+			List<GameScoreChangedEvent> events = new ArrayList<>(1);
+			BowlingGame game = this.transactionTemplate.execute(status -> {
+				BowlingGame loaded = this.gameStore.findById(id)
+						.orElseThrow(EntityNotFoundException::new);
+				if (loaded.hasOutdatedRunningScore()) {
+					int previousScore = loaded.getCurrentScore();
+					BowlingRules rules = this.rulesetRegistry.rulesOf(loaded);
+					this.recountRunningScore(loaded, rules);
+					this.gameStore.save(loaded);
+					if (loaded.getCurrentScore() != previousScore) {
+						events.add(new GameScoreChangedEvent(id, rules.getRuleset().id(), loaded.getCurrentRoll(), loaded.getCurrentScore()));
+					}
+				}
+				return loaded;
+			});
+			BowlingGameScore score = BowlingGameScore.of(game);
+			this.scoreCache.put(score);
+			events.forEach(this.eventPublisher::publishEvent);
+			return score;
+		} finally {
+			lock.unlock();
+			this.metrics.recordScore(start);
+		}
+	}
+
+	/**
+	 * Check if all rolls could be added to the game without breaking its
+	 * {@link BowlingRuleset}.
+	 *
+	 * @param game            The game or null if it could not be found.
+	 * @param rules           The {@link BowlingRules} of the game or null if it could not be found.
+	 * @param knockedOverPins The amount of knocked over pins for each roll.
+	 * @return The reason the rolls can't be added or null if they can be added.
+	 */
+	private RollBatchResult.Error checkRolls(BowlingGame game, BowlingRules rules, int[] knockedOverPins) {
+		if (game == null) {
+			return RollBatchResult.Error.GAME_NOT_FOUND;
+		}
+		BowlingRuleset ruleset = rules.getRuleset();
+		for (int roll = 0; roll < knockedOverPins.length; roll++) {
+			if (ruleset.wouldKnockOverWrongAmountOfPins(knockedOverPins[roll])) {
+				return RollBatchResult.Error.WRONG_AMOUNT_OF_PINS;
+			}
+			if (ruleset.wouldExceedMaxRolls(game.getCurrentRoll() + roll)) {
+				return RollBatchResult.Error.MAX_AMOUNT_OF_ROLLS_EXCEEDED;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Executes the next roll of a game and adds its points to the score.
+	 *
+	 * @param game            The game the roll is executed in.
+	 * @param rules           The {@link BowlingRules} of the game.
+	 * @param knockedOverPins The amount of knocked over pins.
+	 * @return The frame the roll belongs to, starting with 1.
+	 */
+	private int executeRoll(BowlingGame game, BowlingRules rules, int knockedOverPins) {
+		if (game.hasOutdatedRunningScore()) {
+			this.recountRunningScore(game, rules);
+		}
+		BowlingRuleset ruleset = rules.getRuleset();
+		int frame = Math.min(game.getRunningScore().getFrame(), ruleset.amountOfFrames() - 1) + 1;
+		int points = rules.getScoringStrategy().countNextRoll(game.getRunningScore(), knockedOverPins, ruleset);
+		game.nextRoll(knockedOverPins, points, ruleset);
+		return frame;
+	}
+
+	/**
+	 * Counts the {@link RunningScore} of a game again by counting all of its
+	 * existing rolls with a single call of its {@link ScoringStrategy}.
+	 *
+	 * @param game  The game with an outdated {@link RunningScore}.
+	 * @param rules The {@link BowlingRules} of the game.
+	 */
+	private void recountRunningScore(BowlingGame game, BowlingRules rules) {
+		long start = System.nanoTime();
+		RunningScore runningScore = new RunningScore();
+		int score = rules.getScoringStrategy().countRolls(runningScore, game.getKnockedOverPins(), game.amountOfPlayedRolls(), rules.getRuleset());
+		game.resetRunningScore(runningScore, score, rules.getRuleset());
+		this.metrics.recordRecount(start);
 	}
 
 }
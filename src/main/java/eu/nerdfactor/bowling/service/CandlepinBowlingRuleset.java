@@ -0,0 +1,95 @@
+package eu.nerdfactor.bowling.service;
+
+/**
+ * A ruleset implementation for candlepin bowling. A frame has up to three rolls
+ * at ten pins. Knocking over all pins with the first or second roll counts as
+ * strike or spare, knocking them over with the third roll does not add a bonus.
+ */
+public final class CandlepinBowlingRuleset implements BowlingRuleset {
+
+	/**
+	 * The id of the candlepin bowling ruleset.
+	 */
+	public static final String ID = "candlepin";
+
+	/**
+	 * The id the ruleset is referenced with by the games that are played with it.
+	 */
+	@Override
+	public String id() {
+		return ID;
+	}
+
+	/**
+	 * The amount of maximum rolls in a game. The player has 3 rolls in
+	 * 10 frames each. The bonus rolls after a spare or strike in the last
+	 * frame take the place of the rolls of the frame.
+	 */
+	@Override
+	public int amountOfMaxRolls() {
+		return 30;
+	}
+
+	/**
+	 * The amount of possible bonus rolls in a bowling game. Bonus rolls
+	 * never exceed the rolls of the last frame.
+	 */
+	@Override
+	public int amountOfBonusRolls() {
+		return 0;
+	}
+
+	/**
+	 * The amount of possible frames in a game.
+	 */
+	@Override
+	public int amountOfFrames() {
+		return 10;
+	}
+
+	/**
+	 * The amount of rolls in a frame, unless all pins are knocked over before.
+	 */
+	@Override
+	public int amountOfRollsPerFrame() {
+		return 3;
+	}
+
+	/**
+	 * The amount of pins a bowling game has.
+	 */
+	@Override
+	public int amountOfPins() {
+		return 10;
+	}
+
+	/**
+	 * The maximum score that can be achieved with 12 strikes.
+	 */
+	@Override
+	public int amountOfMaxScore() {
+		return 300;
+	}
+
+	/**
+	 * Check if the amount of knocked over pins is not possible.
+	 *
+	 * @param knockedOverPins The amount of knocked over pins.
+	 * @return True if the amount of knocked over pins are not possible.
+	 */
+	@Override
+	public boolean wouldKnockOverWrongAmountOfPins(int knockedOverPins) {
+		return knockedOverPins < 0 || knockedOverPins > this.amountOfPins();
+	}
+
+	/**
+	 * Check if the roll would exceed the maximum amount of rolls.
+	 *
+	 * @param roll The checked roll.
+	 * @return True if the maximum amount is exceeded.
+	 */
+	@Override
+	public boolean wouldExceedMaxRolls(int roll) {
+		return roll >= this.amountOfMaxRolls();
+	}
+}
@@ -0,0 +1,42 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+
+/**
+ * A strategy implementation for scoring a candlepin bowling game. The rules of the
+ * {@link CandlepinBowlingRuleset} are constants, which are folded into the kernels of
+ * {@link FrameBowlingScoring}. Games of other rulesets are counted with the rules
+ * of their ruleset.
+ */
+public final class CandlepinBowlingScoring extends FrameBowlingScoring {
+
+	private static final int AMOUNT_OF_PINS = 10;
+
+	private static final int AMOUNT_OF_FRAMES = 10;
+
+	private static final int AMOUNT_OF_ROLLS_PER_FRAME = 3;
+
+	@Override
+	public int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		if (!(ruleset instanceof CandlepinBowlingRuleset)) {
+			return super.countScore(knockedOverPinsPerRoll, amountOfRolls, ruleset);
+		}
+		return countScore(knockedOverPinsPerRoll, amountOfRolls, AMOUNT_OF_PINS, AMOUNT_OF_FRAMES, AMOUNT_OF_ROLLS_PER_FRAME);
+	}
+
+	@Override
+	public int countNextRoll(RunningScore runningScore, int knockedOverPins, BowlingRuleset ruleset) {
+		if (!(ruleset instanceof CandlepinBowlingRuleset)) {
+			return super.countNextRoll(runningScore, knockedOverPins, ruleset);
+		}
+		return countNextRoll(runningScore, knockedOverPins, AMOUNT_OF_PINS, AMOUNT_OF_FRAMES, AMOUNT_OF_ROLLS_PER_FRAME);
+	}
+
+	@Override
+	public int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		if (!(ruleset instanceof CandlepinBowlingRuleset)) {
+			return super.countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, ruleset);
+		}
+		return countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, AMOUNT_OF_PINS, AMOUNT_OF_FRAMES, AMOUNT_OF_ROLLS_PER_FRAME);
+	}
+}
@@ -0,0 +1,99 @@
+package eu.nerdfactor.bowling.service;
+
+/**
+ * A ruleset implementation for five pin bowling. The five pins are worth 2, 3, 5,
+ * 3 and 2 points, so a roll is recorded with the value of its knocked over pins
+ * instead of their amount and all pins are worth 15. A frame has up to three rolls.
+ * Knocking over all pins with the first or second roll counts as strike or spare,
+ * knocking them over with the third roll does not add a bonus.
+ */
+public final class FivePinBowlingRuleset implements BowlingRuleset {
+
+	/**
+	 * The id of the five pin bowling ruleset.
+	 */
+	public static final String ID = "five-pin";
+
+	/**
+	 * The id the ruleset is referenced with by the games that are played with it.
+	 */
+	@Override
+	public String id() {
+		return ID;
+	}
+
+	/**
+	 * The amount of maximum rolls in a game. The player has 3 rolls in
+	 * 10 frames each. The bonus rolls after a spare or strike in the last
+	 * frame take the place of the rolls of the frame.
+	 */
+	@Override
+	public int amountOfMaxRolls() {
+		return 30;
+	}
+
+	/**
+	 * The amount of possible bonus rolls in a bowling game. Bonus rolls
+	 * never exceed the rolls of the last frame.
+	 */
+	@Override
+	public int amountOfBonusRolls() {
+		return 0;
+	}
+
+	/**
+	 * The amount of possible frames in a game.
+	 */
+	@Override
+	public int amountOfFrames() {
+		return 10;
+	}
+
+	/**
+	 * The amount of rolls in a frame, unless all pins are knocked over before.
+	 */
+	@Override
+	public int amountOfRollsPerFrame() {
+		return 3;
+	}
+
+	/**
+	 * The value of all pins of a bowling game.
+	 */
+	@Override
+	public int amountOfPins() {
+		return 15;
+	}
+
+	/**
+	 * The maximum score that can be achieved with 12 strikes.
+	 */
+	@Override
+	public int amountOfMaxScore() {
+		return 450;
+	}
+
+	/**
+	 * Check if the value of knocked over pins is not possible. No combination
+	 * of the pins is worth 1 or 14 points.
+	 *
+	 * @param knockedOverPins The value of knocked over pins.
+	 * @return True if the value of knocked over pins is not possible.
+	 */
+	@Override
+	public boolean wouldKnockOverWrongAmountOfPins(int knockedOverPins) {
+		return knockedOverPins < 0 || knockedOverPins > this.amountOfPins()
+				|| knockedOverPins == 1 || knockedOverPins == this.amountOfPins() - 1;
+	}
+
+	/**
+	 * Check if the roll would exceed the maximum amount of rolls.
+	 *
+	 * @param roll The checked roll.
+	 * @return True if the maximum amount is exceeded.
+	 */
+	@Override
+	public boolean wouldExceedMaxRolls(int roll) {
+		return roll >= this.amountOfMaxRolls();
+	}
+}
@@ -0,0 +1,191 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
+
+/**
+ * A strategy implementation for scoring bowling games with any amount of pins,
+ * frames and rolls per frame. A frame ends after its last roll or as soon as all
+ * pins are knocked over. Knocking over all pins with the first roll is a strike and
+ * counts the next two rolls as bonus, knocking them over with the second roll is a
+ * spare and counts the next roll as bonus. Knocking them over with a later roll does
+ * not add a bonus.
+ * <p>
+ * The rules are passed to static kernels as arguments. Specialised strategies for a
+ * single {@link BowlingRuleset} call the kernels with constants, so that the compiler
+ * can fold the rules into the kernels instead of asking the ruleset for them. The
+ * strategy is stateless and can be shared between threads.
+ */
+public class FrameBowlingScoring implements ScoringStrategy {
+
+	/**
+	 * Calculates the score for a {@link BowlingGame} using a specified {@link BowlingRuleset}.
+	 * The knocked over pins of the game are counted with
+	 * {@link #countScore(int[], int, BowlingRuleset)} without copying them.
+	 *
+	 * @param game    The {@link BowlingGame} to score.
+	 * @param ruleset The {@link BowlingRuleset} use for scoring.
+	 * @return The total score.
+	 */
+	@Override
+	public int countScore(BowlingGame game, BowlingRuleset ruleset) {
+		return this.countScore(game.getKnockedOverPins(), game.amountOfPlayedRolls(), ruleset);
+	}
+
+	/**
+	 * Calculates the score for the knocked over pins of each roll with the rules of
+	 * a specified {@link BowlingRuleset}.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param ruleset                The {@link BowlingRuleset} use for scoring.
+	 * @return The total score.
+	 */
+	@Override
+	public int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		return countScore(knockedOverPinsPerRoll, amountOfRolls,
+				ruleset.amountOfPins(), ruleset.amountOfFrames(), ruleset.amountOfRollsPerFrame());
+	}
+
+	/**
+	 * Counts the next roll into a {@link RunningScore} with the rules of a specified
+	 * {@link BowlingRuleset}.
+	 *
+	 * @param runningScore    The {@link RunningScore} that will be updated.
+	 * @param knockedOverPins The amount of knocked over pins in the next roll.
+	 * @param ruleset         The {@link BowlingRuleset} used for scoring.
+	 * @return The points the roll adds to the total score.
+	 */
+	@Override
+	public int countNextRoll(RunningScore runningScore, int knockedOverPins, BowlingRuleset ruleset) {
+		return countNextRoll(runningScore, knockedOverPins,
+				ruleset.amountOfPins(), ruleset.amountOfFrames(), ruleset.amountOfRollsPerFrame());
+	}
+
+	/**
+	 * Counts the knocked over pins of the first rolls of a game into a {@link RunningScore}
+	 * with the rules of a specified {@link BowlingRuleset}, which are only asked for once.
+	 *
+	 * @param runningScore           The {@link RunningScore} that will be updated.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that are counted.
+	 * @param ruleset                The {@link BowlingRuleset} used for scoring.
+	 * @return The points the rolls add to the total score.
+	 */
+	@Override
+	public int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		return countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls,
+				ruleset.amountOfPins(), ruleset.amountOfFrames(), ruleset.amountOfRollsPerFrame());
+	}
+
+	/**
+	 * Calculates the score for the knocked over pins of each roll. Every frame is
+	 * counted with its knocked over pins and the knocked over pins of its bonus rolls.
+	 * Rolls that were not played yet are counted without knocked over pins.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param amountOfPins           The amount of pins in the game.
+	 * @param amountOfFrames         The amount of frames in the game.
+	 * @param amountOfRollsPerFrame  The amount of rolls in a frame.
+	 * @return The total score.
+	 */
+	static int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, int amountOfPins, int amountOfFrames, int amountOfRollsPerFrame) {
+		int currentScore = 0;
+		int checkedRoll = 0;
+		for (int frame = 0; frame < amountOfFrames && checkedRoll < amountOfRolls; frame++) {
+			int pinsInFrame = 0;
+			int rollsInFrame = 0;
+			while (rollsInFrame < amountOfRollsPerFrame && pinsInFrame != amountOfPins) {
+				pinsInFrame += knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, checkedRoll + rollsInFrame);
+				rollsInFrame++;
+			}
+			checkedRoll += rollsInFrame;
+			currentScore += pinsInFrame;
+			if (pinsInFrame == amountOfPins && rollsInFrame == 1) {
+				// a strike counts the next two rolls as bonus.
+				currentScore += knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, checkedRoll)
+						+ knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, checkedRoll + 1);
+			} else if (pinsInFrame == amountOfPins && rollsInFrame == 2) {
+				// a spare counts the next roll as bonus.
+				currentScore += knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, checkedRoll);
+			}
+		}
+		return currentScore;
+	}
+
+	/**
+	 * Counts the next roll into a {@link RunningScore}. The knocked over pins are
+	 * counted once for a roll within the frames of the game and once more for each
+	 * pending strike or spare bonus. Rolls after the last frame are only counted
+	 * as bonus.
+	 *
+	 * @param runningScore          The {@link RunningScore} that will be updated.
+	 * @param knockedOverPins       The amount of knocked over pins in the next roll.
+	 * @param amountOfPins          The amount of pins in the game.
+	 * @param amountOfFrames        The amount of frames in the game.
+	 * @param amountOfRollsPerFrame The amount of rolls in a frame.
+	 * @return The points the roll adds to the total score.
+	 */
+	static int countNextRoll(RunningScore runningScore, int knockedOverPins, int amountOfPins, int amountOfFrames, int amountOfRollsPerFrame) {
+		int points = knockedOverPins * runningScore.getBonusOfNextRoll();
+		runningScore.setBonusOfNextRoll(runningScore.getBonusOfSecondNextRoll());
+		runningScore.setBonusOfSecondNextRoll(0);
+		if (runningScore.getFrame() >= amountOfFrames) {
+			return points;
+		}
+		points += knockedOverPins;
+		int rollInFrame = runningScore.getRollInFrame();
+		int pinsInFrame = runningScore.getPinsInFrame() + knockedOverPins;
+		if (pinsInFrame == amountOfPins && rollInFrame == 0) {
+			// a strike counts the next two rolls as bonus.
+			runningScore.setBonusOfNextRoll(runningScore.getBonusOfNextRoll() + 1);
+			runningScore.setBonusOfSecondNextRoll(runningScore.getBonusOfSecondNextRoll() + 1);
+			runningScore.nextFrame();
+		} else if (pinsInFrame == amountOfPins && rollInFrame == 1) {
+			// a spare counts the next roll as bonus.
+			runningScore.setBonusOfNextRoll(runningScore.getBonusOfNextRoll() + 1);
+			runningScore.nextFrame();
+		} else if (pinsInFrame == amountOfPins || rollInFrame + 1 >= amountOfRollsPerFrame) {
+			runningScore.nextFrame();
+		} else {
+			runningScore.setRollInFrame(rollInFrame + 1);
+			runningScore.setPinsInFrame(pinsInFrame);
+		}
+		return points;
+	}
+
+	/**
+	 * Counts the knocked over pins of the first rolls of a game into a {@link RunningScore}
+	 * with {@link #countNextRoll(RunningScore, int, int, int, int)}.
+	 *
+	 * @param runningScore           The {@link RunningScore} that will be updated.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that are counted.
+	 * @param amountOfPins           The amount of pins in the game.
+	 * @param amountOfFrames         The amount of frames in the game.
+	 * @param amountOfRollsPerFrame  The amount of rolls in a frame.
+	 * @return The points the rolls add to the total score.
+	 */
+	static int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls,
+	                      int amountOfPins, int amountOfFrames, int amountOfRollsPerFrame) {
+		int points = 0;
+		for (int roll = 0; roll < amountOfRolls; roll++) {
+			points += countNextRoll(runningScore, knockedOverPinsPerRoll[roll], amountOfPins, amountOfFrames, amountOfRollsPerFrame);
+		}
+		return points;
+	}
+
+	/**
+	 * Get the knocked over pins of a roll. A roll that was not played yet
+	 * did not knock over any pins.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param roll                   The specified roll.
+	 * @return The amount of pins knocked over in the roll.
+	 */
+	private static int knockedOverPinsOfRoll(int[] knockedOverPinsPerRoll, int amountOfRolls, int roll) {
+		return roll < amountOfRolls ? knockedOverPinsPerRoll[roll] : 0;
+	}
+}
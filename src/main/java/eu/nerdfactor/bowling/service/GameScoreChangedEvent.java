@@ -0,0 +1,35 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after the score of a {@link eu.nerdfactor.bowling.entity.BowlingGame}
+ * changed without adding a roll, because the game was recounted, rescored or
+ * updated. The new score may be lower than before. It contains the state of the
+ * game after the change, so that listeners don't have to load the game again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class GameScoreChangedEvent {
+
+	/**
+	 * The id of the changed game.
+	 */
+	private final int gameId;
+
+	/**
+	 * The id of the {@link BowlingRuleset} the game is played with.
+	 */
+	private final String rulesetId;
+
+	/**
+	 * The amount of rolls that were played in the game.
+	 */
+	private final int currentRoll;
+
+	/**
+	 * The score of the game after the change.
+	 */
+	private final int currentScore;
+}
@@ -0,0 +1,41 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The score of a game on the {@link BowlingLeaderboard}. Entries are immutable
+ * and replaced whenever the score of their game changes.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class LeaderboardEntry {
+
+	/**
+	 * The id of the game.
+	 */
+	private final int gameId;
+
+	/**
+	 * The id of the {@link BowlingRuleset} the game is played with.
+	 */
+	private final String rulesetId;
+
+	/**
+	 * The score of the game.
+	 */
+	private final int score;
+
+	/**
+	 * The roll the game was on when it reached the score.
+	 */
+	private final int currentRoll;
+
+	/**
+	 * The time the game reached the score. Of two games with the same score,
+	 * the game that reached it first is ranked higher.
+	 */
+	private final Instant reachedAt;
+}
@@ -0,0 +1,41 @@
+package eu.nerdfactor.bowling.service;
+
+/**
+ * The time windows the {@link BowlingLeaderboard} ranks games in.
+ */
+public enum LeaderboardWindow {
+
+	/**
+	 * Games that received a roll on the current day.
+	 */
+	TODAY("today"),
+
+	/**
+	 * All stored games and the games that received a roll since they were loaded.
+	 */
+	ALL_TIME("all-time");
+
+	/**
+	 * The name the window is selected with in the api.
+	 */
+	private final String name;
+
+	LeaderboardWindow(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Get the window with a name used in the api.
+	 *
+	 * @param name The name of the window, like today or all-time.
+	 * @return The matching {@link LeaderboardWindow} or null if there is none.
+	 */
+	public static LeaderboardWindow of(String name) {
+		for (LeaderboardWindow window : values()) {
+			if (window.name.equals(name)) {
+				return window;
+			}
+		}
+		return null;
+	}
+}
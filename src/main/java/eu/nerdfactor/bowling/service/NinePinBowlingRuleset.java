@@ -0,0 +1,93 @@
+package eu.nerdfactor.bowling.service;
+
+/**
+ * A ruleset implementation for nine pin bowling. It is played and scored like ten
+ * pin bowling, but with nine pins in 10 frames of two rolls each.
+ */
+public final class NinePinBowlingRuleset implements BowlingRuleset {
+
+	/**
+	 * The id of the nine pin bowling ruleset.
+	 */
+	public static final String ID = "nine-pin";
+
+	/**
+	 * The id the ruleset is referenced with by the games that are played with it.
+	 */
+	@Override
+	public String id() {
+		return ID;
+	}
+
+	/**
+	 * The amount of maximum rolls in a game. The player has 2 rolls in
+	 * 10 frames each and one bonus roll after a spare or strike in the
+	 * last frame.
+	 */
+	@Override
+	public int amountOfMaxRolls() {
+		return 21;
+	}
+
+	/**
+	 * The amount of possible bonus rolls in a bowling game.
+	 */
+	@Override
+	public int amountOfBonusRolls() {
+		return 1;
+	}
+
+	/**
+	 * The amount of possible frames in a game.
+	 */
+	@Override
+	public int amountOfFrames() {
+		return 10;
+	}
+
+	/**
+	 * The amount of rolls in a frame. A strike ends the frame after the first roll.
+	 */
+	@Override
+	public int amountOfRollsPerFrame() {
+		return 2;
+	}
+
+	/**
+	 * The amount of pins a bowling game has.
+	 */
+	@Override
+	public int amountOfPins() {
+		return 9;
+	}
+
+	/**
+	 * The maximum score that can be achieved with 12 strikes.
+	 */
+	@Override
+	public int amountOfMaxScore() {
+		return 270;
+	}
+
+	/**
+	 * Check if the amount of knocked over pins is not possible.
+	 *
+	 * @param knockedOverPins The amount of knocked over pins.
+	 * @return True if the amount of knocked over pins are not possible.
+	 */
+	@Override
+	public boolean wouldKnockOverWrongAmountOfPins(int knockedOverPins) {
+		return knockedOverPins < 0 || knockedOverPins > this.amountOfPins();
+	}
+
+	/**
+	 * Check if the roll would exceed the maximum amount of rolls.
+	 *
+	 * @param roll The checked roll.
+	 * @return True if the maximum amount is exceeded.
+	 */
+	@Override
+	public boolean wouldExceedMaxRolls(int roll) {
+		return roll >= this.amountOfMaxRolls();
+	}
+}
@@ -0,0 +1,42 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+
+/**
+ * A strategy implementation for scoring a nine pin bowling game. The rules of the
+ * {@link NinePinBowlingRuleset} are constants, which are folded into the kernels of
+ * {@link FrameBowlingScoring}. Games of other rulesets are counted with the rules
+ * of their ruleset.
+ */
+public final class NinePinBowlingScoring extends FrameBowlingScoring {
+
+	private static final int AMOUNT_OF_PINS = 9;
+
+	private static final int AMOUNT_OF_FRAMES = 10;
+
+	private static final int AMOUNT_OF_ROLLS_PER_FRAME = 2;
+
+	@Override
+	public int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		if (!(ruleset instanceof NinePinBowlingRuleset)) {
+			return super.countScore(knockedOverPinsPerRoll, amountOfRolls, ruleset);
+		}
+		return countScore(knockedOverPinsPerRoll, amountOfRolls, AMOUNT_OF_PINS, AMOUNT_OF_FRAMES, AMOUNT_OF_ROLLS_PER_FRAME);
+	}
+
+	@Override
+	public int countNextRoll(RunningScore runningScore, int knockedOverPins, BowlingRuleset ruleset) {
+		if (!(ruleset instanceof NinePinBowlingRuleset)) {
+			return super.countNextRoll(runningScore, knockedOverPins, ruleset);
+		}
+		return countNextRoll(runningScore, knockedOverPins, AMOUNT_OF_PINS, AMOUNT_OF_FRAMES, AMOUNT_OF_ROLLS_PER_FRAME);
+	}
+
+	@Override
+	public int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		if (!(ruleset instanceof NinePinBowlingRuleset)) {
+			return super.countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, ruleset);
+		}
+		return countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, AMOUNT_OF_PINS, AMOUNT_OF_FRAMES, AMOUNT_OF_ROLLS_PER_FRAME);
+	}
+}
@@ -0,0 +1,122 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * An immutable snapshot of the progress of a rescoring run. A stopped or failed
+ * run can be resumed by starting a new run from its last processed id.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RescoringProgress {
+
+	/**
+	 * The state of the run.
+	 */
+	private final Status status;
+
+	/**
+	 * The id the run started after.
+	 */
+	private final int fromId;
+
+	/**
+	 * The id of the last game whose score was checked and written.
+	 */
+	private final int lastProcessedId;
+
+	/**
+	 * The amount of games whose score was counted again.
+	 */
+	private final long amountOfCheckedGames;
+
+	/**
+	 * The amount of games whose changed score was written.
+	 */
+	private final long amountOfRescoredGames;
+
+	/**
+	 * The amount of games with a changed score that were not written, because
+	 * a roll was added while they were counted. Their score was counted with
+	 * the roll and is up to date.
+	 */
+	private final long amountOfSkippedGames;
+
+	/**
+	 * The time the run started.
+	 */
+	private final Instant startedAt;
+
+	/**
+	 * The time the run ended or null while it is running.
+	 */
+	private final Instant endedAt;
+
+	/**
+	 * Create the progress of a run that just started.
+	 *
+	 * @param fromId The id the run starts after.
+	 * @return A new {@link RescoringProgress}.
+	 */
+	static RescoringProgress started(int fromId) {
+		return new RescoringProgress(Status.RUNNING, fromId, fromId, 0, 0, 0, Instant.now(), null);
+	}
+
+	/**
+	 * Add a processed chunk of games to the progress.
+	 *
+	 * @param lastProcessedId The id of the last game of the chunk.
+	 * @param checked         The amount of games in the chunk.
+	 * @param rescored        The amount of written games.
+	 * @param skipped         The amount of changed games that were not written.
+	 * @return The new {@link RescoringProgress}.
+	 */
+	RescoringProgress withChunk(int lastProcessedId, int checked, int rescored, int skipped) {
+		return new RescoringProgress(this.status, this.fromId, lastProcessedId, this.amountOfCheckedGames + checked,
+				this.amountOfRescoredGames + rescored, this.amountOfSkippedGames + skipped, this.startedAt, null);
+	}
+
+	/**
+	 * End the run.
+	 *
+	 * @param status The final state of the run.
+	 * @return The new {@link RescoringProgress}.
+	 */
+	RescoringProgress endedWith(Status status) {
+		return new RescoringProgress(status, this.fromId, this.lastProcessedId, this.amountOfCheckedGames,
+				this.amountOfRescoredGames, this.amountOfSkippedGames, this.startedAt, Instant.now());
+	}
+
+	/**
+	 * Check if the run is still going on.
+	 *
+	 * @return True if the run is running.
+	 */
+	public boolean isRunning() {
+		return this.status == Status.RUNNING;
+	}
+
+	/**
+	 * The amount of checked games per minute since the run started.
+	 *
+	 * @return The throughput of the run.
+	 */
+	public long getGamesPerMinute() {
+		long millis = Duration.between(this.startedAt, this.endedAt != null ? this.endedAt : Instant.now()).toMillis();
+		return millis > 0 ? this.amountOfCheckedGames * 60_000 / millis : this.amountOfCheckedGames;
+	}
+
+	/**
+	 * States of a rescoring run.
+	 */
+	public enum Status {
+		RUNNING,
+		COMPLETED,
+		STOPPED,
+		FAILED
+	}
+}
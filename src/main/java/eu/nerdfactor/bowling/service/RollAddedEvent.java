@@ -0,0 +1,45 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a roll was added to a {@link eu.nerdfactor.bowling.entity.BowlingGame}.
+ * It contains the state of the game right after the roll, so that listeners
+ * don't have to load the game again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RollAddedEvent {
+
+	/**
+	 * The id of the game the roll was added to.
+	 */
+	private final int gameId;
+
+	/**
+	 * The id of the {@link BowlingRuleset} the game is played with.
+	 */
+	private final String rulesetId;
+
+	/**
+	 * The number of the added roll, starting with 1 for the first roll.
+	 */
+	private final int roll;
+
+	/**
+	 * The frame the added roll belongs to, starting with 1 for the first frame.
+	 * Bonus rolls belong to the last frame.
+	 */
+	private final int frame;
+
+	/**
+	 * The amount of pins knocked over by the added roll.
+	 */
+	private final int knockedOverPins;
+
+	/**
+	 * The running score of the game after the roll.
+	 */
+	private final int currentScore;
+}
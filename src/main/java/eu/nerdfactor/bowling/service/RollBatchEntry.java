@@ -0,0 +1,23 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One entry of a batch of rolls. It contains the knocked over pins of one or
+ * more consecutive rolls of a single game.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RollBatchEntry {
+
+	/**
+	 * The id of the game the rolls are for.
+	 */
+	private final int gameId;
+
+	/**
+	 * The amount of knocked over pins for each roll in the order they were rolled.
+	 */
+	private final int[] knockedOverPins;
+}
@@ -0,0 +1,60 @@
+package eu.nerdfactor.bowling.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The result of a single {@link RollBatchEntry}. The rolls of an entry are
+ * either all accepted or all rejected with the reason.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RollBatchResult {
+
+	/**
+	 * The id of the game the rolls were for.
+	 */
+	private final int gameId;
+
+	/**
+	 * The roll the game is on after the entry was processed.
+	 */
+	private final int currentRoll;
+
+	/**
+	 * The score of the game after the entry was processed.
+	 */
+	private final int currentScore;
+
+	/**
+	 * The reason the rolls were rejected or null if they were accepted.
+	 */
+	private final Error error;
+
+	/**
+	 * Check if the rolls of the entry were added to the game.
+	 *
+	 * @return True if the rolls were accepted.
+	 */
+	public boolean isAccepted() {
+		return this.error == null;
+	}
+
+	/**
+	 * Check if the game of the entry exists.
+	 *
+	 * @return True if the game was found.
+	 */
+	public boolean isGameFound() {
+		return this.error != Error.GAME_NOT_FOUND;
+	}
+
+	/**
+	 * Reasons for rejecting the rolls of an entry.
+	 */
+	public enum Error {
+		GAME_NOT_FOUND,
+		WRONG_AMOUNT_OF_PINS,
+		MAX_AMOUNT_OF_ROLLS_EXCEEDED
+	}
+}
@@ -1,6 +1,7 @@
 package eu.nerdfactor.bowling.service;
 
 import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
 import org.springframework.stereotype.Component;
 
 /**
@@ -17,4 +18,48 @@ public interface ScoringStrategy {
 	 * @return The total score.
 	 */
 	int countScore(BowlingGame game, BowlingRuleset ruleset);
+
+	/**
+	 * Count the score for the knocked over pins of each roll using a specified {@link BowlingRuleset}.
+	 * Implementations must not keep any state between calls, so that they can be shared
+	 * between threads.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param ruleset                The {@link BowlingRuleset} used for scoring.
+	 * @return The total score.
+	 */
+	int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset);
+
+	/**
+	 * Count the next roll into a {@link RunningScore} using a specified {@link BowlingRuleset}.
+	 * Pending bonuses of previous rolls are counted with the knocked over pins of the
+	 * next roll, so that the running score always matches the score of the rolls
+	 * known so far.
+	 *
+	 * @param runningScore    The {@link RunningScore} that will be updated.
+	 * @param knockedOverPins The amount of knocked over pins in the next roll.
+	 * @param ruleset         The {@link BowlingRuleset} used for scoring.
+	 * @return The points the roll adds to the total score.
+	 */
+	int countNextRoll(RunningScore runningScore, int knockedOverPins, BowlingRuleset ruleset);
+
+	/**
+	 * Count the knocked over pins of the first rolls of a game into a new {@link RunningScore}
+	 * using a specified {@link BowlingRuleset}. Implementations may count all rolls in a
+	 * single loop, so that the rolls of a game are counted with one call of the strategy.
+	 *
+	 * @param runningScore           The {@link RunningScore} that will be updated.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that are counted.
+	 * @param ruleset                The {@link BowlingRuleset} used for scoring.
+	 * @return The points the rolls add to the total score.
+	 */
+	default int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		int points = 0;
+		for (int roll = 0; roll < amountOfRolls; roll++) {
+			points += this.countNextRoll(runningScore, knockedOverPinsPerRoll[roll], ruleset);
+		}
+		return points;
+	}
 }
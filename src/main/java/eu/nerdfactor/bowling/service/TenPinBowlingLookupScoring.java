@@ -0,0 +1,152 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+
+/**
+ * A strategy implementation for scoring a ten pin bowling game with a precomputed
+ * table. The score of a frame only depends on the knocked over pins of its first
+ * roll and the two rolls after it, so the score and length of every possible
+ * frame is looked up with these three rolls. A complete game is scored and counted
+ * again with one lookup per frame, which is used when the running score of a game
+ * is recounted or all games are rescored. Single rolls are counted into a
+ * {@link RunningScore} like in {@link TenPinBowlingScoring}. The table is
+ * immutable, so the strategy can be shared between threads.
+ */
+public class TenPinBowlingLookupScoring extends TenPinBowlingScoring {
+
+	/**
+	 * The amount of pins the table was computed for.
+	 */
+	private static final int AMOUNT_OF_PINS = 10;
+
+	/**
+	 * The amount of possible knocked over pins in a roll.
+	 */
+	private static final int PINS_PER_ROLL = AMOUNT_OF_PINS + 1;
+
+	/**
+	 * The score of a frame shifted by two bits and the amount of rolls in the
+	 * frame in the lowest two bits. Indexed by the knocked over pins of the
+	 * first roll of the frame and the two rolls after it.
+	 */
+	private static final int[] FRAMES = createFrames();
+
+	/**
+	 * Calculates the score for the knocked over pins of each roll with one lookup
+	 * per frame. Rolls that were not played yet are counted without knocked over
+	 * pins. Games with another amount of pins than the table was computed for, or
+	 * with rolls outside of the possible amount of pins, are counted by
+	 * {@link TenPinBowlingScoring}.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param ruleset                The {@link BowlingRuleset} use for scoring.
+	 * @return The total score.
+	 */
+	@Override
+	public int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		if (ruleset.amountOfPins() != AMOUNT_OF_PINS) {
+			return super.countScore(knockedOverPinsPerRoll, amountOfRolls, ruleset);
+		}
+		int amountOfFrames = ruleset.amountOfFrames();
+		int currentScore = 0;
+		int checkedRoll = 0;
+		for (int frame = 0; frame < amountOfFrames && checkedRoll < amountOfRolls; frame++) {
+			int first = knockedOverPinsPerRoll[checkedRoll];
+			int second = checkedRoll + 1 < amountOfRolls ? knockedOverPinsPerRoll[checkedRoll + 1] : 0;
+			int third = checkedRoll + 2 < amountOfRolls ? knockedOverPinsPerRoll[checkedRoll + 2] : 0;
+			if (first < 0 || second < 0 || third < 0 || first > AMOUNT_OF_PINS || second > AMOUNT_OF_PINS || third > AMOUNT_OF_PINS) {
+				return super.countScore(knockedOverPinsPerRoll, amountOfRolls, ruleset);
+			}
+			int entry = FRAMES[(first * PINS_PER_ROLL + second) * PINS_PER_ROLL + third];
+			currentScore += entry >>> 2;
+			checkedRoll += entry & 3;
+		}
+		return currentScore;
+	}
+
+	/**
+	 * Counts the knocked over pins of the first rolls of a game into an empty
+	 * {@link RunningScore} with one lookup per frame. A frame is looked up once
+	 * all rolls of its bonus were played, so that the lookup adds its final score
+	 * and no bonus is left for the following rolls. The remaining rolls at the end
+	 * are counted one by one, which leaves the running score in the same state as
+	 * counting every roll. Running scores that already contain rolls, games with
+	 * another amount of pins than the table was computed for and rolls outside of
+	 * the possible amount of pins are counted by {@link TenPinBowlingScoring}.
+	 *
+	 * @param runningScore           The {@link RunningScore} that will be updated.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that are counted.
+	 * @param ruleset                The {@link BowlingRuleset} used for scoring.
+	 * @return The points the rolls add to the total score.
+	 */
+	@Override
+	public int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		if (ruleset.amountOfPins() != AMOUNT_OF_PINS || !isEmpty(runningScore)) {
+			return super.countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, ruleset);
+		}
+		int amountOfFrames = ruleset.amountOfFrames();
+		int points = 0;
+		int checkedRoll = 0;
+		int frame = 0;
+		for (; frame < amountOfFrames && checkedRoll + 2 < amountOfRolls; frame++) {
+			int first = knockedOverPinsPerRoll[checkedRoll];
+			int second = knockedOverPinsPerRoll[checkedRoll + 1];
+			int third = knockedOverPinsPerRoll[checkedRoll + 2];
+			if (first < 0 || second < 0 || third < 0 || first > AMOUNT_OF_PINS || second > AMOUNT_OF_PINS || third > AMOUNT_OF_PINS) {
+				return super.countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, ruleset);
+			}
+			int entry = FRAMES[(first * PINS_PER_ROLL + second) * PINS_PER_ROLL + third];
+			points += entry >>> 2;
+			checkedRoll += entry & 3;
+		}
+		runningScore.setFrame(frame);
+		for (; checkedRoll < amountOfRolls; checkedRoll++) {
+			points += this.countNextRoll(runningScore, knockedOverPinsPerRoll[checkedRoll], ruleset);
+		}
+		return points;
+	}
+
+	/**
+	 * Check if no roll was counted into a {@link RunningScore} yet.
+	 *
+	 * @param runningScore The {@link RunningScore} to check.
+	 * @return True if the running score is on the first roll without any bonus.
+	 */
+	private static boolean isEmpty(RunningScore runningScore) {
+		return runningScore.getFrame() == 0 && runningScore.getRollInFrame() == 0 && runningScore.getPinsInFrame() == 0
+				&& runningScore.getBonusOfNextRoll() == 0 && runningScore.getBonusOfSecondNextRoll() == 0;
+	}
+
+	/**
+	 * Compute the score and amount of rolls of every possible frame. A strike is
+	 * one roll and counts the next two rolls as bonus, a spare counts the next
+	 * roll as bonus and an open frame counts its two rolls.
+	 *
+	 * @return The table of all frames.
+	 */
+	private static int[] createFrames() {
+		int[] frames = new int[PINS_PER_ROLL * PINS_PER_ROLL * PINS_PER_ROLL];
+		for (int first = 0; first <= AMOUNT_OF_PINS; first++) {
+			for (int second = 0; second <= AMOUNT_OF_PINS; second++) {
+				for (int third = 0; third <= AMOUNT_OF_PINS; third++) {
+					int score;
+					int amountOfRolls;
+					if (first == AMOUNT_OF_PINS) {
+						score = AMOUNT_OF_PINS + second + third;
+						amountOfRolls = 1;
+					} else if (first + second == AMOUNT_OF_PINS) {
+						score = AMOUNT_OF_PINS + third;
+						amountOfRolls = 2;
+					} else {
+						score = first + second;
+						amountOfRolls = 2;
+					}
+					frames[(first * PINS_PER_ROLL + second) * PINS_PER_ROLL + third] = score << 2 | amountOfRolls;
+				}
+			}
+		}
+		return frames;
+	}
+}
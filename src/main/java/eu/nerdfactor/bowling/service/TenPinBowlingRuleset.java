@@ -8,6 +8,19 @@ import org.springframework.stereotype.Component;
 @Component
 public class TenPinBowlingRuleset implements BowlingRuleset {
 
+	/**
+	 * The id of the ten pin bowling ruleset.
+	 */
+	public static final String ID = "ten-pin";
+
+	/**
+	 * The id the ruleset is referenced with by the games that are played with it.
+	 */
+	@Override
+	public String id() {
+		return ID;
+	}
+
 	/**
 	 * The amount of maximum rolls in a game.The player has 2 rolls in
 	 * 10 frames each. The amount rolls can only exceed 20, if the last
@@ -37,6 +50,14 @@ public class TenPinBowlingRuleset implements BowlingRuleset {
 		return 10;
 	}
 
+	/**
+	 * The amount of rolls in a frame. A strike ends the frame after the first roll.
+	 */
+	@Override
+	public int amountOfRollsPerFrame() {
+		return 2;
+	}
+
 	/**
 	 * The amount of pins a bowling game has.
 	 */
@@ -1,29 +1,20 @@
 package eu.nerdfactor.bowling.service;
 
 import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
 import org.springframework.stereotype.Component;
 
 /**
- * A strategy implementation for scoring a ten pin bowling game.
+ * A strategy implementation for scoring a ten pin bowling game. The strategy is
+ * stateless and can be shared between threads.
  */
 @Component
 public class TenPinBowlingScoring implements ScoringStrategy {
 
-	/**
-	 * The score {@link BowlingGame}.
-	 */
-	private BowlingGame game;
-
-	/**
-	 * The {@link BowlingRuleset} used during scoring.
-	 */
-	private BowlingRuleset ruleset;
-
 	/**
 	 * Calculates the score for a {@link BowlingGame} using a specified {@link BowlingRuleset}.
-	 * It will check every frame for strikes, spares or open frames and count their score
-	 * accordingly. Can be called multiple times during the game and provides the correct
-	 * score for the current game state.
+	 * The knocked over pins of the game are counted with
+	 * {@link #countScore(int[], int, BowlingRuleset)} without copying them.
 	 *
 	 * @param game    The {@link BowlingGame} to score.
 	 * @param ruleset The {@link BowlingRuleset} use for scoring.
@@ -31,37 +22,118 @@ public class TenPinBowlingScoring implements ScoringStrategy {
 	 */
 	@Override
 	public int countScore(BowlingGame game, BowlingRuleset ruleset) {
-		this.game = game;
-		this.ruleset = ruleset;
+		return this.countScore(game.getKnockedOverPins(), game.amountOfPlayedRolls(), ruleset);
+	}
+
+	/**
+	 * Calculates the score for the knocked over pins of each roll using a specified
+	 * {@link BowlingRuleset}. It will check every frame for strikes, spares or open
+	 * frames and count their score accordingly. Can be called multiple times during
+	 * the game and provides the correct score for the current game state. Rolls that
+	 * were not played yet are counted without knocked over pins.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param ruleset                The {@link BowlingRuleset} use for scoring.
+	 * @return The total score.
+	 */
+	@Override
+	public int countScore(int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		int amountOfPins = ruleset.amountOfPins();
+		int amountOfFrames = ruleset.amountOfFrames();
 		int currentScore = 0;
 		int checkedRoll = 0;
-		for (int frame = 0; frame < ruleset.amountOfFrames(); frame++) {
-			if (game.isRollAStrike(checkedRoll, ruleset)) {
-				currentScore += countScoreForStrike(checkedRoll);
+		for (int frame = 0; frame < amountOfFrames && checkedRoll < amountOfRolls; frame++) {
+			int firstRoll = knockedOverPinsPerRoll[checkedRoll];
+			if (firstRoll == amountOfPins) {
+				currentScore += countScoreForStrike(knockedOverPinsPerRoll, amountOfRolls, checkedRoll, amountOfPins);
 				checkedRoll++;
-			} else if (game.isRollASpare(checkedRoll, ruleset)) {
-				currentScore += countScoreForSpare(checkedRoll);
+			} else if (firstRoll + knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, checkedRoll + 1) == amountOfPins) {
+				currentScore += countScoreForSpare(knockedOverPinsPerRoll, amountOfRolls, checkedRoll, amountOfPins);
 				checkedRoll += 2;
 			} else {
-				currentScore += countScoreForOpenFrame(checkedRoll);
+				currentScore += countScoreForOpenFrame(knockedOverPinsPerRoll, amountOfRolls, checkedRoll);
 				checkedRoll += 2;
 			}
 		}
 		return currentScore;
 	}
 
+	/**
+	 * Counts the next roll into a {@link RunningScore}. The knocked over pins are
+	 * counted once for a roll within the frames of the game and once more for each
+	 * pending strike or spare bonus. A strike adds a bonus to the next two rolls, a
+	 * spare adds a bonus to the next roll. Rolls after the last frame are only
+	 * counted as bonus.
+	 *
+	 * @param runningScore    The {@link RunningScore} that will be updated.
+	 * @param knockedOverPins The amount of knocked over pins in the next roll.
+	 * @param ruleset         The {@link BowlingRuleset} used for scoring.
+	 * @return The points the roll adds to the total score.
+	 */
+	@Override
+	public int countNextRoll(RunningScore runningScore, int knockedOverPins, BowlingRuleset ruleset) {
+		int points = knockedOverPins * runningScore.getBonusOfNextRoll();
+		runningScore.setBonusOfNextRoll(runningScore.getBonusOfSecondNextRoll());
+		runningScore.setBonusOfSecondNextRoll(0);
+		if (runningScore.getFrame() >= ruleset.amountOfFrames()) {
+			return points;
+		}
+		points += knockedOverPins;
+		if (runningScore.getRollInFrame() == 0 && knockedOverPins == ruleset.amountOfPins()) {
+			// a strike counts the next two rolls as bonus.
+			runningScore.setBonusOfNextRoll(runningScore.getBonusOfNextRoll() + 1);
+			runningScore.setBonusOfSecondNextRoll(runningScore.getBonusOfSecondNextRoll() + 1);
+			runningScore.nextFrame();
+		} else if (runningScore.getRollInFrame() == 0) {
+			runningScore.setRollInFrame(1);
+			runningScore.setPinsInFrame(knockedOverPins);
+		} else {
+			if (runningScore.getPinsInFrame() + knockedOverPins == ruleset.amountOfPins()) {
+				// a spare counts the next roll as bonus.
+				runningScore.setBonusOfNextRoll(runningScore.getBonusOfNextRoll() + 1);
+			}
+			runningScore.nextFrame();
+		}
+		return points;
+	}
+
+	/**
+	 * Counts the knocked over pins of the first rolls of a game into a {@link RunningScore}
+	 * with {@link #countNextRoll(RunningScore, int, BowlingRuleset)}. The loop is kept in
+	 * this class, so that the rolls are counted by ten pin scoring only, no matter which
+	 * other strategies are used in the same application.
+	 *
+	 * @param runningScore           The {@link RunningScore} that will be updated.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that are counted.
+	 * @param ruleset                The {@link BowlingRuleset} used for scoring.
+	 * @return The points the rolls add to the total score.
+	 */
+	@Override
+	public int countRolls(RunningScore runningScore, int[] knockedOverPinsPerRoll, int amountOfRolls, BowlingRuleset ruleset) {
+		int points = 0;
+		for (int roll = 0; roll < amountOfRolls; roll++) {
+			points += this.countNextRoll(runningScore, knockedOverPinsPerRoll[roll], ruleset);
+		}
+		return points;
+	}
 
 	/**
 	 * Calculates the score for a strike.
 	 * The score for a strike is counted by adding the knocked over pins (not the score) of
 	 * the next two rolls to the amount of knocked over pins from the strike (always the maximum).
 	 *
-	 * @param roll The roll that should be checked. Assumes that the checked roll is the first roll in the frame.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param roll                   The roll that should be checked. Assumes that the checked roll is the first roll in the frame.
+	 * @param amountOfPins           The amount of pins in the game.
 	 * @return The score for the strike.
 	 */
-	private int countScoreForStrike(int roll) {
-		int strikeBonus = game.getKnockedOverPinsOfRoll(roll + 1) + game.getKnockedOverPinsOfRoll(roll + 2);
-		return strikeBonus + ruleset.amountOfPins();
+	private static int countScoreForStrike(int[] knockedOverPinsPerRoll, int amountOfRolls, int roll, int amountOfPins) {
+		int strikeBonus = knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, roll + 1)
+				+ knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, roll + 2);
+		return strikeBonus + amountOfPins;
 	}
 
 	/**
@@ -69,12 +141,15 @@ public class TenPinBowlingScoring implements ScoringStrategy {
 	 * The score for a spare is counted by adding the knocked over pins (not the score) of
 	 * the first roll in the next frame to the knocked over pins from the spare (always the maximum).
 	 *
-	 * @param roll The roll that should be checked. Assumes that the checked roll is the first roll in the frame.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param roll                   The roll that should be checked. Assumes that the checked roll is the first roll in the frame.
+	 * @param amountOfPins           The amount of pins in the game.
 	 * @return The score of the spare.
 	 */
-	private int countScoreForSpare(int roll) {
-		int spareBonus = game.getKnockedOverPinsOfRoll(roll + 2);
-		return spareBonus + ruleset.amountOfPins();
+	private static int countScoreForSpare(int[] knockedOverPinsPerRoll, int amountOfRolls, int roll, int amountOfPins) {
+		int spareBonus = knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, roll + 2);
+		return spareBonus + amountOfPins;
 	}
 
 	/**
@@ -82,10 +157,25 @@ public class TenPinBowlingScoring implements ScoringStrategy {
 	 * An open frame is a frame that not is a spare or strike. The score is calculated by
 	 * adding the knocked over pins of both rolls.
 	 *
-	 * @param roll The roll that should be checked. Assumes that the checked roll is the first roll in the frame.
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param roll                   The roll that should be checked. Assumes that the checked roll is the first roll in the frame.
 	 * @return The score of the open frame.
 	 */
-	private int countScoreForOpenFrame(int roll) {
-		return game.getKnockedOverPinsOfRoll(roll) + game.getKnockedOverPinsOfRoll(roll + 1);
+	private static int countScoreForOpenFrame(int[] knockedOverPinsPerRoll, int amountOfRolls, int roll) {
+		return knockedOverPinsPerRoll[roll] + knockedOverPinsOfRoll(knockedOverPinsPerRoll, amountOfRolls, roll + 1);
+	}
+
+	/**
+	 * Get the knocked over pins of a roll. A roll that was not played yet
+	 * did not knock over any pins.
+	 *
+	 * @param knockedOverPinsPerRoll The amount of knocked over pins for each roll.
+	 * @param amountOfRolls          The amount of rolls that were played.
+	 * @param roll                   The specified roll.
+	 * @return The amount of pins knocked over in the roll.
+	 */
+	private static int knockedOverPinsOfRoll(int[] knockedOverPinsPerRoll, int amountOfRolls, int roll) {
+		return roll < amountOfRolls ? knockedOverPinsPerRoll[roll] : 0;
 	}
 }
@@ -1,16 +1,20 @@
 package eu.nerdfactor.bowling.validation;
 
-import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
-public class MaxCurrentRollsValidator implements ConstraintValidator<MaxCurrentRolls, Object> {
+public class MaxCurrentRollsValidator implements ConstraintValidator<MaxCurrentRolls, Integer> {
 
+	/**
+	 * The registry of all rulesets. A single field does not know the ruleset of
+	 * its game, so it is checked against the loosest limit of all rulesets.
+	 */
 	@Autowired
-	private BowlingRuleset bowlingRuleset;
+	private BowlingRulesetRegistry rulesetRegistry;
 
 	@Override
 	public void initialize(MaxCurrentRolls constraintAnnotation) {
@@ -18,13 +22,10 @@ public class MaxCurrentRollsValidator implements ConstraintValidator<MaxCurrentR
 	}
 
 	@Override
-	public boolean isValid(Object value, ConstraintValidatorContext context) {
-		if (this.bowlingRuleset == null) {
+	public boolean isValid(Integer value, ConstraintValidatorContext context) {
+		if (this.rulesetRegistry == null || value == null) {
 			return false;
 		}
-		if (value instanceof Integer || value instanceof Long) {
-			return !bowlingRuleset.wouldExceedMaxRolls(((int) value) - 1);
-		}
-		return false;
+		return value <= this.rulesetRegistry.amountOfMaxRolls();
 	}
 }
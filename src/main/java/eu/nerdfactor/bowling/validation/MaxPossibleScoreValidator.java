@@ -1,16 +1,19 @@
 package eu.nerdfactor.bowling.validation;
 
-import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
-public class MaxPossibleScoreValidator implements ConstraintValidator<MaxPossibleScore, Object> {
+public class MaxPossibleScoreValidator implements ConstraintValidator<MaxPossibleScore, Integer> {
 
+	/**
+	 * The registry of all rulesets, whose highest maximum score is allowed.
+	 */
 	@Autowired
-	private BowlingRuleset bowlingRuleset;
+	private BowlingRulesetRegistry rulesetRegistry;
 
 	@Override
 	public void initialize(MaxPossibleScore constraintAnnotation) {
@@ -18,13 +21,10 @@ public class MaxPossibleScoreValidator implements ConstraintValidator<MaxPossibl
 	}
 
 	@Override
-	public boolean isValid(Object value, ConstraintValidatorContext context) {
-		if (this.bowlingRuleset == null) {
+	public boolean isValid(Integer value, ConstraintValidatorContext context) {
+		if (this.rulesetRegistry == null || value == null) {
 			return false;
 		}
-		if (value instanceof Integer || value instanceof Long) {
-			return ((int) value) <= this.bowlingRuleset.amountOfMaxScore();
-		}
-		return false;
+		return value <= this.rulesetRegistry.amountOfMaxScore();
 	}
 }
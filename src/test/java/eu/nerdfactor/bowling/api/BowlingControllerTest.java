@@ -3,7 +3,12 @@ package eu.nerdfactor.bowling.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.nerdfactor.bowling.entity.BowlingGame;
 import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import eu.nerdfactor.bowling.service.BowlingGameScore;
+import eu.nerdfactor.bowling.service.BowlingLeaderboard;
 import eu.nerdfactor.bowling.service.BowlingService;
+import eu.nerdfactor.bowling.service.RollAddedEvent;
+import eu.nerdfactor.bowling.service.RollBatchResult;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -11,14 +16,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -43,6 +55,12 @@ class BowlingControllerTest {
 	@MockBean
 	BowlingService bowlingService;
 
+	@Autowired
+	BowlingGameEventRegistry eventRegistry;
+
+	@Autowired
+	BowlingLeaderboard leaderboard;
+
 	/**
 	 * Setup by deleting all existing {@link BowlingGame Games} and creating on specific {@link BowlingGame} that
 	 * can be tested for.
@@ -78,10 +96,126 @@ class BowlingControllerTest {
 	void scoreOfGameCanBeCounted() throws Exception {
 		BowlingGame mockGame = BowlingGame.createTestGame(2, 69, 21, List.of(3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 3, 2));
 		Mockito.when(bowlingService.calculateCurrentScore(anyInt()))
-				.thenReturn(mockGame);
+				.thenReturn(BowlingGameScore.of(mockGame));
 
 		mockMvc.perform(get(API_PATH + "/1/score"))
 				.andExpect(status().isOk())
 				.andExpect(content().json(jsonMapper.writeValueAsString(mockGame)));
 	}
+
+	/**
+	 * Check if a batch of rolls can be added to multiple {@link BowlingGame Games}.
+	 */
+	@Test
+	void batchOfRollsCanBeAddedToGames() throws Exception {
+		Mockito.when(bowlingService.addRolls(anyList()))
+				.thenReturn(List.of(
+						new RollBatchResult(1, 3, 24, null),
+						new RollBatchResult(3, 0, 0, RollBatchResult.Error.GAME_NOT_FOUND)
+				));
+
+		mockMvc.perform(post(API_PATH + "/rolls")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[{\"gameId\": 1, \"pins\": 10}, {\"gameId\": 1, \"pins\": [3, 4]}]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].gameId").value(1))
+				.andExpect(jsonPath("$[0].accepted").value(true))
+				.andExpect(jsonPath("$[0].currentScore").value(24))
+				.andExpect(jsonPath("$[1].accepted").value(false))
+				.andExpect(jsonPath("$[1].error").value("GAME_NOT_FOUND"));
+	}
+
+	/**
+	 * Check if the score of an unchanged {@link BowlingGame} is not sent again
+	 * to a client that already knows it.
+	 */
+	@Test
+	void unchangedScoreIsNotSentAgain() throws Exception {
+		BowlingGame mockGame = BowlingGame.createTestGame(2, 6, 2, List.of(3, 3));
+		Mockito.when(bowlingService.calculateCurrentScore(anyInt()))
+				.thenReturn(BowlingGameScore.of(mockGame));
+
+		String eTag = mockMvc.perform(get(API_PATH + "/2/score"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn()
+				.getResponse()
+				.getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get(API_PATH + "/2/score").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		Mockito.when(bowlingService.calculateCurrentScore(anyInt()))
+				.thenReturn(BowlingGameScore.of(BowlingGame.createTestGame(2, 9, 3, List.of(3, 3, 3))));
+		mockMvc.perform(get(API_PATH + "/2/score").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.currentScore").value(9));
+	}
+
+	/**
+	 * Check if added rolls are pushed to subscribers of a {@link BowlingGame}.
+	 */
+	@Test
+	void rollsArePushedToSubscribers() throws Exception {
+		Mockito.when(bowlingService.calculateCurrentScore(anyInt()))
+				.thenReturn(BowlingGameScore.of(BowlingGame.createTestGame(2, 6, 2, List.of(3, 3))));
+
+		MvcResult result = mockMvc.perform(get(API_PATH + "/2/events"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		eventRegistry.onRollAdded(new RollAddedEvent(2, "ten-pin", 3, 2, 7, 13));
+		eventRegistry.onRollAdded(new RollAddedEvent(1, "ten-pin", 1, 1, 5, 5));
+
+		String content = "";
+		for (int attempt = 0; attempt < 50 && !content.contains("event:roll"); attempt++) {
+			Thread.sleep(100);
+			content = result.getResponse().getContentAsString();
+		}
+		Assertions.assertTrue(content.contains("id:3"));
+		Assertions.assertTrue(content.contains("event:roll"));
+		Assertions.assertTrue(content.contains("\"currentScore\":13"));
+		Assertions.assertFalse(content.contains("\"currentScore\":5"));
+	}
+
+	/**
+	 * Check if a game can be started with a registered ruleset and is rejected
+	 * with an unknown ruleset.
+	 */
+	@Test
+	void gameCanBeStartedWithRuleset() throws Exception {
+		mockMvc.perform(post(API_PATH + "/start").param("ruleset", "candlepin"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.rulesetId").value("candlepin"));
+		mockMvc.perform(post(API_PATH + "/start"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.rulesetId").value("ten-pin"));
+		mockMvc.perform(post(API_PATH + "/start").param("ruleset", "lawn-bowls"))
+				.andExpect(status().isBadRequest());
+	}
+
+	/**
+	 * Check if the leaderboard lists the highest scores of a ruleset and rejects
+	 * unknown windows.
+	 */
+	@Test
+	void leaderboardListsHighestScores() throws Exception {
+		leaderboard.onRollAdded(new RollAddedEvent(1, "nine-pin", 1, 1, 9, 9));
+		leaderboard.onRollAdded(new RollAddedEvent(2, "nine-pin", 2, 1, 8, 17));
+		leaderboard.onRollAdded(new RollAddedEvent(1, "nine-pin", 2, 2, 5, 14));
+
+		mockMvc.perform(get(API_PATH + "/leaderboard").param("window", "all-time").param("ruleset", "nine-pin"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].rank").value(1))
+				.andExpect(jsonPath("$[0].gameId").value(2))
+				.andExpect(jsonPath("$[0].currentScore").value(17))
+				.andExpect(jsonPath("$[1].gameId").value(1))
+				.andExpect(jsonPath("$[1].currentScore").value(14))
+				.andExpect(jsonPath("$.length()").value(2));
+		mockMvc.perform(get(API_PATH + "/leaderboard").param("ruleset", "nine-pin").param("limit", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get(API_PATH + "/leaderboard").param("window", "yesterday"))
+				.andExpect(status().isBadRequest());
+	}
 }
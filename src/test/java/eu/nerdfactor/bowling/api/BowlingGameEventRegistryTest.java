@@ -0,0 +1,47 @@
+package eu.nerdfactor.bowling.api;
+
+import eu.nerdfactor.bowling.config.BowlingEventProperties;
+import eu.nerdfactor.bowling.service.RollAddedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link BowlingGameEventRegistry}.
+ */
+class BowlingGameEventRegistryTest {
+
+	BowlingGameEventRegistry eventRegistry = new BowlingGameEventRegistry(new BowlingEventProperties());
+
+	@AfterEach
+	void tearDownRegistry() {
+		this.eventRegistry.destroy();
+	}
+
+	/**
+	 * Check if subscriptions are limited to the configured amount of subscribers.
+	 */
+	@Test
+	void subscriptionsAreLimited() {
+		BowlingEventProperties properties = new BowlingEventProperties();
+		properties.setMaxSubscribers(1);
+		BowlingGameEventRegistry limitedRegistry = new BowlingGameEventRegistry(properties);
+
+		Assertions.assertNotNull(limitedRegistry.subscribe(1));
+		Assertions.assertNull(limitedRegistry.subscribe(2));
+		Assertions.assertEquals(1, limitedRegistry.amountOfSubscribers());
+		limitedRegistry.destroy();
+	}
+
+	/**
+	 * Check if rolls that are added after the registry was destroyed are not
+	 * sent and don't fail the thread that added the roll.
+	 */
+	@Test
+	void rollsAfterDestroyAreIgnored() {
+		Assertions.assertNotNull(this.eventRegistry.subscribe(2));
+		this.eventRegistry.destroy();
+
+		Assertions.assertDoesNotThrow(() -> this.eventRegistry.onRollAdded(new RollAddedEvent(2, "ten-pin", 1, 0, 7, 7)));
+	}
+}
@@ -0,0 +1,61 @@
+package eu.nerdfactor.bowling.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Test for the {@link BowlingGameLinkFactory}.
+ */
+class BowlingGameLinkFactoryTest {
+
+	BowlingGameLinkFactory linkFactory = new BowlingGameLinkFactory();
+
+	MockHttpServletRequest request;
+
+	@BeforeEach
+	void setUpRequest() {
+		this.request = new MockHttpServletRequest("GET", "/api/v1/bowling");
+		this.request.setScheme("https");
+		this.request.setServerName("bowling.example");
+		this.request.setServerPort(8443);
+		this.request.setContextPath("/lanes");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(this.request));
+	}
+
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	/**
+	 * Check if the created self links are the same as the links to the game.
+	 */
+	@Test
+	void selfLinksAreTheSameAsLinksToGames() {
+		for (int id : new int[]{1, 42, Integer.MAX_VALUE}) {
+			Link expected = linkTo(methodOn(BowlingRestController.class).readGame(id)).withSelfRel();
+			Link created = this.linkFactory.selfLink(id);
+			Assertions.assertEquals(expected.getHref(), created.getHref());
+			Assertions.assertEquals(expected.getRel(), created.getRel());
+		}
+	}
+
+	/**
+	 * Check if the uri of the games is only resolved once for each request.
+	 */
+	@Test
+	void gamesUriIsResolvedOncePerRequest() {
+		String gamesUri = this.linkFactory.gamesUri();
+		Assertions.assertEquals("https://bowling.example:8443/lanes/api/v1/bowling", gamesUri);
+		Assertions.assertSame(gamesUri, this.linkFactory.gamesUri());
+	}
+}
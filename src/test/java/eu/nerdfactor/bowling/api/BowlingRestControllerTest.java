@@ -3,6 +3,9 @@ package eu.nerdfactor.bowling.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.nerdfactor.bowling.entity.BowlingGame;
 import eu.nerdfactor.bowling.service.BowlingGameCrudService;
+import eu.nerdfactor.bowling.service.BowlingGamePage;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,16 +15,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
 /**
@@ -47,7 +52,8 @@ class BowlingRestControllerTest {
 	BowlingGameCrudService gameCrudService;
 
 	/**
-	 * Check if {@link BowlingGame Games} can be listed.
+	 * Check if a page of {@link BowlingGame Games} can be listed with a link
+	 * to the next page.
 	 */
 	@Test
 	void gamesCanBeListed() throws Exception {
@@ -55,12 +61,44 @@ class BowlingRestControllerTest {
 				BowlingGame.createTestGame(1, 10),
 				BowlingGame.createTestGame(2, 10)
 		);
-		Mockito.when(gameCrudService.listGames())
-				.thenReturn(mockGames);
+		Mockito.when(gameCrudService.listGames(any(), any(), anyInt()))
+				.thenReturn(new BowlingGamePage(mockGames, false, true));
 
-		mockMvc.perform(get(API_PATH))
+		mockMvc.perform(get(API_PATH).param("size", "2"))
 				.andExpect(status().isOk())
-				.andExpect(content().json(jsonMapper.writeValueAsString(mockGames)));
+				.andExpect(content().json("{\"_embedded\": {\"bowlingGames\": " + jsonMapper.writeValueAsString(mockGames) + "}}"))
+				.andExpect(jsonPath("$._links.next.href").value(Matchers.endsWith(API_PATH + "?after=2&size=2")))
+				.andExpect(jsonPath("$._links.prev").doesNotExist());
+	}
+
+	/**
+	 * Check if all {@link BowlingGame Games} can be streamed as newline
+	 * delimited json.
+	 */
+	@Test
+	void gamesCanBeStreamed() throws Exception {
+		List<BowlingGame> mockGames = Arrays.asList(
+				BowlingGame.createTestGame(1, 10),
+				BowlingGame.createTestGame(2, 20)
+		);
+		Mockito.doAnswer(invocation -> {
+			Consumer<BowlingGame> consumer = invocation.getArgument(0);
+			mockGames.forEach(consumer);
+			return null;
+		}).when(gameCrudService).streamGames(any());
+
+		MvcResult result = mockMvc.perform(get(API_PATH + "/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String[] lines = mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andReturn()
+				.getResponse()
+				.getContentAsString()
+				.split("\n");
+		Assertions.assertEquals(2, lines.length);
+		Assertions.assertEquals(20, this.jsonMapper.readTree(lines[1]).get("currentScore").asInt());
 	}
 
 	/**
@@ -0,0 +1,88 @@
+package eu.nerdfactor.bowling.api;
+
+import eu.nerdfactor.bowling.service.BowlingService;
+import eu.nerdfactor.bowling.service.RollBatchEntry;
+import eu.nerdfactor.bowling.service.RollBatchResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+/**
+ * Test for the {@link LaneRollWebSocketHandler} and its {@link LaneRollProtocol}.
+ */
+class LaneRollWebSocketHandlerTest {
+
+	BowlingService bowlingService = Mockito.mock(BowlingService.class);
+
+	LaneRollWebSocketHandler handler = new LaneRollWebSocketHandler(bowlingService);
+
+	WebSocketSession session = Mockito.mock(WebSocketSession.class);
+
+	/**
+	 * Check if all rolls of a message are added as one batch and acked in order.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void rollsOfMessageAreAckedInOrder() throws Exception {
+		Mockito.when(bowlingService.addRolls(anyList())).thenReturn(List.of(
+				new RollBatchResult(1, 1, 10, null),
+				new RollBatchResult(70000, 0, 0, RollBatchResult.Error.GAME_NOT_FOUND),
+				new RollBatchResult(1, 2, 290, null)
+		));
+
+		ByteBuffer rolls = ByteBuffer.allocate(3 * LaneRollProtocol.ROLL_SIZE)
+				.putInt(1).put((byte) 10)
+				.putInt(70000).put((byte) 3)
+				.putInt(1).put((byte) 200)
+				.flip();
+		handler.handleMessage(session, new BinaryMessage(rolls));
+
+		ArgumentCaptor<List<RollBatchEntry>> entries = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(bowlingService).addRolls(entries.capture());
+		Assertions.assertEquals(3, entries.getValue().size());
+		Assertions.assertEquals(70000, entries.getValue().get(1).getGameId());
+		Assertions.assertArrayEquals(new int[]{200}, entries.getValue().get(2).getKnockedOverPins());
+
+		ArgumentCaptor<BinaryMessage> sent = ArgumentCaptor.forClass(BinaryMessage.class);
+		Mockito.verify(session).sendMessage(sent.capture());
+		ByteBuffer acks = sent.getValue().getPayload();
+		Assertions.assertEquals(3 * LaneRollProtocol.ACK_SIZE, acks.remaining());
+
+		Assertions.assertEquals(1, acks.getInt());
+		Assertions.assertEquals(LaneRollProtocol.STATUS_ACCEPTED, acks.get());
+		Assertions.assertEquals(1, Byte.toUnsignedInt(acks.get()));
+		Assertions.assertEquals(10, Short.toUnsignedInt(acks.getShort()));
+
+		Assertions.assertEquals(70000, acks.getInt());
+		Assertions.assertEquals(RollBatchResult.Error.GAME_NOT_FOUND.ordinal() + 1, acks.get());
+		acks.get();
+		acks.getShort();
+
+		Assertions.assertEquals(1, acks.getInt());
+		Assertions.assertEquals(LaneRollProtocol.STATUS_ACCEPTED, acks.get());
+		Assertions.assertEquals(2, Byte.toUnsignedInt(acks.get()));
+		Assertions.assertEquals(290, Short.toUnsignedInt(acks.getShort()));
+	}
+
+	/**
+	 * Check if a connection that sends incomplete rolls is closed.
+	 */
+	@Test
+	void malformedMessageClosesConnection() throws Exception {
+		handler.handleMessage(session, new BinaryMessage(new byte[]{0, 0, 0, 1}));
+
+		Mockito.verify(session).close(CloseStatus.BAD_DATA);
+		Mockito.verify(session, Mockito.never()).sendMessage(any());
+		Mockito.verifyNoInteractions(bowlingService);
+	}
+}
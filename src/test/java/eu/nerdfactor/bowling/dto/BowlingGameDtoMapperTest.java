@@ -0,0 +1,42 @@
+package eu.nerdfactor.bowling.dto;
+
+import eu.nerdfactor.bowling.config.MappingConfig;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+/**
+ * Test for the {@link BowlingGameDtoMapper}.
+ */
+class BowlingGameDtoMapperTest {
+
+	BowlingGameDtoMapper dtoMapper = new BowlingGameDtoMapper();
+
+	ModelMapper modelMapper = new MappingConfig().getModelMapper();
+
+	/**
+	 * Check if a {@link BowlingGame} is mapped the same way the {@link ModelMapper} did.
+	 */
+	@Test
+	void gameIsMappedLikeModelMapper() {
+		BowlingGame game = BowlingGame.createTestGame(2, 69, 21, List.of(3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 3, 2));
+		BowlingGameDto expected = this.modelMapper.map(game, BowlingGameDto.class);
+		BowlingGameDto mapped = this.dtoMapper.toDto(game);
+		Assertions.assertEquals(expected.getId(), mapped.getId());
+		Assertions.assertEquals(expected.getCurrentRoll(), mapped.getCurrentRoll());
+		Assertions.assertEquals(expected.getCurrentScore(), mapped.getCurrentScore());
+		Assertions.assertArrayEquals(expected.getKnockedOverPinsPerRoll(), mapped.getKnockedOverPinsPerRoll());
+	}
+
+	/**
+	 * Check if only the played rolls of a {@link BowlingGame} are mapped.
+	 */
+	@Test
+	void onlyPlayedRollsAreMapped() {
+		BowlingGame game = BowlingGame.createTestGame(1, 2, List.of(3, 4, 0, 0, 0));
+		Assertions.assertArrayEquals(new int[]{3, 4}, this.dtoMapper.toDto(game).getKnockedOverPinsPerRoll());
+	}
+}
@@ -0,0 +1,44 @@
+package eu.nerdfactor.bowling.entity;
+
+import eu.nerdfactor.bowling.service.BowlingRuleset;
+import eu.nerdfactor.bowling.service.TenPinBowlingRuleset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+/**
+ * Test for the invariants a {@link BowlingGame} checks itself.
+ */
+class BowlingGameTest {
+
+	BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	/**
+	 * Check if a game rejects a roll after its maximum amount of rolls
+	 * without changing.
+	 */
+	@Test
+	void rollAfterMaxRollsIsRejected() {
+		BowlingGame game = BowlingGame.createTestGame(1, 21, Collections.nCopies(21, 3));
+		Assertions.assertThrows(IllegalStateException.class, () -> game.nextRoll(3, 3, this.bowlingRuleset));
+		Assertions.assertEquals(21, game.getCurrentRoll());
+	}
+
+	/**
+	 * Check if a game rejects points that would exceed the maximum score
+	 * of its ruleset without changing.
+	 */
+	@Test
+	void impossibleScoreIsRejected() {
+		BowlingGame game = BowlingGame.createTestGame(1, 295);
+		game.nextRoll(5, 5, this.bowlingRuleset);
+		Assertions.assertThrows(IllegalStateException.class, () -> game.nextRoll(5, 1, this.bowlingRuleset));
+		Assertions.assertEquals(300, game.getCurrentScore());
+		Assertions.assertEquals(1, game.getCurrentRoll());
+
+		Assertions.assertThrows(IllegalStateException.class, () -> game.resetRunningScore(new RunningScore(), 301, this.bowlingRuleset));
+		Assertions.assertThrows(IllegalStateException.class, () -> game.resetRunningScore(new RunningScore(), -1, this.bowlingRuleset));
+		Assertions.assertEquals(300, game.getCurrentScore());
+	}
+}
@@ -0,0 +1,45 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Test for the {@link BowlingGameSequenceMigration}.
+ */
+@SpringBootTest
+class BowlingGameSequenceMigrationTest {
+
+	@Autowired
+	BowlingGameSequenceMigration sequenceMigration;
+
+	@Autowired
+	BowlingGameRepository gameRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Check if the next pool of ids of the sequence follows a game that was stored
+	 * with a higher id, like a game with an id of the former identity column. The
+	 * ids of the pools that were already taken by the running application are not
+	 * affected, so the sequence is checked directly.
+	 */
+	@Test
+	void sequenceIsRestartedAfterHighestId() {
+		int highestId = 1_000_000;
+		BowlingGame stored = this.gameRepository.save(new BowlingGame());
+		this.jdbcTemplate.update("update \"bowling_game\" set \"id\" = ? where \"id\" = ?", highestId, stored.getId());
+		try {
+			this.sequenceMigration.afterPropertiesSet();
+			Long nextId = this.jdbcTemplate.queryForObject("select next value for \"bowling_game_seq\"", Long.class);
+			Assertions.assertNotNull(nextId);
+			Assertions.assertTrue(nextId - BowlingGame.ID_ALLOCATION_SIZE >= highestId);
+		} finally {
+			this.gameRepository.deleteById(highestId);
+		}
+	}
+}
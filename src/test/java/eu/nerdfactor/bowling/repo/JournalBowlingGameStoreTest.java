@@ -0,0 +1,225 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.config.BowlingStorageProperties;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.service.BowlingGameLocks;
+import eu.nerdfactor.bowling.service.BowlingRules;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
+import eu.nerdfactor.bowling.service.TenPinBowlingRuleset;
+import eu.nerdfactor.bowling.service.TenPinBowlingScoring;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+/**
+ * Test for the {@link JournalBowlingGameStore}.
+ */
+class JournalBowlingGameStoreTest {
+
+	@TempDir
+	Path journalDirectory;
+
+	@TempDir
+	Path staleDirectory;
+
+	BowlingGameRepository gameRepository = Mockito.mock(BowlingGameRepository.class);
+
+	BowlingStorageProperties properties = new BowlingStorageProperties();
+
+	BowlingGameLocks gameLocks = new BowlingGameLocks(16);
+
+	TenPinBowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	BowlingRulesetRegistry rulesetRegistry = new BowlingRulesetRegistry(
+			List.of(new BowlingRules(new TenPinBowlingRuleset(), new TenPinBowlingScoring())), TenPinBowlingRuleset.ID);
+
+	@BeforeEach
+	void setUpProperties() {
+		this.properties.setMode(BowlingStorageProperties.Mode.JOURNAL);
+		this.properties.setDurability(BowlingStorageProperties.Durability.ROLLS);
+		this.properties.setFlushAfterRolls(1);
+		this.properties.setJournalDirectory(this.journalDirectory.toString());
+	}
+
+	@BeforeEach
+	void setUpRepository() {
+		Mockito.when(this.gameRepository.findExistingIds(any())).thenAnswer(invocation -> List.copyOf(invocation.<List<Integer>>getArgument(0)));
+	}
+
+	/**
+	 * Check if rolls are only appended to the journal and replayed onto the
+	 * stored game by the next store.
+	 */
+	@Test
+	void journaledRollsAreReplayedOnStartup() {
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore gameStore = this.createStore();
+		BowlingGame game = gameStore.findById(1).orElseThrow();
+		game.nextRoll(10, 10, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+		game.nextRoll(3, 6, this.bowlingRuleset);
+		game.nextRoll(4, 8, this.bowlingRuleset);
+		gameStore.saveRolls(List.of(game), 2);
+		Mockito.verify(this.gameRepository, Mockito.never()).save(any());
+		Mockito.verify(this.gameRepository, Mockito.never()).saveAll(anyIterable());
+
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore restartedStore = this.createStore();
+		BowlingGame replayed = restartedStore.findById(1).orElseThrow();
+		Assertions.assertEquals(List.of(10, 3, 4), replayed.getKnockedOverPinsPerRoll());
+		Assertions.assertTrue(replayed.hasOutdatedRunningScore());
+	}
+
+	/**
+	 * Check if rolls that are already contained in the stored game are not
+	 * replayed again.
+	 */
+	@Test
+	void writtenRollsAreNotReplayedAgain() {
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore gameStore = this.createStore();
+		BowlingGame game = gameStore.findById(1).orElseThrow();
+		game.nextRoll(5, 5, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0, 1, List.of(5))));
+		JournalBowlingGameStore restartedStore = this.createStore();
+		Assertions.assertEquals(List.of(5), restartedStore.findById(1).orElseThrow().getKnockedOverPinsPerRoll());
+	}
+
+	/**
+	 * Check if the games of the latest snapshot are restored without the
+	 * repository and only the rolls after the snapshot are replayed.
+	 */
+	@Test
+	void snapshotIsLoadedBeforeJournalTail() {
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore gameStore = this.createStore();
+		BowlingGame game = gameStore.findById(1).orElseThrow();
+		game.nextRoll(10, 10, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+		gameStore.checkpoint();
+		game.nextRoll(3, 6, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.empty());
+		JournalBowlingGameStore restartedStore = this.createStore();
+		BowlingGame recovered = restartedStore.findById(1).orElseThrow();
+		Assertions.assertEquals(List.of(10, 3), recovered.getKnockedOverPinsPerRoll());
+		Assertions.assertEquals(10, recovered.getCurrentScore());
+		Assertions.assertEquals(1, recovered.getRunningScore().getScoredRolls());
+		Assertions.assertEquals(TenPinBowlingRuleset.ID, recovered.getRulesetId());
+	}
+
+	/**
+	 * Check if a journal segment before the snapshot, which could not be deleted
+	 * after the snapshot was written, is not replayed and deleted on startup.
+	 */
+	@Test
+	void segmentsBeforeSnapshotAreSkipped() throws IOException {
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore gameStore = this.createStore();
+		BowlingGame game = gameStore.findById(1).orElseThrow();
+		game.nextRoll(10, 10, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+		gameStore.checkpoint();
+		Path staleSegment;
+		try (RollJournal staleJournal = new RollJournal(this.staleDirectory, 1024)) {
+			staleJournal.append(1, 1, 9);
+		}
+		try (Stream<Path> segments = Files.list(this.staleDirectory)) {
+			staleSegment = segments.findFirst().orElseThrow().getFileName();
+		}
+		Files.copy(this.staleDirectory.resolve(staleSegment), this.journalDirectory.resolve(staleSegment));
+
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.empty());
+		JournalBowlingGameStore restartedStore = this.createStore();
+		Assertions.assertEquals(List.of(10), restartedStore.findById(1).orElseThrow().getKnockedOverPinsPerRoll());
+		Assertions.assertFalse(Files.exists(this.journalDirectory.resolve(staleSegment)));
+	}
+
+	/**
+	 * Check if a game of the snapshot, that was deleted after the snapshot was
+	 * written, is not recovered.
+	 */
+	@Test
+	void deletedGamesOfSnapshotAreDropped() {
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore gameStore = this.createStore();
+		BowlingGame game = gameStore.findById(1).orElseThrow();
+		game.nextRoll(10, 10, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+		gameStore.checkpoint();
+		gameStore.deleteById(1);
+
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.empty());
+		Mockito.when(this.gameRepository.findExistingIds(any())).thenReturn(List.of());
+		JournalBowlingGameStore restartedStore = this.createStore();
+		Assertions.assertTrue(restartedStore.findById(1).isEmpty());
+	}
+
+	/**
+	 * Check if a flush waits for a game that is changed under its lock and writes
+	 * a copy that contains the whole change.
+	 */
+	@Test
+	void copiesOfLockedGamesAreWritten() throws Exception {
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(BowlingGame.createTestGame(1, 0)));
+		Mockito.when(this.gameRepository.findAllById(anyIterable())).thenReturn(List.of(BowlingGame.createTestGame(1, 0)));
+		JournalBowlingGameStore gameStore = this.createStore();
+		BowlingGame game = gameStore.findById(1).orElseThrow();
+		game.nextRoll(3, 3, this.bowlingRuleset);
+		gameStore.saveRoll(game);
+
+		CountDownLatch locked = new CountDownLatch(1);
+		Thread rollingThread = new Thread(() -> {
+			Lock lock = this.gameLocks.lockFor(1);
+			lock.lock();
+			try {
+				locked.countDown();
+				Thread.sleep(100);
+				game.nextRoll(4, 4, this.bowlingRuleset);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				lock.unlock();
+			}
+		});
+		rollingThread.start();
+		Assertions.assertTrue(locked.await(5, TimeUnit.SECONDS));
+		gameStore.flush();
+		rollingThread.join();
+
+		ArgumentCaptor<List<BowlingGame>> written = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(this.gameRepository, Mockito.times(1)).saveAll(written.capture());
+		BowlingGame copy = written.getValue().get(0);
+		Assertions.assertNotSame(game, copy);
+		Assertions.assertEquals(List.of(3, 4), copy.getKnockedOverPinsPerRoll());
+		Assertions.assertEquals(7, copy.getCurrentScore());
+	}
+
+	private JournalBowlingGameStore createStore() {
+		JournalBowlingGameStore gameStore = new JournalBowlingGameStore(this.gameRepository, this.rulesetRegistry, this.gameLocks,
+				Mockito.mock(PlatformTransactionManager.class), this.properties);
+		gameStore.afterPropertiesSet();
+		return gameStore;
+	}
+}
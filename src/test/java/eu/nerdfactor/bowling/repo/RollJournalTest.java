@@ -0,0 +1,80 @@
+package eu.nerdfactor.bowling.repo;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test for the {@link RollJournal}.
+ */
+class RollJournalTest {
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * Check if appended rolls are replayed in order after the journal was
+	 * opened again, also if they span multiple segments.
+	 */
+	@Test
+	void appendedRollsAreReplayedAfterReopening() {
+		try (RollJournal journal = new RollJournal(this.directory, 2 * RollJournal.RECORD_SIZE)) {
+			journal.append(1, 0, 10);
+			journal.append(2, 0, 3);
+			journal.append(2, 1, 7);
+			journal.sync();
+		}
+
+		List<String> replayed = new ArrayList<>();
+		try (RollJournal journal = new RollJournal(this.directory, 2 * RollJournal.RECORD_SIZE)) {
+			long amountOfRolls = journal.replay(0, (gameId, roll, knockedOverPins, timestamp) ->
+					replayed.add(gameId + ":" + roll + ":" + knockedOverPins));
+			Assertions.assertEquals(3, amountOfRolls);
+		}
+		Assertions.assertEquals(List.of("1:0:10", "2:0:3", "2:1:7"), replayed);
+	}
+
+	/**
+	 * Check if deleted segments are not replayed, while rolls appended after
+	 * the next segment was started are kept.
+	 */
+	@Test
+	void deletedSegmentsAreNotReplayed() {
+		try (RollJournal journal = new RollJournal(this.directory, 1024)) {
+			journal.append(1, 0, 4);
+			long segment = journal.startNextSegment();
+			journal.append(1, 1, 5);
+			journal.deleteSegmentsBefore(segment);
+		}
+
+		List<Integer> replayed = new ArrayList<>();
+		try (RollJournal journal = new RollJournal(this.directory, 1024)) {
+			journal.replay(0, (gameId, roll, knockedOverPins, timestamp) -> replayed.add(knockedOverPins));
+		}
+		Assertions.assertEquals(List.of(5), replayed);
+	}
+
+	/**
+	 * Check if the segments before the first replayed segment are skipped,
+	 * even if they still exist.
+	 */
+	@Test
+	void olderSegmentsAreSkipped() {
+		long segment;
+		try (RollJournal journal = new RollJournal(this.directory, 1024)) {
+			journal.append(1, 0, 4);
+			segment = journal.startNextSegment();
+			journal.append(1, 1, 5);
+		}
+
+		List<Integer> replayed = new ArrayList<>();
+		try (RollJournal journal = new RollJournal(this.directory, 1024)) {
+			Assertions.assertEquals(1, journal.replay(segment, (gameId, roll, knockedOverPins, timestamp) -> replayed.add(knockedOverPins)));
+		}
+		Assertions.assertEquals(List.of(5), replayed);
+	}
+}
@@ -0,0 +1,191 @@
+package eu.nerdfactor.bowling.repo;
+
+import eu.nerdfactor.bowling.config.BowlingStorageProperties;
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.service.BowlingGameLocks;
+import eu.nerdfactor.bowling.service.BowlingRules;
+import eu.nerdfactor.bowling.service.BowlingRulesetRegistry;
+import eu.nerdfactor.bowling.service.TenPinBowlingRuleset;
+import eu.nerdfactor.bowling.service.TenPinBowlingScoring;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+/**
+ * Test for the {@link WriteBehindBowlingGameStore}.
+ */
+class WriteBehindBowlingGameStoreTest {
+
+	BowlingGameRepository gameRepository = Mockito.mock(BowlingGameRepository.class);
+
+	BowlingStorageProperties properties = new BowlingStorageProperties();
+
+	BowlingRulesetRegistry rulesetRegistry = new BowlingRulesetRegistry(
+			List.of(new BowlingRules(new TenPinBowlingRuleset(), new TenPinBowlingScoring())), TenPinBowlingRuleset.ID);
+
+	BowlingGameLocks gameLocks = new BowlingGameLocks(16);
+
+	PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+
+	WriteBehindBowlingGameStore gameStore;
+
+	@BeforeEach
+	void setUpStore() {
+		this.properties.setMode(BowlingStorageProperties.Mode.WRITE_BEHIND);
+		this.properties.setDurability(BowlingStorageProperties.Durability.ROLLS);
+		this.properties.setFlushAfterRolls(3);
+		this.gameStore = new WriteBehindBowlingGameStore(this.gameRepository, this.rulesetRegistry, this.gameLocks,
+				this.transactionManager, this.properties);
+	}
+
+	@AfterEach
+	void tearDownStore() {
+		this.gameStore.destroy();
+	}
+
+	/**
+	 * Check if rolls are kept in memory until the configured amount
+	 * of rolls is reached.
+	 */
+	@Test
+	void rollsAreWrittenAfterConfiguredAmountOfRolls() {
+		BowlingGame game = BowlingGame.createTestGame(1, 0);
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(game));
+		Mockito.when(this.gameRepository.findAllById(anyIterable())).thenReturn(List.of(game));
+
+		BowlingGame active = this.gameStore.findById(1).orElseThrow();
+		this.gameStore.saveRoll(active);
+		this.gameStore.saveRoll(active);
+		Mockito.verify(this.gameRepository, Mockito.never()).saveAll(anyIterable());
+
+		this.gameStore.saveRoll(active);
+		Mockito.verify(this.gameRepository, Mockito.times(1)).saveAll(anyIterable());
+		Mockito.verify(this.gameRepository, Mockito.times(1)).findById(1);
+	}
+
+	/**
+	 * Check if every roll of a batch is counted towards the configured amount
+	 * of rolls, not every game.
+	 */
+	@Test
+	void rollsOfBatchAreCountedTowardsConfiguredAmountOfRolls() {
+		BowlingGame game = BowlingGame.createTestGame(1, 0);
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(game));
+		Mockito.when(this.gameRepository.findAllById(anyIterable())).thenReturn(List.of(game));
+
+		BowlingGame active = this.gameStore.findById(1).orElseThrow();
+		this.gameStore.saveRolls(List.of(active), 2);
+		Mockito.verify(this.gameRepository, Mockito.never()).saveAll(anyIterable());
+
+		this.gameStore.saveRolls(List.of(active), 1);
+		Mockito.verify(this.gameRepository, Mockito.times(1)).saveAll(anyIterable());
+	}
+
+	/**
+	 * Check if a copy of a game is written, that is not changed by the
+	 * following rolls, and a game that is locked by another thread is
+	 * written with the next flush.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	void lockedGamesAreWrittenWithNextFlush() throws InterruptedException {
+		BowlingGame game = BowlingGame.createTestGame(1, 0);
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(game));
+		Mockito.when(this.gameRepository.findAllById(anyIterable())).thenReturn(List.of(game));
+		BowlingGame active = this.gameStore.findById(1).orElseThrow();
+		this.gameStore.save(active);
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch flushed = new CountDownLatch(1);
+		Thread rollingThread = new Thread(() -> {
+			Lock lock = this.gameLocks.lockFor(1);
+			lock.lock();
+			try {
+				locked.countDown();
+				flushed.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				lock.unlock();
+			}
+		});
+		rollingThread.start();
+		Assertions.assertTrue(locked.await(5, TimeUnit.SECONDS));
+		this.gameStore.flush();
+		flushed.countDown();
+		rollingThread.join();
+		Mockito.verify(this.gameRepository, Mockito.never()).saveAll(anyIterable());
+
+		this.gameStore.flush();
+		ArgumentCaptor<List<BowlingGame>> written = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(this.gameRepository, Mockito.times(1)).saveAll(written.capture());
+		BowlingGame copy = written.getValue().get(0);
+		Assertions.assertNotSame(active, copy);
+		Assertions.assertEquals(active.getId(), copy.getId());
+		Assertions.assertArrayEquals(active.getKnockedOverPins(), copy.getKnockedOverPins());
+	}
+
+	/**
+	 * Check if a batch is written in a new transaction, so that it neither joins
+	 * nor marks the transaction of the caller that triggered the flush.
+	 */
+	@Test
+	void batchesAreWrittenInNewTransaction() {
+		BowlingGame game = BowlingGame.createTestGame(1, 0);
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(game));
+		Mockito.when(this.gameRepository.findAllById(anyIterable())).thenReturn(List.of(game));
+
+		this.gameStore.saveRoll(this.gameStore.findById(1).orElseThrow());
+		this.gameStore.flush();
+		Mockito.verify(this.transactionManager).getTransaction(Mockito.argThat(definition ->
+				definition != null && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+	}
+
+	/**
+	 * Check if a game in memory is counted again after its score was written to
+	 * the repository directly, so that its previous score is not served anymore.
+	 */
+	@Test
+	void gamesInMemoryAreRecounted() {
+		BowlingGame game = BowlingGame.createTestGame(1, 0, 3, List.of(10, 3, 4));
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(game));
+
+		BowlingGame active = this.gameStore.findById(1).orElseThrow();
+		this.gameStore.recountScores(List.of(1));
+		Assertions.assertEquals(24, this.gameStore.findById(1).orElseThrow().getCurrentScore());
+		Assertions.assertFalse(active.hasOutdatedRunningScore());
+	}
+
+	/**
+	 * Check if finished games are evicted from memory after they were written.
+	 */
+	@Test
+	void finishedGamesAreEvictedAfterFlush() {
+		BowlingGame game = BowlingGame.createTestGame(1, 21, Collections.nCopies(21, 3));
+		Mockito.when(this.gameRepository.findById(anyInt())).thenReturn(Optional.of(game));
+		Mockito.when(this.gameRepository.findAllById(anyIterable())).thenReturn(List.of(game));
+
+		this.gameStore.save(this.gameStore.findById(1).orElseThrow());
+		Assertions.assertSame(game, this.gameStore.findById(1).orElseThrow());
+		Mockito.verify(this.gameRepository, Mockito.times(1)).findById(1);
+
+		this.gameStore.flush();
+		this.gameStore.findById(1);
+		Mockito.verify(this.gameRepository, Mockito.times(2)).findById(1);
+	}
+}
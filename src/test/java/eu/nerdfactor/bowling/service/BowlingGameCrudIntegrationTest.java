@@ -7,9 +7,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,6 +23,9 @@ class BowlingGameCrudIntegrationTest {
 	@Autowired
 	BowlingGameCrudService gameCrudService;
 
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	/**
 	 * Setup by deleting all existing {@link BowlingGame Games} and creating on specific {@link BowlingGame} that
 	 * can be tested for.
@@ -90,8 +95,84 @@ class BowlingGameCrudIntegrationTest {
 	@Transactional
 	@Rollback
 	void gamesCanBeListed() {
-		List<BowlingGame> allGames = this.gameCrudService.listGames();
-		Assertions.assertFalse(allGames.isEmpty());
+		BowlingGamePage page = this.gameCrudService.listGames(null, null, 10);
+		Assertions.assertFalse(page.getGames().isEmpty());
+		Assertions.assertFalse(page.hasPrevious());
+	}
+
+	/**
+	 * Check if pages of {@link BowlingGame Games} follow and precede each other
+	 * by the ids of their games.
+	 */
+	@Test
+	@Transactional
+	@Rollback
+	void pagesOfGamesCanBeFollowed() {
+		List<Integer> ids = new ArrayList<>();
+		for (int game = 0; game < 5; game++) {
+			ids.add(this.gameCrudService.createGame(new BowlingGame()).getId());
+		}
+
+		BowlingGamePage first = this.gameCrudService.listGames(ids.get(0) - 1, null, 2);
+		Assertions.assertEquals(ids.subList(0, 2), first.getGames().stream().map(BowlingGame::getId).toList());
+		Assertions.assertTrue(first.hasNext());
+
+		BowlingGamePage second = this.gameCrudService.listGames(first.lastId(), null, 2);
+		Assertions.assertEquals(ids.subList(2, 4), second.getGames().stream().map(BowlingGame::getId).toList());
+		Assertions.assertTrue(second.hasPrevious());
+
+		BowlingGamePage previous = this.gameCrudService.listGames(null, second.firstId(), 2);
+		Assertions.assertEquals(ids.subList(0, 2), previous.getGames().stream().map(BowlingGame::getId).toList());
+		Assertions.assertTrue(previous.hasNext());
+	}
+
+	/**
+	 * Check if the pages at both ends of the {@link BowlingGame Games} have no
+	 * preceding or following page, even if they were listed from an id.
+	 */
+	@Test
+	@Transactional
+	@Rollback
+	void pagesAtBothEndsAreChecked() {
+		List<Integer> ids = new ArrayList<>();
+		for (int game = 0; game < 3; game++) {
+			ids.add(this.gameCrudService.createGame(new BowlingGame()).getId());
+		}
+
+		BowlingGamePage first = this.gameCrudService.listGames(0, null, 2);
+		Assertions.assertFalse(first.hasPrevious());
+		Assertions.assertTrue(first.hasNext());
+
+		BowlingGamePage last = this.gameCrudService.listGames(null, ids.get(2) + 1, 2);
+		Assertions.assertEquals(ids.subList(1, 3), last.getGames().stream().map(BowlingGame::getId).toList());
+		Assertions.assertTrue(last.hasPrevious());
+		Assertions.assertFalse(last.hasNext());
+	}
+
+	/**
+	 * Check if all {@link BowlingGame Games} can be streamed in the order of their ids.
+	 */
+	@Test
+	void gamesCanBeStreamed() {
+		List<Integer> ids = new ArrayList<>();
+		this.gameCrudService.streamGames(game -> ids.add(game.getId()));
+		Assertions.assertFalse(ids.isEmpty());
+		Assertions.assertEquals(ids.stream().sorted().toList(), ids);
 	}
 
+	/**
+	 * Check if {@link BowlingGame Games} stored with knocked over pins in the json
+	 * column are migrated into the binary column when they are read.
+	 */
+	@Test
+	void legacyKnockedOverPinsAreMigratedOnRead() {
+		BowlingGame created = this.gameCrudService.createGame(BowlingGame.createTestGame(0, 2, new ArrayList<>(List.of(3, 4))));
+		this.jdbcTemplate.update("update \"bowling_game\" set \"knocked_pins_packed\" = null, \"knocked_pins\" = '[3,4]' where \"id\" = ?", created.getId());
+
+		BowlingGame read = this.gameCrudService.readGame(created.getId()).orElseThrow();
+		Assertions.assertEquals(List.of(3, 4), read.getKnockedOverPinsPerRoll());
+		Assertions.assertEquals(0, this.jdbcTemplate.queryForObject("select count(*) from \"bowling_game\" where \"id\" = ? and (\"knocked_pins\" is not null or \"knocked_pins_packed\" is null)", Integer.class, created.getId()));
+
+		this.gameCrudService.deleteGameById(created.getId());
+	}
 }
@@ -0,0 +1,187 @@
+package eu.nerdfactor.bowling.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test for the rankings of the {@link BowlingLeaderboard}.
+ */
+class BowlingLeaderboardTest {
+
+	MovableClock clock = new MovableClock(Instant.parse("2024-03-01T20:00:00Z"));
+
+	BowlingLeaderboard leaderboard = new BowlingLeaderboard(3, this.clock);
+
+	/**
+	 * Check if games are ranked by their latest score and games with the same
+	 * score by the time they reached it.
+	 */
+	@Test
+	void gamesAreRankedByScore() {
+		this.roll(1, TenPinBowlingRuleset.ID, 1, 30);
+		this.roll(2, TenPinBowlingRuleset.ID, 1, 50);
+		this.roll(3, TenPinBowlingRuleset.ID, 1, 50);
+		this.roll(1, TenPinBowlingRuleset.ID, 2, 60);
+		// the same score does not change the time it was reached.
+		this.roll(2, TenPinBowlingRuleset.ID, 2, 50);
+
+		Assertions.assertEquals(List.of(1, 2, 3), this.gameIds(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10));
+		Assertions.assertEquals(List.of(1, 2), this.gameIds(LeaderboardWindow.TODAY, TenPinBowlingRuleset.ID, 2));
+		Assertions.assertEquals(60, this.leaderboard.top(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 1).get(0).getScore());
+		Assertions.assertTrue(this.leaderboard.top(LeaderboardWindow.ALL_TIME, CandlepinBowlingRuleset.ID, 10).isEmpty());
+	}
+
+	/**
+	 * Check if the lowest games are dropped from a full ranking and return
+	 * with a higher score.
+	 */
+	@Test
+	void lowestGamesAreDropped() {
+		for (int game = 1; game <= 5; game++) {
+			this.roll(game, CandlepinBowlingRuleset.ID, 1, game * 10);
+		}
+		Assertions.assertEquals(List.of(5, 4, 3), this.gameIds(LeaderboardWindow.ALL_TIME, CandlepinBowlingRuleset.ID, 10));
+
+		this.roll(1, CandlepinBowlingRuleset.ID, 2, 45);
+		Assertions.assertEquals(List.of(5, 1, 4), this.gameIds(LeaderboardWindow.ALL_TIME, CandlepinBowlingRuleset.ID, 10));
+
+		this.leaderboard.remove(5);
+		Assertions.assertEquals(List.of(1, 4), this.gameIds(LeaderboardWindow.ALL_TIME, CandlepinBowlingRuleset.ID, 10));
+	}
+
+	/**
+	 * Check if the daily ranking starts empty on the next day, while the all
+	 * time ranking keeps the games.
+	 */
+	@Test
+	void dailyRankingStartsOnNextDay() {
+		this.roll(1, TenPinBowlingRuleset.ID, 1, 100);
+		this.clock.advance(Duration.ofHours(5));
+		Assertions.assertTrue(this.leaderboard.top(LeaderboardWindow.TODAY, TenPinBowlingRuleset.ID, 10).isEmpty());
+
+		this.roll(2, TenPinBowlingRuleset.ID, 1, 20);
+		Assertions.assertEquals(List.of(2), this.gameIds(LeaderboardWindow.TODAY, TenPinBowlingRuleset.ID, 10));
+		Assertions.assertEquals(List.of(1, 2), this.gameIds(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10));
+	}
+
+	/**
+	 * Check if a score that changed without a roll replaces the entry of the game,
+	 * even with a lower score or another ruleset, but only adds games to the daily
+	 * ranking that were ranked today.
+	 */
+	@Test
+	void changedScoresReplaceEntries() {
+		this.roll(1, TenPinBowlingRuleset.ID, 1, 30);
+		this.roll(2, TenPinBowlingRuleset.ID, 1, 50);
+		this.leaderboard.onScoreChanged(new GameScoreChangedEvent(2, TenPinBowlingRuleset.ID, 1, 20));
+		Assertions.assertEquals(List.of(1, 2), this.gameIds(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10));
+		Assertions.assertEquals(20, this.leaderboard.top(LeaderboardWindow.TODAY, TenPinBowlingRuleset.ID, 10).get(1).getScore());
+
+		this.leaderboard.onScoreChanged(new GameScoreChangedEvent(1, CandlepinBowlingRuleset.ID, 1, 40));
+		Assertions.assertEquals(List.of(2), this.gameIds(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10));
+		Assertions.assertEquals(List.of(1), this.gameIds(LeaderboardWindow.TODAY, CandlepinBowlingRuleset.ID, 10));
+
+		this.leaderboard.onScoreChanged(new GameScoreChangedEvent(3, TenPinBowlingRuleset.ID, 5, 70));
+		Assertions.assertEquals(List.of(3, 2), this.gameIds(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10));
+		Assertions.assertEquals(List.of(2), this.gameIds(LeaderboardWindow.TODAY, TenPinBowlingRuleset.ID, 10));
+	}
+
+	/**
+	 * Check if stored scores are only ranked in the all time rankings and do not
+	 * replace games that were ranked by a roll already.
+	 */
+	@Test
+	void storedScoresAreLoaded() {
+		this.roll(1, TenPinBowlingRuleset.ID, 3, 30);
+		this.leaderboard.load(1, TenPinBowlingRuleset.ID, 10, 1);
+		this.leaderboard.load(2, TenPinBowlingRuleset.ID, 50, 20);
+		Assertions.assertEquals(List.of(2, 1), this.gameIds(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10));
+		Assertions.assertEquals(30, this.leaderboard.top(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 10).get(1).getScore());
+		Assertions.assertEquals(List.of(1), this.gameIds(LeaderboardWindow.TODAY, TenPinBowlingRuleset.ID, 10));
+	}
+
+	/**
+	 * Check if a ranking contains each game once and not more games than its
+	 * capacity while many games are played at once.
+	 */
+	@Test
+	void rankingCanBeUpdatedConcurrently() throws Exception {
+		BowlingLeaderboard concurrentLeaderboard = new BowlingLeaderboard(50, Clock.systemUTC());
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int task = 0; task < 8; task++) {
+				int firstGame = task * 100;
+				results.add(executor.submit(() -> {
+					for (int roll = 1; roll <= 20; roll++) {
+						for (int game = firstGame; game < firstGame + 100; game++) {
+							concurrentLeaderboard.onRollAdded(new RollAddedEvent(game, TenPinBowlingRuleset.ID, roll, 1, 0, roll * (game % 13)));
+						}
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		List<LeaderboardEntry> top = concurrentLeaderboard.top(LeaderboardWindow.ALL_TIME, TenPinBowlingRuleset.ID, 100);
+		Assertions.assertEquals(50, top.size());
+		Assertions.assertEquals(50L, top.stream().map(LeaderboardEntry::getGameId).distinct().count());
+		Assertions.assertTrue(top.stream().allMatch(entry -> entry.getScore() == 20 * 12));
+	}
+
+	private void roll(int gameId, String rulesetId, int roll, int score) {
+		this.leaderboard.onRollAdded(new RollAddedEvent(gameId, rulesetId, roll, 1, 0, score));
+		this.clock.advance(Duration.ofSeconds(1));
+	}
+
+	private List<Integer> gameIds(LeaderboardWindow window, String rulesetId, int limit) {
+		return this.leaderboard.top(window, rulesetId, limit).stream()
+				.map(LeaderboardEntry::getGameId)
+				.toList();
+	}
+
+	/**
+	 * A clock in UTC that only moves when it is advanced.
+	 */
+	private static final class MovableClock extends Clock {
+
+		private Instant instant;
+
+		MovableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+	}
+}
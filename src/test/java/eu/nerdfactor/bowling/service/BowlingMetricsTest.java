@@ -0,0 +1,32 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Test for the meters of the {@link BowlingMetrics}.
+ */
+class BowlingMetricsTest {
+
+	MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	BowlingMetrics metrics = new BowlingMetrics(this.meterRegistry, Duration.ofMillis(50));
+
+	/**
+	 * Check if games stop counting as in progress after the window, even if no
+	 * other rolls are added in the meantime.
+	 */
+	@Test
+	void gamesInProgressExpireWithoutRolls() throws InterruptedException {
+		this.metrics.gamePlayed(BowlingGame.createTestGame(1, 0), new TenPinBowlingRuleset());
+		Assertions.assertEquals(1, this.meterRegistry.get("bowling.games.in.progress").gauge().value());
+
+		Thread.sleep(200);
+		Assertions.assertEquals(0, this.meterRegistry.get("bowling.games.in.progress").gauge().value());
+	}
+}
@@ -0,0 +1,64 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Test for counting the score of stored {@link BowlingGame Games} again with the
+ * {@link BowlingRescoringService}.
+ */
+@SpringBootTest
+class BowlingRescoringIntegrationTest {
+
+	@Autowired
+	BowlingRescoringService rescoringService;
+
+	@Autowired
+	BowlingGameRepository gameRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	BowlingLeaderboard leaderboard;
+
+	/**
+	 * Check if wrong scores of stored games are counted again, games with a correct
+	 * score are left alone and games before the starting id are not touched. The new
+	 * score of a rescored game is ranked on the leaderboard.
+	 */
+	@Test
+	void storedScoresAreCountedAgain() throws Exception {
+		BowlingGame skipped = this.gameRepository.save(BowlingGame.createTestGame(0, 0, 3, List.of(10, 3, 4)));
+		BowlingGame wrong = this.gameRepository.save(BowlingGame.createTestGame(0, 0, 3, List.of(10, 3, 4)));
+		BowlingGame correct = this.gameRepository.save(BowlingGame.createTestGame(0, 0, 0, List.of()));
+
+		RescoringProgress progress = this.rescoringService.start(skipped.getId());
+		for (int attempt = 0; attempt < 100 && progress.isRunning(); attempt++) {
+			Thread.sleep(100);
+			progress = this.rescoringService.progress();
+		}
+
+		Assertions.assertEquals(RescoringProgress.Status.COMPLETED, progress.getStatus());
+		Assertions.assertTrue(progress.getLastProcessedId() >= correct.getId());
+		Assertions.assertTrue(progress.getAmountOfCheckedGames() >= 2);
+		Assertions.assertTrue(progress.getAmountOfRescoredGames() >= 1);
+		Assertions.assertEquals(0, this.scoreOf(skipped));
+		Assertions.assertEquals(24, this.scoreOf(wrong));
+		Assertions.assertEquals(0, this.scoreOf(correct));
+		Assertions.assertEquals(3, this.jdbcTemplate.queryForObject("select \"scored_rolls\" from \"bowling_game\" where \"id\" = ?", Integer.class, wrong.getId()));
+		Assertions.assertTrue(this.leaderboard.top(LeaderboardWindow.ALL_TIME, wrong.getRulesetId(), this.leaderboard.capacity()).stream()
+				.anyMatch(entry -> entry.getGameId() == wrong.getId() && entry.getScore() == 24));
+	}
+
+	private int scoreOf(BowlingGame game) {
+		return this.jdbcTemplate.queryForObject("select \"current_score\" from \"bowling_game\" where \"id\" = ?", Integer.class, game.getId());
+	}
+}
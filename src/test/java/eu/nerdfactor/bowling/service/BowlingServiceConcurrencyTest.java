@@ -0,0 +1,93 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Stress test for concurrent rolls on the same {@link BowlingGame Games}.
+ */
+@SpringBootTest
+class BowlingServiceConcurrencyTest {
+
+	private static final int AMOUNT_OF_GAMES = 16;
+
+	private static final int AMOUNT_OF_THREADS = 8;
+
+	@Autowired
+	BowlingService bowlingService;
+
+	@Autowired
+	BowlingGameCrudService gameCrudService;
+
+	@Autowired
+	BowlingGameRepository gameRepository;
+
+	BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	/**
+	 * Check if no roll is lost if many threads add single rolls and batches of rolls
+	 * to the same games at once. Every roll knocks over a single pin, so the score
+	 * of each game has to match its amount of rolls.
+	 */
+	@Test
+	void concurrentRollsAreNotLost() throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		List<Integer> rolls = new ArrayList<>();
+		for (int game = 0; game < AMOUNT_OF_GAMES; game++) {
+			int id = this.gameCrudService.createGame(new BowlingGame()).getId();
+			ids.add(id);
+			for (int roll = 0; roll < bowlingRuleset.amountOfMaxRolls() - 1; roll++) {
+				rolls.add(id);
+			}
+		}
+		Collections.shuffle(rolls, new Random(42));
+
+		ExecutorService executor = Executors.newFixedThreadPool(AMOUNT_OF_THREADS);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int thread = 0; thread < AMOUNT_OF_THREADS; thread++) {
+				List<Integer> rollsOfThread = rolls.subList(thread * rolls.size() / AMOUNT_OF_THREADS, (thread + 1) * rolls.size() / AMOUNT_OF_THREADS);
+				boolean batches = thread % 2 == 0;
+				results.add(executor.submit(() -> {
+					if (batches) {
+						for (int start = 0; start < rollsOfThread.size(); start += 4) {
+							this.bowlingService.addRolls(rollsOfThread.subList(start, Math.min(start + 4, rollsOfThread.size())).stream()
+									.map(id -> new RollBatchEntry(id, new int[]{1}))
+									.toList());
+						}
+					} else {
+						for (int id : rollsOfThread) {
+							this.bowlingService.addNextRoll(id, 1);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (int id : ids) {
+			BowlingGame game = this.gameRepository.findById(id).orElseThrow();
+			Assertions.assertEquals(bowlingRuleset.amountOfMaxRolls() - 1, game.getCurrentRoll());
+			Assertions.assertEquals(bowlingRuleset.amountOfMaxRolls() - 1, game.getCurrentScore());
+			Assertions.assertTrue(game.getKnockedOverPinsPerRoll().stream().allMatch(pins -> pins == 1));
+			this.gameCrudService.deleteGameById(id);
+		}
+	}
+}
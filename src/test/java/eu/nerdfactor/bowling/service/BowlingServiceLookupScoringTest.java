@@ -0,0 +1,75 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.exceptions.MaxAmountOfRollsExceededException;
+import eu.nerdfactor.bowling.exceptions.WrongAmountOfPinsException;
+import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+/**
+ * Test that the {@link BowlingService} counts the running score of ten pin games
+ * with the {@link TenPinBowlingLookupScoring}, if the lookup table is configured.
+ */
+@SpringBootTest(properties = "bowling.scoring.strategy=lookup-table")
+class BowlingServiceLookupScoringTest {
+
+	@MockBean
+	BowlingGameRepository bowlingGameRepository;
+
+	@Autowired
+	BowlingService bowlingService;
+
+	@Autowired
+	BowlingRulesetRegistry rulesetRegistry;
+
+	@BeforeEach
+	void setUpMockRepository() {
+		Mockito.when(bowlingGameRepository.save(any()))
+				.then(AdditionalAnswers.returnsFirstArg());
+	}
+
+	/**
+	 * Check if ten pin games are scored with the lookup table.
+	 */
+	@Test
+	void tenPinGamesAreScoredWithLookupTable() {
+		Assertions.assertInstanceOf(TenPinBowlingLookupScoring.class,
+				this.rulesetRegistry.rulesOf(TenPinBowlingRuleset.ID).getScoringStrategy());
+	}
+
+	/**
+	 * Check if the outdated running score of a game is recounted with the lookup
+	 * table and the following rolls are counted into the recounted running score.
+	 */
+	@Test
+	void outdatedRunningScoreIsRecountedWithLookupTable() throws WrongAmountOfPinsException, MaxAmountOfRollsExceededException {
+		List<Integer> rolls = List.of(10, 7, 3, 9, 0, 10, 10, 10, 2, 3, 6, 4, 7);
+		BowlingGame mockGame = BowlingGame.createTestGame(7, rolls.size(), rolls);
+		Mockito.when(bowlingGameRepository.findById(anyInt()))
+				.thenReturn(Optional.of(mockGame));
+		Assertions.assertTrue(mockGame.hasOutdatedRunningScore());
+
+		Assertions.assertEquals(144, this.bowlingService.calculateCurrentScore(7).getCurrentScore());
+		Assertions.assertFalse(mockGame.hasOutdatedRunningScore());
+		Assertions.assertEquals(8, mockGame.getRunningScore().getFrame());
+		Assertions.assertEquals(7, mockGame.getRunningScore().getPinsInFrame());
+
+		this.bowlingService.addNextRoll(7, 3);
+		this.bowlingService.addNextRoll(7, 10);
+		this.bowlingService.addNextRoll(7, 5);
+		Assertions.assertEquals(144 + 3 + 10 + 10 + 5, this.bowlingService.calculateCurrentScore(7).getCurrentScore());
+	}
+}
@@ -1,9 +1,11 @@
 package eu.nerdfactor.bowling.service;
 
 import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
 import eu.nerdfactor.bowling.exceptions.MaxAmountOfRollsExceededException;
 import eu.nerdfactor.bowling.exceptions.WrongAmountOfPinsException;
 import eu.nerdfactor.bowling.repo.BowlingGameRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
@@ -30,6 +33,9 @@ class BowlingServiceTest {
 	@Autowired
 	BowlingService bowlingService;
 
+	@Autowired
+	MeterRegistry meterRegistry;
+
 	@BeforeEach
 	void setUpMockRepository() {
 		Mockito.when(bowlingGameRepository.save(any()))
@@ -48,7 +54,7 @@ class BowlingServiceTest {
 		for (int roll = 0; roll < bowlingRuleset.amountOfMaxRolls(); roll++) {
 			this.bowlingService.addNextRoll(1, 0);
 		}
-		BowlingGame scored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore scored = this.bowlingService.calculateCurrentScore(1);
 		Assertions.assertEquals(expectedScore, scored.getCurrentScore());
 	}
 
@@ -65,7 +71,7 @@ class BowlingServiceTest {
 		for (int roll = 0; roll < bowlingRuleset.amountOfMaxRolls(); roll++) {
 			this.bowlingService.addNextRoll(1, 3);
 		}
-		BowlingGame scored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore scored = this.bowlingService.calculateCurrentScore(1);
 		Assertions.assertEquals(expectedScore, scored.getCurrentScore());
 	}
 
@@ -84,7 +90,7 @@ class BowlingServiceTest {
 		for (int roll = 0; roll < amountOfFrames; roll++) {
 			this.bowlingService.addNextRoll(1, bowlingRuleset.amountOfPins());
 		}
-		BowlingGame scored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore scored = this.bowlingService.calculateCurrentScore(1);
 		Assertions.assertEquals(expectedScore, scored.getCurrentScore());
 	}
 
@@ -101,7 +107,7 @@ class BowlingServiceTest {
 		for (int roll = 1; roll < bowlingRuleset.amountOfMaxRolls(); roll += 2) {
 			expectedScore += this.rollRandomTestFrame(1);
 		}
-		BowlingGame scored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore scored = this.bowlingService.calculateCurrentScore(1);
 		Assertions.assertEquals(expectedScore, scored.getCurrentScore());
 	}
 
@@ -145,7 +151,7 @@ class BowlingServiceTest {
 		// and add a 21st bonus roll
 		this.bowlingService.addNextRoll(1, 4);
 
-		BowlingGame scored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore scored = this.bowlingService.calculateCurrentScore(1);
 		Assertions.assertEquals(expectedScore, scored.getCurrentScore());
 	}
 
@@ -174,7 +180,7 @@ class BowlingServiceTest {
 		// and add a 21st bonus roll
 		this.bowlingService.addNextRoll(1, 4);
 
-		BowlingGame scored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore scored = this.bowlingService.calculateCurrentScore(1);
 		Assertions.assertEquals(expectedScore, scored.getCurrentScore());
 	}
 
@@ -193,7 +199,7 @@ class BowlingServiceTest {
 		for (int i : firstFullGameWithBonusRoll) {
 			this.bowlingService.addNextRoll(1, i);
 		}
-		BowlingGame firstGameTotalScored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore firstGameTotalScored = this.bowlingService.calculateCurrentScore(1);
 
 		int[] secondFullGameWithBonusRoll = new int[]{3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 3, 2};
 		BowlingGame mockGame2 = BowlingGame.createTestGame(2, 0);
@@ -202,7 +208,7 @@ class BowlingServiceTest {
 		for (int i : secondFullGameWithBonusRoll) {
 			this.bowlingService.addNextRoll(2, i);
 		}
-		BowlingGame secondGameTotalScored = this.bowlingService.calculateCurrentScore(1);
+		BowlingGameScore secondGameTotalScored = this.bowlingService.calculateCurrentScore(2);
 
 
 		int scoreDifferenceBetweenGames = secondGameTotalScored.getCurrentScore() - firstGameTotalScored.getCurrentScore();
@@ -244,4 +250,93 @@ class BowlingServiceTest {
 		});
 
 	}
+
+	/**
+	 * Check if a batch of rolls is added to multiple games and entries that
+	 * would break the {@link BowlingRuleset} are rejected without changing the game.
+	 */
+	@Test
+	void batchOfRollsIsAddedToMultipleGames() {
+		BowlingGame firstGame = BowlingGame.createTestGame(1, 0);
+		BowlingGame secondGame = BowlingGame.createTestGame(2, 0);
+		Mockito.when(bowlingGameRepository.findAllById(any()))
+				.thenReturn(List.of(firstGame, secondGame));
+		List<RollBatchResult> results = this.bowlingService.addRolls(List.of(
+				new RollBatchEntry(1, new int[]{bowlingRuleset.amountOfPins()}),
+				new RollBatchEntry(1, new int[]{3, 4}),
+				new RollBatchEntry(2, new int[]{3, bowlingRuleset.amountOfPins() + 1}),
+				new RollBatchEntry(3, new int[]{3}),
+				new RollBatchEntry(2, new int[bowlingRuleset.amountOfMaxRolls() + 1])
+		));
+
+		Assertions.assertEquals(5, results.size());
+		Assertions.assertTrue(results.get(0).isAccepted());
+		Assertions.assertTrue(results.get(1).isAccepted());
+		Assertions.assertEquals(3, results.get(1).getCurrentRoll());
+		Assertions.assertEquals(24, results.get(1).getCurrentScore());
+		Assertions.assertEquals(RollBatchResult.Error.WRONG_AMOUNT_OF_PINS, results.get(2).getError());
+		Assertions.assertEquals(RollBatchResult.Error.GAME_NOT_FOUND, results.get(3).getError());
+		Assertions.assertEquals(RollBatchResult.Error.MAX_AMOUNT_OF_ROLLS_EXCEEDED, results.get(4).getError());
+		Assertions.assertEquals(0, secondGame.getCurrentRoll());
+		Mockito.verify(bowlingGameRepository, Mockito.times(1)).findAllById(any());
+		Mockito.verify(bowlingGameRepository, Mockito.times(1)).saveAll(any());
+	}
+
+	/**
+	 * Check if the score is served from the cache, which is updated with every
+	 * roll, so that no outdated score is served after a roll.
+	 */
+	@Test
+	void cachedScoreIsUpdatedWithEveryRoll() throws WrongAmountOfPinsException, MaxAmountOfRollsExceededException {
+		BowlingGame mockGame = BowlingGame.createTestGame(3, 0);
+		Mockito.when(bowlingGameRepository.findById(anyInt()))
+				.thenReturn(Optional.of(mockGame));
+		this.bowlingService.addNextRoll(3, 4);
+		Mockito.clearInvocations(bowlingGameRepository);
+
+		Assertions.assertEquals(4, this.bowlingService.calculateCurrentScore(3).getCurrentScore());
+		this.bowlingService.addNextRoll(3, 5);
+		Assertions.assertEquals(9, this.bowlingService.calculateCurrentScore(3).getCurrentScore());
+		Assertions.assertEquals(2, this.bowlingService.calculateCurrentScore(3).getCurrentRoll());
+		Mockito.verify(bowlingGameRepository, Mockito.times(1)).findById(anyInt());
+	}
+
+	/**
+	 * Check if added and rejected rolls are counted by the {@link BowlingMetrics}.
+	 */
+	@Test
+	void addedAndRejectedRollsAreCounted() throws WrongAmountOfPinsException, MaxAmountOfRollsExceededException {
+		BowlingGame mockGame = BowlingGame.createTestGame(4, 0);
+		Mockito.when(bowlingGameRepository.findById(anyInt()))
+				.thenReturn(Optional.of(mockGame));
+		double rejected = this.rejectedRolls("WrongAmountOfPinsException");
+		long rolls = this.meterRegistry.get("bowling.rolls").timer().count();
+
+		this.bowlingService.addNextRoll(4, 3);
+		Assertions.assertThrows(WrongAmountOfPinsException.class, () -> this.bowlingService.addNextRoll(4, -1));
+
+		Assertions.assertEquals(rejected + 1, this.rejectedRolls("WrongAmountOfPinsException"));
+		Assertions.assertEquals(rolls + 2, this.meterRegistry.get("bowling.rolls").timer().count());
+	}
+
+	/**
+	 * Check if a game is checked and scored with the rules of its own ruleset.
+	 * Candlepin frames have three rolls and knocking over all pins with the
+	 * third roll does not add a bonus.
+	 */
+	@Test
+	void gameIsScoredWithItsRuleset() throws WrongAmountOfPinsException, MaxAmountOfRollsExceededException {
+		BowlingGame mockGame = BowlingGame.restore(5, CandlepinBowlingRuleset.ID, new int[0], 0, new RunningScore());
+		Mockito.when(bowlingGameRepository.findById(anyInt()))
+				.thenReturn(Optional.of(mockGame));
+		for (int knockedOverPins : new int[]{10, 3, 4, 2, 2, 3, 5, 1}) {
+			this.bowlingService.addNextRoll(5, knockedOverPins);
+		}
+		Assertions.assertEquals(10 + 3 + 4 + 9 + 10 + 1, this.bowlingService.calculateCurrentScore(5).getCurrentScore());
+		Assertions.assertThrows(WrongAmountOfPinsException.class, () -> this.bowlingService.addNextRoll(5, 11));
+	}
+
+	private double rejectedRolls(String exception) {
+		return this.meterRegistry.get("bowling.rolls.rejected").tag("exception", exception).counter().count();
+	}
 }
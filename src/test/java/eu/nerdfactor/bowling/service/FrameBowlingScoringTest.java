@@ -0,0 +1,103 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test for the {@link FrameBowlingScoring} and the strategies that are
+ * specialised for a single ruleset.
+ */
+class FrameBowlingScoringTest {
+
+	ScoringStrategy genericScoring = new FrameBowlingScoring();
+
+	List<BowlingRules> specialisedRules = List.of(
+			new BowlingRules(new TenPinBowlingRuleset(), new TenPinBowlingScoring()),
+			new BowlingRules(new NinePinBowlingRuleset(), new NinePinBowlingScoring()),
+			new BowlingRules(new FivePinBowlingRuleset(), new FivePinBowlingScoring()),
+			new BowlingRules(new CandlepinBowlingRuleset(), new CandlepinBowlingScoring())
+	);
+
+	/**
+	 * Check if a perfect game of each ruleset reaches its maximum score.
+	 */
+	@Test
+	void perfectGamesReachMaximumScore() {
+		for (BowlingRules rules : this.specialisedRules) {
+			BowlingRuleset ruleset = rules.getRuleset();
+			int[] perfectGame = new int[ruleset.amountOfFrames() + 2];
+			Arrays.fill(perfectGame, ruleset.amountOfPins());
+			Assertions.assertEquals(ruleset.amountOfMaxScore(), rules.getScoringStrategy().countScore(perfectGame, perfectGame.length, ruleset));
+			Assertions.assertEquals(ruleset.amountOfMaxScore(), this.genericScoring.countScore(perfectGame, perfectGame.length, ruleset));
+		}
+	}
+
+	/**
+	 * Check if all pins knocked over with the third roll of a frame don't add
+	 * a bonus, while a spare with the second roll adds the next roll.
+	 */
+	@Test
+	void thirdRollOfFrameDoesNotAddBonus() {
+		BowlingRuleset ruleset = new CandlepinBowlingRuleset();
+		int[] knockedOverPinsPerRoll = {2, 3, 5, 4, 6, 7, 1};
+		Assertions.assertEquals(10 + 17 + 8, this.genericScoring.countScore(knockedOverPinsPerRoll, knockedOverPinsPerRoll.length, ruleset));
+		Assertions.assertEquals(10 + 17 + 8, new CandlepinBowlingScoring().countScore(knockedOverPinsPerRoll, knockedOverPinsPerRoll.length, ruleset));
+	}
+
+	/**
+	 * Check if the specialised strategies count the same score and running
+	 * score as the generic strategy for random games of their ruleset.
+	 */
+	@Test
+	void specialisedScoringMatchesGenericScoring() {
+		Random random = new Random(23);
+		for (BowlingRules rules : this.specialisedRules) {
+			BowlingRuleset ruleset = rules.getRuleset();
+			for (int game = 0; game < 1_000; game++) {
+				int[] knockedOverPinsPerRoll = randomGame(random, ruleset);
+				for (int amountOfRolls = 0; amountOfRolls <= knockedOverPinsPerRoll.length; amountOfRolls++) {
+					int expected = this.genericScoring.countScore(knockedOverPinsPerRoll, amountOfRolls, ruleset);
+					RunningScore runningScore = new RunningScore();
+					Assertions.assertEquals(expected, rules.getScoringStrategy().countScore(knockedOverPinsPerRoll, amountOfRolls, ruleset));
+					Assertions.assertEquals(expected, rules.getScoringStrategy().countRolls(runningScore, knockedOverPinsPerRoll, amountOfRolls, ruleset));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check if a specialised strategy counts games of another ruleset with
+	 * the rules of that ruleset.
+	 */
+	@Test
+	void specialisedScoringFallsBackForOtherRulesets() {
+		int[] strikes = {10, 10, 10};
+		Assertions.assertEquals(60, new NinePinBowlingScoring().countScore(strikes, strikes.length, new TenPinBowlingRuleset()));
+		Assertions.assertEquals(60, new FivePinBowlingScoring().countScore(strikes, strikes.length, new CandlepinBowlingRuleset()));
+	}
+
+	/**
+	 * Create a random game that never knocks over more pins than are left in a frame.
+	 *
+	 * @param random  The source of the knocked over pins.
+	 * @param ruleset The {@link BowlingRuleset} of the game.
+	 * @return The knocked over pins of each roll.
+	 */
+	private static int[] randomGame(Random random, BowlingRuleset ruleset) {
+		ScoringStrategy scoring = new FrameBowlingScoring();
+		RunningScore runningScore = new RunningScore();
+		int[] knockedOverPinsPerRoll = new int[random.nextInt(ruleset.amountOfMaxRolls() + 1)];
+		for (int roll = 0; roll < knockedOverPinsPerRoll.length; roll++) {
+			int leftPins = runningScore.getFrame() < ruleset.amountOfFrames() ? ruleset.amountOfPins() - runningScore.getPinsInFrame() : ruleset.amountOfPins();
+			int knockedOverPins = random.nextInt(4) == 0 ? leftPins : random.nextInt(leftPins + 1);
+			knockedOverPinsPerRoll[roll] = ruleset.wouldKnockOverWrongAmountOfPins(knockedOverPins) ? 0 : knockedOverPins;
+			scoring.countNextRoll(runningScore, knockedOverPinsPerRoll[roll], ruleset);
+		}
+		return knockedOverPinsPerRoll;
+	}
+}
@@ -0,0 +1,170 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.BowlingGame;
+import eu.nerdfactor.bowling.entity.RunningScore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test that the {@link RunningScore} counted with every roll matches the score of
+ * counting all rolls of the game from the first roll on. Missing rolls of partially
+ * played games are counted as rolls without knocked over pins.
+ */
+class RunningScoreEquivalenceTest {
+
+	BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	ScoringStrategy scoringStrategy = new TenPinBowlingScoring();
+
+	/**
+	 * Check every combination of two frames at the start of a game.
+	 */
+	@Test
+	void runningScoreMatchesForEveryCombinationOfFirstFrames() {
+		List<int[]> frames = this.allFrames();
+		for (int[] first : frames) {
+			for (int[] second : frames) {
+				this.assertRunningScoreMatches(this.concat(first, second));
+			}
+		}
+	}
+
+	/**
+	 * Check every combination of the last two frames, including all possible bonus
+	 * rolls, after differently played first frames.
+	 */
+	@Test
+	void runningScoreMatchesForEveryCombinationOfLastFrames() {
+		int amountOfFirstFrames = bowlingRuleset.amountOfFrames() - 2;
+		int pins = bowlingRuleset.amountOfPins();
+		List<int[]> firstFrames = List.of(
+				this.repeat(new int[]{0, 0}, amountOfFirstFrames),
+				this.repeat(new int[]{3, 4}, amountOfFirstFrames),
+				this.repeat(new int[]{pins / 2, pins - pins / 2}, amountOfFirstFrames),
+				this.repeat(new int[]{pins}, amountOfFirstFrames)
+		);
+		List<int[]> frames = this.allFrames();
+		List<int[]> lastFrames = this.allLastFrames();
+		for (int[] start : firstFrames) {
+			for (int[] frame : frames) {
+				for (int[] lastFrame : lastFrames) {
+					this.assertRunningScoreMatches(this.concat(start, this.concat(frame, lastFrame)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check randomly played complete games.
+	 */
+	@Test
+	void runningScoreMatchesForRandomGames() {
+		Random random = new Random(42);
+		List<int[]> frames = this.allFrames();
+		List<int[]> lastFrames = this.allLastFrames();
+		for (int game = 0; game < 10_000; game++) {
+			int[] rolls = new int[0];
+			for (int frame = 1; frame < bowlingRuleset.amountOfFrames(); frame++) {
+				rolls = this.concat(rolls, frames.get(random.nextInt(frames.size())));
+			}
+			rolls = this.concat(rolls, lastFrames.get(random.nextInt(lastFrames.size())));
+			this.assertRunningScoreMatches(rolls);
+		}
+	}
+
+	/**
+	 * Count the rolls one by one into a {@link RunningScore} and compare the running
+	 * score after each roll with the score of the complete count.
+	 *
+	 * @param rolls The knocked over pins of each roll.
+	 */
+	private void assertRunningScoreMatches(int[] rolls) {
+		RunningScore runningScore = new RunningScore();
+		int score = 0;
+		for (int roll = 0; roll < rolls.length; roll++) {
+			score += this.scoringStrategy.countNextRoll(runningScore, rolls[roll], this.bowlingRuleset);
+			int expectedScore = this.countCompleteScore(rolls, roll + 1);
+			Assertions.assertEquals(expectedScore, score, "Rolls " + Arrays.toString(Arrays.copyOf(rolls, roll + 1)));
+		}
+	}
+
+	/**
+	 * Count the score of the first rolls with the complete count. Missing rolls
+	 * are filled up with rolls without knocked over pins.
+	 *
+	 * @param rolls         The knocked over pins of each roll.
+	 * @param amountOfRolls The amount of rolls to count.
+	 * @return The score of the rolls.
+	 */
+	private int countCompleteScore(int[] rolls, int amountOfRolls) {
+		List<Integer> knockedOverPinsPerRoll = new ArrayList<>(bowlingRuleset.amountOfMaxRolls());
+		for (int roll = 0; roll < bowlingRuleset.amountOfMaxRolls(); roll++) {
+			knockedOverPinsPerRoll.add(roll < amountOfRolls ? rolls[roll] : 0);
+		}
+		BowlingGame game = BowlingGame.createTestGame(1, amountOfRolls, knockedOverPinsPerRoll);
+		return this.scoringStrategy.countScore(game, this.bowlingRuleset);
+	}
+
+	/**
+	 * All possible frames before the last frame. Either a strike or two rolls that
+	 * knock over at most all pins.
+	 *
+	 * @return A list with the knocked over pins of each possible frame.
+	 */
+	private List<int[]> allFrames() {
+		int pins = bowlingRuleset.amountOfPins();
+		List<int[]> frames = new ArrayList<>();
+		frames.add(new int[]{pins});
+		for (int first = 0; first < pins; first++) {
+			for (int second = 0; second <= pins - first; second++) {
+				frames.add(new int[]{first, second});
+			}
+		}
+		return frames;
+	}
+
+	/**
+	 * All possible last frames. A strike or spare in the last frame is followed
+	 * by its bonus rolls.
+	 *
+	 * @return A list with the knocked over pins of each possible last frame.
+	 */
+	private List<int[]> allLastFrames() {
+		int pins = bowlingRuleset.amountOfPins();
+		List<int[]> frames = new ArrayList<>();
+		for (int first = 0; first < pins; first++) {
+			for (int second = 0; second < pins - first; second++) {
+				frames.add(new int[]{first, second});
+			}
+			for (int bonus = 0; bonus <= pins; bonus++) {
+				frames.add(new int[]{first, pins - first, bonus});
+			}
+		}
+		for (int first = 0; first <= pins; first++) {
+			int remainingPins = first == pins ? pins : pins - first;
+			for (int second = 0; second <= remainingPins; second++) {
+				frames.add(new int[]{pins, first, second});
+			}
+		}
+		return frames;
+	}
+
+	private int[] concat(int[] first, int[] second) {
+		int[] rolls = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, rolls, first.length, second.length);
+		return rolls;
+	}
+
+	private int[] repeat(int[] frame, int times) {
+		int[] rolls = new int[0];
+		for (int i = 0; i < times; i++) {
+			rolls = this.concat(rolls, frame);
+		}
+		return rolls;
+	}
+}
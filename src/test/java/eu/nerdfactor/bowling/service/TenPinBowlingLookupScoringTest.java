@@ -0,0 +1,196 @@
+package eu.nerdfactor.bowling.service;
+
+import eu.nerdfactor.bowling.entity.RunningScore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test that the {@link TenPinBowlingLookupScoring} counts the same score and
+ * running score as the {@link TenPinBowlingScoring}. The score of a frame only depends on the frame and
+ * the two rolls after it, so every frame of the table is checked on its own and
+ * every combination of frames is checked at the start and the end of a game, for
+ * every amount of played rolls.
+ */
+class TenPinBowlingLookupScoringTest {
+
+	BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	ScoringStrategy referenceScoring = new TenPinBowlingScoring();
+
+	ScoringStrategy lookupScoring = new TenPinBowlingLookupScoring();
+
+	/**
+	 * Check every combination of three rolls, including the ones that can't be
+	 * played, with every amount of played rolls.
+	 */
+	@Test
+	void scoreMatchesForEveryFrameOfTheTable() {
+		int pins = bowlingRuleset.amountOfPins();
+		for (int first = 0; first <= pins; first++) {
+			for (int second = 0; second <= pins; second++) {
+				for (int third = 0; third <= pins; third++) {
+					this.assertScoreMatches(new int[]{first, second, third});
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check every combination of two frames at the start of a game.
+	 */
+	@Test
+	void scoreMatchesForEveryCombinationOfFirstFrames() {
+		List<int[]> frames = this.allFrames();
+		for (int[] first : frames) {
+			for (int[] second : frames) {
+				this.assertScoreMatches(this.concat(first, second));
+			}
+		}
+	}
+
+	/**
+	 * Check every combination of the last two frames, including all possible bonus
+	 * rolls, after differently played first frames.
+	 */
+	@Test
+	void scoreMatchesForEveryCombinationOfLastFrames() {
+		int amountOfFirstFrames = bowlingRuleset.amountOfFrames() - 2;
+		int pins = bowlingRuleset.amountOfPins();
+		List<int[]> firstFrames = List.of(
+				this.repeat(new int[]{0, 0}, amountOfFirstFrames),
+				this.repeat(new int[]{3, 4}, amountOfFirstFrames),
+				this.repeat(new int[]{pins / 2, pins - pins / 2}, amountOfFirstFrames),
+				this.repeat(new int[]{pins}, amountOfFirstFrames)
+		);
+		List<int[]> frames = this.allFrames();
+		List<int[]> lastFrames = this.allLastFrames();
+		for (int[] start : firstFrames) {
+			for (int[] frame : frames) {
+				for (int[] lastFrame : lastFrames) {
+					this.assertScoreMatches(this.concat(start, this.concat(frame, lastFrame)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check that rolls outside of the possible amount of pins are counted like
+	 * the reference does.
+	 */
+	@Test
+	void scoreMatchesForImpossibleRolls() {
+		this.assertScoreMatches(new int[]{11, 3, 4, 12});
+		this.assertScoreMatches(new int[]{3, -1, 10, 10});
+	}
+
+	/**
+	 * Check that counting rolls into a running score that already contains rolls
+	 * continues it like the reference does.
+	 */
+	@Test
+	void rollsAreCountedIntoStartedRunningScore() {
+		int[] rolls = {10, 7, 3, 9, 0, 10, 10, 10, 2};
+		RunningScore referenceScore = new RunningScore();
+		RunningScore lookupScore = new RunningScore();
+		this.referenceScoring.countNextRoll(referenceScore, 10, this.bowlingRuleset);
+		this.lookupScoring.countNextRoll(lookupScore, 10, this.bowlingRuleset);
+		Assertions.assertEquals(
+				this.referenceScoring.countRolls(referenceScore, rolls, rolls.length, this.bowlingRuleset),
+				this.lookupScoring.countRolls(lookupScore, rolls, rolls.length, this.bowlingRuleset));
+		this.assertSameRunningScore(referenceScore, lookupScore, rolls.length);
+	}
+
+	/**
+	 * Compare the scores of both strategies for every amount of played rolls.
+	 * The rolls are counted as complete game and into a running score, which
+	 * has to end in the same state to count the following rolls.
+	 *
+	 * @param rolls The knocked over pins of each roll.
+	 */
+	private void assertScoreMatches(int[] rolls) {
+		for (int amountOfRolls = 0; amountOfRolls <= rolls.length; amountOfRolls++) {
+			Assertions.assertEquals(
+					this.referenceScoring.countScore(rolls, amountOfRolls, this.bowlingRuleset),
+					this.lookupScoring.countScore(rolls, amountOfRolls, this.bowlingRuleset),
+					"Rolls " + Arrays.toString(Arrays.copyOf(rolls, amountOfRolls)));
+			RunningScore referenceScore = new RunningScore();
+			RunningScore lookupScore = new RunningScore();
+			Assertions.assertEquals(
+					this.referenceScoring.countRolls(referenceScore, rolls, amountOfRolls, this.bowlingRuleset),
+					this.lookupScoring.countRolls(lookupScore, rolls, amountOfRolls, this.bowlingRuleset),
+					"Rolls " + Arrays.toString(Arrays.copyOf(rolls, amountOfRolls)));
+			this.assertSameRunningScore(referenceScore, lookupScore, amountOfRolls);
+		}
+	}
+
+	private void assertSameRunningScore(RunningScore expected, RunningScore actual, int amountOfRolls) {
+		String message = "Running score after " + amountOfRolls + " rolls";
+		Assertions.assertEquals(expected.getFrame(), actual.getFrame(), message);
+		Assertions.assertEquals(expected.getRollInFrame(), actual.getRollInFrame(), message);
+		Assertions.assertEquals(expected.getPinsInFrame(), actual.getPinsInFrame(), message);
+		Assertions.assertEquals(expected.getBonusOfNextRoll(), actual.getBonusOfNextRoll(), message);
+		Assertions.assertEquals(expected.getBonusOfSecondNextRoll(), actual.getBonusOfSecondNextRoll(), message);
+	}
+
+	/**
+	 * All possible frames before the last frame. Either a strike or two rolls that
+	 * knock over at most all pins.
+	 *
+	 * @return A list with the knocked over pins of each possible frame.
+	 */
+	private List<int[]> allFrames() {
+		int pins = bowlingRuleset.amountOfPins();
+		List<int[]> frames = new ArrayList<>();
+		frames.add(new int[]{pins});
+		for (int first = 0; first < pins; first++) {
+			for (int second = 0; second <= pins - first; second++) {
+				frames.add(new int[]{first, second});
+			}
+		}
+		return frames;
+	}
+
+	/**
+	 * All possible last frames. A strike or spare in the last frame is followed
+	 * by its bonus rolls.
+	 *
+	 * @return A list with the knocked over pins of each possible last frame.
+	 */
+	private List<int[]> allLastFrames() {
+		int pins = bowlingRuleset.amountOfPins();
+		List<int[]> frames = new ArrayList<>();
+		for (int first = 0; first < pins; first++) {
+			for (int second = 0; second < pins - first; second++) {
+				frames.add(new int[]{first, second});
+			}
+			for (int bonus = 0; bonus <= pins; bonus++) {
+				frames.add(new int[]{first, pins - first, bonus});
+			}
+		}
+		for (int first = 0; first <= pins; first++) {
+			int remainingPins = first == pins ? pins : pins - first;
+			for (int second = 0; second <= remainingPins; second++) {
+				frames.add(new int[]{pins, first, second});
+			}
+		}
+		return frames;
+	}
+
+	private int[] concat(int[] first, int[] second) {
+		int[] rolls = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, rolls, first.length, second.length);
+		return rolls;
+	}
+
+	private int[] repeat(int[] frame, int times) {
+		int[] rolls = new int[0];
+		for (int i = 0; i < times; i++) {
+			rolls = this.concat(rolls, frame);
+		}
+		return rolls;
+	}
+}
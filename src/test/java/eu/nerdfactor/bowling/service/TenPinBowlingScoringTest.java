@@ -0,0 +1,68 @@
+package eu.nerdfactor.bowling.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test for the stateless {@link TenPinBowlingScoring}.
+ */
+class TenPinBowlingScoringTest {
+
+	BowlingRuleset bowlingRuleset = new TenPinBowlingRuleset();
+
+	ScoringStrategy scoringStrategy = new TenPinBowlingScoring();
+
+	/**
+	 * Check if partially played games are scored with the rolls known so far.
+	 */
+	@Test
+	void partiallyPlayedGamesCanBeScored() {
+		int[] knockedOverPinsPerRoll = new int[bowlingRuleset.amountOfMaxRolls()];
+		Assertions.assertEquals(0, this.scoringStrategy.countScore(knockedOverPinsPerRoll, 0, bowlingRuleset));
+
+		knockedOverPinsPerRoll[0] = 10;
+		Assertions.assertEquals(10, this.scoringStrategy.countScore(knockedOverPinsPerRoll, 1, bowlingRuleset));
+
+		knockedOverPinsPerRoll[1] = 7;
+		Assertions.assertEquals(24, this.scoringStrategy.countScore(knockedOverPinsPerRoll, 2, bowlingRuleset));
+
+		knockedOverPinsPerRoll[2] = 3;
+		Assertions.assertEquals(30, this.scoringStrategy.countScore(knockedOverPinsPerRoll, 3, bowlingRuleset));
+	}
+
+	/**
+	 * Check if a single instance counts correct scores while it is used by
+	 * many threads at once.
+	 */
+	@Test
+	void scoringCanBeSharedBetweenThreads() throws Exception {
+		int[] perfectGame = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+		int[] gutterGame = new int[20];
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int task = 0; task < 64; task++) {
+				results.add(executor.submit(() -> {
+					for (int game = 0; game < 10_000; game++) {
+						if (this.scoringStrategy.countScore(perfectGame, perfectGame.length, bowlingRuleset) != 300
+								|| this.scoringStrategy.countScore(gutterGame, gutterGame.length, bowlingRuleset) != 0) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				Assertions.assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}